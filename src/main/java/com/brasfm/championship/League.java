@@ -17,7 +17,7 @@ public class League {
     private int rodadaAtual;
     private boolean finalizado;
 
-    private MatchEngine matchEngine;
+    private transient MatchEngine matchEngine; // estado de simulação não vai para o save
 
     public League(String nome, String pais, int divisao) {
         this.nome = nome;
@@ -129,6 +129,9 @@ public class League {
      */
     public void simularRodada(int rodada) {
         List<Match> jogosRodada = getJogosRodada(rodada);
+        if (matchEngine == null) {
+            matchEngine = new MatchEngine(); // liga carregada de um save
+        }
 
         for (Match jogoCalendario : jogosRodada) {
             if (!jogoCalendario.isFinalizada()) {
@@ -152,6 +155,7 @@ public class League {
 
                 // Finaliza o jogo (atualiza estatísticas dos times automaticamente)
                 jogoCalendario.finalizar();
+                jogoCalendario.setReplay(resultado.getReplay());
             }
         }
 
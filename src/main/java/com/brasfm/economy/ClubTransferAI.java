@@ -1,5 +1,7 @@
 package com.brasfm.economy;
 
+import com.brasfm.engine.PlayerSimilarityIndex;
+import com.brasfm.engine.ScoutingNetwork;
 import com.brasfm.model.*;
 import com.brasfm.model.enums.*;
 import java.util.*;
@@ -36,6 +38,7 @@ public class ClubTransferAI {
     private VisaoClube visao;
     private PlayerValuation valoracao;
     private Random random;
+    private ScoutingNetwork olheiros;
 
     // Configurações de comportamento
     private double toleranciaPreco; // Quanto aceita pagar acima do mercado (0.8-1.5)
@@ -170,10 +173,90 @@ public class ClubTransferAI {
         );
     }
 
+    /**
+     * Monta as arestas deste clube no grafo necessidades × vendáveis.
+     * Cada posição carente liga-se aos melhores jogadores da posição que o
+     * clube consegue pagar, com peso dado pelo encaixe no elenco e pelo preço.
+     * Só lê o estado do mercado, então pode rodar em paralelo com os outros
+     * clubes desde que cada um receba seu próprio Random.
+     */
+    public List<TransferMatcher.Candidato> avaliarCandidatos(TransferMatcher.Vitrine vitrine, Random random,
+            int limitePorNecessidade) {
+        List<TransferMatcher.Candidato> candidatos = new ArrayList<>();
+
+        // Chance de ir ao mercado hoje
+        if (random.nextDouble() > agressividade)
+            return candidatos;
+
+        int forcaMedia = time.getForcaMedia();
+        long orcamentoDisponivel = time.getSaldo();
+
+        for (Position necessidade : identificarNecessidades()) {
+            // Heap mínimo com os melhores candidatos da posição
+            PriorityQueue<TransferMatcher.Candidato> melhores = new PriorityQueue<>(
+                    Comparator.comparingDouble(TransferMatcher.Candidato::getPeso));
+
+            for (TransferMatcher.Anuncio anuncio : vitrine.getAnuncios(necessidade)) {
+                Player alvo = anuncio.getJogador();
+                if (alvo.getForca() < forcaMedia - 10)
+                    break; // Daqui em diante todos são fracos demais
+                if (anuncio.getDono() == time)
+                    continue;
+
+                long valorMercado = anuncio.getValorMercado();
+                if (valorMercado > orcamentoDisponivel * 0.7 && visao != VisaoClube.COMPETIDOR)
+                    continue;
+
+                double encaixe = 1.0 + (alvo.getForca() - forcaMedia) / 10.0;
+                double custoRelativo = valorMercado / Math.max(1.0, orcamentoDisponivel * toleranciaPreco);
+                double peso = encaixe / (1.0 + custoRelativo);
+
+                if (melhores.size() < limitePorNecessidade) {
+                    melhores.add(new TransferMatcher.Candidato(this, necessidade, anuncio,
+                            valorOferta(valorMercado, random), peso));
+                } else if (peso > melhores.peek().getPeso()) {
+                    melhores.poll();
+                    melhores.add(new TransferMatcher.Candidato(this, necessidade, anuncio,
+                            valorOferta(valorMercado, random), peso));
+                }
+            }
+
+            List<TransferMatcher.Candidato> daPosicao = new ArrayList<>(melhores);
+            daPosicao.sort(Comparator.comparingDouble(c -> -c.getPeso()));
+            candidatos.addAll(daPosicao);
+        }
+
+        return candidatos;
+    }
+
+    /**
+     * Cria a proposta para um candidato que saiu da compensação do mercado.
+     */
+    public TransferOffer criarProposta(TransferMatcher.Candidato candidato) {
+        return montarProposta(candidato.getJogador(), candidato.getDono(), candidato.getValorOferta());
+    }
+
+    /**
+     * Avalia a contraproposta do clube vendedor.
+     * Aceita se o valor pedido couber na tolerância de preço e o clube tiver
+     * caixa para a parcela à vista.
+     */
+    public boolean avaliarContraproposta(TransferOffer contra) {
+        long valorMercado = valoracao.calcularValor(contra.getJogador(), contra.getClubeOrigem(), 70);
+        double razao = (double) contra.getValorGarantido() / valorMercado;
+
+        return razao <= toleranciaPreco && contra.getValorInicial() <= time.getSaldo();
+    }
+
     /**
      * Decide se deve fazer proposta por um jogador.
      */
     public TransferOffer considerarContratacao(Player alvo, Team clubeVendedor, List<Position> necessidades) {
+        return considerarContratacao(alvo, clubeVendedor, necessidades, random);
+    }
+
+    private TransferOffer considerarContratacao(Player alvo, Team clubeVendedor, List<Position> necessidades,
+            Random random) {
         // Verifica se é posição necessária
         if (!necessidades.contains(alvo.getPosicaoOriginal())) {
             if (random.nextDouble() > 0.2)
@@ -199,17 +282,29 @@ public class ClubTransferAI {
         if (random.nextDouble() > agressividade)
             return null;
 
-        // Cria proposta
-        TransferOffer proposta = new TransferOffer(
-                clubeVendedor, time, alvo,
-                TransferOffer.TipoTransferencia.DEFINITIVA);
+        return montarProposta(alvo, clubeVendedor, valorOferta(valorMercado, random));
+    }
 
+    /**
+     * Quanto o clube oferece por um jogador com esse valor de mercado.
+     */
+    private long valorOferta(long valorMercado, Random random) {
         long valorOferta = (long) (valorMercado * toleranciaPreco);
 
         // Panic buy mode aumenta oferta
         if (panicBuyMode) {
             valorOferta = (long) (valorOferta * (1.1 + random.nextDouble() * 0.3));
         }
+        return valorOferta;
+    }
+
+    private TransferOffer montarProposta(Player alvo, Team clubeVendedor, long valorOferta) {
+        long orcamentoDisponivel = time.getSaldo();
+
+        // Cria proposta
+        TransferOffer proposta = new TransferOffer(
+                clubeVendedor, time, alvo,
+                TransferOffer.TipoTransferencia.DEFINITIVA);
 
         // Decide estrutura de pagamento
         if (valorOferta <= orcamentoDisponivel) {
@@ -254,7 +349,7 @@ public class ClubTransferAI {
 
             // Jogadores com salário alto demais para força
             long valorMercado = valoracao.calcularValor(p, time, 70);
-            int salarioEsperado = valoracao.calcularSalarioEsperado(valorMercado);
+            int salarioEsperado = valoracao.calcularSalarioEsperado(p, valorMercado);
             if (p.getSalario() > salarioEsperado * 1.5) {
                 vendaveis.add(p);
                 continue;
@@ -276,6 +371,83 @@ public class ClubTransferAI {
         return vendaveis;
     }
 
+    /**
+     * Manda os olheiros livres observar jogadores de outros clubes nas
+     * posições em que o elenco é carente.
+     */
+    public void designarOlheiros(List<Team> clubes, Random random) {
+        if (olheiros == null || clubes.size() < 2)
+            return;
+
+        List<Position> necessidades = null;
+        for (Scout s : olheiros.getOlheiros()) {
+            if (s.isEmMissao())
+                continue;
+
+            // Substitutos na shortlist têm prioridade
+            Player daLista = proximoDaShortlist();
+            if (daLista != null) {
+                olheiros.observarJogador(s, daLista, 4);
+                continue;
+            }
+
+            if (necessidades == null) {
+                necessidades = identificarNecessidades();
+                if (necessidades.isEmpty())
+                    return;
+            }
+
+            Position posicao = necessidades.get(random.nextInt(necessidades.size()));
+            Team alvoClube = clubes.get(random.nextInt(clubes.size()));
+            if (alvoClube == time)
+                continue;
+
+            Player alvo = null;
+            for (Player p : alvoClube.getJogadores()) {
+                if (p.getPosicaoOriginal() != posicao)
+                    continue;
+                PlayerKnowledge pk = olheiros.getConhecimento(p);
+                if (pk != null && pk.getNivel() == PlayerKnowledge.NivelConhecimento.TOTAL)
+                    continue;
+                if (alvo == null || p.getForca() > alvo.getForca()) {
+                    alvo = p;
+                }
+            }
+            if (alvo != null) {
+                olheiros.observarJogador(s, alvo, 4);
+            }
+        }
+    }
+
+    private Player proximoDaShortlist() {
+        List<Player> shortlist = olheiros.getShortlist();
+        while (!shortlist.isEmpty()) {
+            Player p = shortlist.remove(0);
+            PlayerKnowledge pk = olheiros.getConhecimento(p);
+            if (pk == null || pk.getNivel() != PlayerKnowledge.NivelConhecimento.TOTAL)
+                return p;
+        }
+        return null;
+    }
+
+    /**
+     * Jogadores de outros clubes parecidos com quem está saindo, na mesma
+     * posição, do mais parecido ao menos parecido.
+     */
+    public List<Player> buscarSubstitutos(Player saindo, PlayerSimilarityIndex indice, int quantidade) {
+        Position posicao = saindo.getPosicaoOriginal();
+        return indice.buscarSemelhantes(saindo, quantidade,
+                p -> p.getPosicaoOriginal() == posicao && !time.getJogadores().contains(p));
+    }
+
+    public ScoutingNetwork getOlheiros() {
+        return olheiros;
+    }
+
+    public void setOlheiros(ScoutingNetwork olheiros) {
+        this.olheiros = olheiros;
+    }
+
     // Getters
     public Team getTime() {
         return time;
@@ -0,0 +1,192 @@
+package com.brasfm.economy;
+
+import com.brasfm.model.*;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Agenda de contratos e empréstimos por semana do {@link Calendario}.
+ *
+ * Cada contrato gera dois agendamentos (abertura da janela de renovação e
+ * fim do contrato) numa fila de prioridade por semana. Avançar a semana só
+ * visita os agendamentos vencidos, então o custo semanal não depende de
+ * quantos jogadores existem no mundo.
+ *
+ * Renovações não precisam avisar a agenda: ao vencer, um agendamento cuja
+ * semana de fim não bate mais com a do jogador é remarcado para o novo fim.
+ */
+public class ContractScheduler {
+
+    /** Semanas antes do fim em que o jogador pode negociar renovação. */
+    public static final int JANELA_RENOVACAO = 26;
+
+    public enum TipoEvento {
+        JANELA_RENOVACAO,
+        FIM_CONTRATO,
+        RETORNO_EMPRESTIMO
+    }
+
+    /**
+     * Evento disparado para um jogador.
+     */
+    public static class Evento {
+        private final TipoEvento tipo;
+        private final int semana;
+        private final Player jogador;
+        private final Team clube;
+
+        Evento(TipoEvento tipo, int semana, Player jogador, Team clube) {
+            this.tipo = tipo;
+            this.semana = semana;
+            this.jogador = jogador;
+            this.clube = clube;
+        }
+
+        public TipoEvento getTipo() {
+            return tipo;
+        }
+
+        public int getSemana() {
+            return semana;
+        }
+
+        public Player getJogador() {
+            return jogador;
+        }
+
+        /**
+         * Clube do contrato, ou o clube que cedeu o jogador no retorno de
+         * empréstimo.
+         */
+        public Team getClube() {
+            return clube;
+        }
+    }
+
+    private static class Agendamento {
+        final int semana;
+        final long sequencia;
+        final TipoEvento tipo;
+        final Player jogador;
+        final Team clube;
+        final int fimContrato; // para detectar renovação
+        final TransferOffer emprestimo;
+
+        Agendamento(int semana, long sequencia, TipoEvento tipo, Player jogador, Team clube,
+                int fimContrato, TransferOffer emprestimo) {
+            this.semana = semana;
+            this.sequencia = sequencia;
+            this.tipo = tipo;
+            this.jogador = jogador;
+            this.clube = clube;
+            this.fimContrato = fimContrato;
+            this.emprestimo = emprestimo;
+        }
+    }
+
+    private final PriorityQueue<Agendamento> fila;
+    private final List<Consumer<Evento>> ouvintes;
+    private long sequencia;
+
+    public ContractScheduler() {
+        this.fila = new PriorityQueue<>(Comparator
+                .comparingInt((Agendamento a) -> a.semana)
+                .thenComparingLong(a -> a.sequencia));
+        this.ouvintes = new ArrayList<>();
+    }
+
+    public void addOuvinte(Consumer<Evento> ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    public void removeOuvinte(Consumer<Evento> ouvinte) {
+        ouvintes.remove(ouvinte);
+    }
+
+    /**
+     * Agenda o contrato atual de todo o elenco.
+     */
+    public void registrarElenco(Team time) {
+        for (Player p : time.getJogadores()) {
+            agendarContrato(p, time);
+        }
+    }
+
+    /**
+     * Agenda janela de renovação e fim do contrato atual do jogador.
+     */
+    public void agendarContrato(Player jogador, Team clube) {
+        int fim = jogador.getSemanaFimContrato();
+        int janela = Math.max(Calendario.getSemanaAtual(), fim - JANELA_RENOVACAO);
+
+        if (janela < fim) {
+            agendar(janela, TipoEvento.JANELA_RENOVACAO, jogador, clube, fim, null);
+        }
+        agendar(fim, TipoEvento.FIM_CONTRATO, jogador, clube, fim, null);
+    }
+
+    /**
+     * Agenda a volta de um jogador emprestado ao clube de origem.
+     */
+    public void agendarEmprestimo(TransferOffer emprestimo) {
+        int retorno = Calendario.getSemanaAtual() + Math.max(1, emprestimo.getSemanasEmprestimo());
+        agendar(retorno, TipoEvento.RETORNO_EMPRESTIMO, emprestimo.getJogador(),
+                emprestimo.getClubeOrigem(), 0, emprestimo);
+    }
+
+    /**
+     * Avança o Calendario uma semana e dispara os eventos vencidos.
+     */
+    public List<Evento> avancarSemana() {
+        int semana = Calendario.avancarSemana();
+        List<Evento> eventos = new ArrayList<>();
+
+        while (!fila.isEmpty() && fila.peek().semana <= semana) {
+            Agendamento a = fila.poll();
+            Evento e = processar(a, semana);
+            if (e != null) {
+                eventos.add(e);
+                for (Consumer<Evento> ouvinte : ouvintes) {
+                    ouvinte.accept(e);
+                }
+            }
+        }
+
+        return eventos;
+    }
+
+    private Evento processar(Agendamento a, int semana) {
+        if (a.tipo == TipoEvento.RETORNO_EMPRESTIMO) {
+            Team cessionario = a.emprestimo.getClubeDestino();
+            if (!cessionario.getJogadores().contains(a.jogador))
+                return null; // Já saiu por outro caminho (ex.: opção de compra)
+
+            cessionario.removeJogador(a.jogador);
+            a.clube.addJogador(a.jogador);
+            return new Evento(a.tipo, semana, a.jogador, a.clube);
+        }
+
+        // Contrato renovado desde o agendamento: remarca para o novo fim
+        int fimAtual = a.jogador.getSemanaFimContrato();
+        if (fimAtual != a.fimContrato) {
+            if (a.tipo == TipoEvento.FIM_CONTRATO && fimAtual > semana) {
+                agendarContrato(a.jogador, a.clube);
+            }
+            return null;
+        }
+
+        if (!a.clube.getJogadores().contains(a.jogador))
+            return null; // Transferido; o novo clube agenda o próprio contrato
+
+        return new Evento(a.tipo, semana, a.jogador, a.clube);
+    }
+
+    private void agendar(int semana, TipoEvento tipo, Player jogador, Team clube, int fim,
+            TransferOffer emprestimo) {
+        fila.add(new Agendamento(semana, sequencia++, tipo, jogador, clube, fim, emprestimo));
+    }
+
+    public int getPendentes() {
+        return fila.size();
+    }
+}
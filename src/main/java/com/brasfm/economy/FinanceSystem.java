@@ -0,0 +1,53 @@
+package com.brasfm.economy;
+
+import com.brasfm.model.*;
+import com.brasfm.model.enums.TipoLancamento;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Fechamento financeiro semanal de todos os clubes.
+ *
+ * Folha dos jogadores, salários do staff e parcelas de obras são lançados no
+ * {@link FinanceLedger} de cada clube e a semana é fechada, numa única passada.
+ * Cada clube só mexe no próprio saldo e livro, então os clubes são processados
+ * em paralelo.
+ */
+public class FinanceSystem {
+
+    /** Abaixo disso o custo de dividir o trabalho não compensa. */
+    private static final int MINIMO_PARALELO = 64;
+
+    private FinanceSystem() {
+    }
+
+    /**
+     * Lança as despesas fixas da semana e fecha o livro de cada clube.
+     * Deve rodar antes de {@link Team#passarSemana()}, que conclui as obras.
+     */
+    public static void processarSemana(List<Team> clubes) {
+        IntStream indices = IntStream.range(0, clubes.size());
+        if (clubes.size() >= MINIMO_PARALELO) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> fecharSemana(clubes.get(i)));
+    }
+
+    private static void fecharSemana(Team time) {
+        ClubFacilities instalacoes = time.getInstalacoes();
+
+        time.lancar(TipoLancamento.SALARIOS, time.getFolhaSalarial());
+
+        int staff = instalacoes.getCustoStaffSemanal();
+        if (staff > 0) {
+            time.lancar(TipoLancamento.STAFF, staff);
+        }
+
+        long parcela = instalacoes.getParcelaUpgradeSemanal();
+        if (parcela > 0) {
+            time.lancar(TipoLancamento.INSTALACOES, parcela);
+        }
+
+        time.getFinancas().fecharSemana(time.getSaldo());
+    }
+}
@@ -0,0 +1,81 @@
+package com.brasfm.economy;
+
+/**
+ * Evento do mercado de transferências.
+ * Guarda só a referência à proposta; o texto é montado quando alguém pede.
+ */
+public class MarketEvent {
+
+    public enum Tipo {
+        PROPOSTA_FEITA,
+        CONTRAPROPOSTA,
+        ACEITA,
+        RECUSADA,
+        CONCLUIDA,
+        DEADLINE_DAY,
+        JANELA_FECHADA
+    }
+
+    private final Tipo tipo;
+    private final int dia;
+    private final TransferOffer oferta;
+
+    public MarketEvent(Tipo tipo, int dia, TransferOffer oferta) {
+        this.tipo = tipo;
+        this.dia = dia;
+        this.oferta = oferta;
+    }
+
+    /**
+     * Texto para notícias e UI.
+     */
+    public String getDescricao() {
+        switch (tipo) {
+            case PROPOSTA_FEITA:
+                return String.format("📋 %s fez proposta por %s: R$ %,d",
+                        oferta.getClubeDestino().getNome(), oferta.getJogador().getNome(), oferta.getValorTotal());
+            case CONTRAPROPOSTA:
+                return String.format("↩️ %s pede R$ %,d ao %s por %s",
+                        oferta.getClubeOrigem().getNome(), oferta.getValorGarantido(),
+                        oferta.getClubeDestino().getNome(), oferta.getJogador().getNome());
+            case ACEITA:
+                return String.format("🤝 %s aceitou a proposta do %s por %s",
+                        oferta.getClubeOrigem().getNome(), oferta.getClubeDestino().getNome(),
+                        oferta.getJogador().getNome());
+            case RECUSADA:
+                return String.format("❌ Negociação entre %s e %s por %s não avançou",
+                        oferta.getClubeOrigem().getNome(), oferta.getClubeDestino().getNome(),
+                        oferta.getJogador().getNome());
+            case CONCLUIDA:
+                return String.format("✍️ %s é reforço do %s (R$ %,d)",
+                        oferta.getJogador().getNome(), oferta.getClubeDestino().getNome(),
+                        oferta.getValorGarantido());
+            case DEADLINE_DAY:
+                return "⚠️ DEADLINE DAY! Clubes em modo pânico!";
+            case JANELA_FECHADA:
+                return "🔒 Janela de transferências fechada!";
+            default:
+                return tipo.name();
+        }
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public int getDia() {
+        return dia;
+    }
+
+    /**
+     * Proposta envolvida, ou null para eventos da janela.
+     */
+    public TransferOffer getOferta() {
+        return oferta;
+    }
+
+    @Override
+    public String toString() {
+        return getDescricao();
+    }
+}
@@ -2,11 +2,16 @@ package com.brasfm.economy;
 
 import com.brasfm.model.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Sistema de valoração dinâmica de jogadores.
  * Valor = (CA × IdadeFactor) + (ReputaçãoLiga × Forma) + (ContratoRestante ×
  * Potencial)
+ *
+ * Os valores ficam em cache por jogador e semana do {@link Calendario}. Uma entrada deixa de
+ * valer quando a versão do jogador muda (força, idade, contrato, potencial ou
+ * forma), quando a semana avança ou quando a reputação da liga é outra.
  */
 public class PlayerValuation {
 
@@ -15,15 +20,49 @@ public class PlayerValuation {
     private static final double INFLACAO_ANUAL = 1.05; // 5% ao ano
 
     private int anoAtual;
+    private double fatorInflacao;
+    private final Map<Player, ValorCache> cache;
 
     public PlayerValuation(int anoAtual) {
-        this.anoAtual = anoAtual;
+        this.cache = new ConcurrentHashMap<>();
+        setAnoAtual(anoAtual);
     }
 
     /**
      * Calcula o valor de mercado de um jogador.
      */
     public long calcularValor(Player jogador, Team time, int reputacaoLiga) {
+        int semana = Calendario.getSemanaAtual();
+        ValorCache c = cache.get(jogador);
+        if (c != null && c.versao == jogador.getVersao() && c.semana == semana
+                && c.reputacaoLiga == reputacaoLiga) {
+            return c.valor;
+        }
+
+        long valor = calcularValorSemCache(jogador, reputacaoLiga);
+        cache.put(jogador, new ValorCache(jogador.getVersao(), semana, reputacaoLiga, valor));
+        return valor;
+    }
+
+    /**
+     * Início de semana: reavalia todos os jogadores dos times de uma vez.
+     */
+    public void iniciarSemana(Collection<Team> times, int reputacaoLiga) {
+        cache.clear();
+
+        times.parallelStream()
+                .flatMap(t -> t.getJogadores().stream())
+                .forEach(p -> calcularValor(p, null, reputacaoLiga));
+    }
+
+    /**
+     * Descarta o valor em cache de um jogador (ex.: aposentadoria, saída do banco).
+     */
+    public void invalidar(Player jogador) {
+        cache.remove(jogador);
+    }
+
+    private long calcularValorSemCache(Player jogador, int reputacaoLiga) {
         // Componente base: Força × Valor Base
         long valorBase = jogador.getForca() * VALOR_BASE;
 
@@ -53,8 +92,7 @@ public class PlayerValuation {
         valor = (long) (valor * fatorHomeGrown);
 
         // Aplica inflação
-        int anosDesdeInicio = anoAtual - 2025;
-        valor = (long) (valor * Math.pow(INFLACAO_ANUAL, anosDesdeInicio));
+        valor = (long) (valor * fatorInflacao);
 
         // Arredonda para valores "bonitos"
         valor = arredondarValor(valor);
@@ -164,8 +202,19 @@ public class PlayerValuation {
      * Calcula salário esperado baseado no valor de mercado.
      */
     public int calcularSalarioEsperado(long valorMercado) {
+        return calcularSalarioEsperado(valorMercado, valorMercado);
+    }
+
+    /**
+     * Salário esperado com variação estável por jogador.
+     */
+    public int calcularSalarioEsperado(Player jogador, long valorMercado) {
+        return calcularSalarioEsperado(valorMercado, jogador.getNome().hashCode());
+    }
+
+    private int calcularSalarioEsperado(long valorMercado, long chave) {
         // Salário anual = ~10-15% do valor de mercado
-        double fator = 0.10 + new Random().nextDouble() * 0.05;
+        double fator = 0.10 + ruido(chave) * 0.05;
         long salarioAnual = (long) (valorMercado * fator);
         return (int) (salarioAnual / 52); // Semanal
     }
@@ -176,12 +225,40 @@ public class PlayerValuation {
     public double calcularTaxaHomeGrown(Player jogador, String paisLiga, String paisJogador) {
         if (paisJogador.equalsIgnoreCase(paisLiga)) {
             // Jogador do mesmo país = +20-50%
-            return 1.2 + new Random().nextDouble() * 0.3;
+            return 1.2 + ruido(jogador.getNome().hashCode() ^ 0x5DEECE66DL) * 0.3;
         }
         return 1.0;
     }
 
+    /**
+     * Valor pseudoaleatório em [0, 1) fixo para cada chave, para que os
+     * componentes "aleatórios" possam ser reaproveitados.
+     */
+    private static double ruido(long chave) {
+        long x = chave + 0x9E3779B97F4A7C15L;
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        x ^= x >>> 31;
+        return (x >>> 11) * 0x1.0p-53;
+    }
+
     public void setAnoAtual(int ano) {
         this.anoAtual = ano;
+        this.fatorInflacao = Math.pow(INFLACAO_ANUAL, ano - 2025);
+        cache.clear();
+    }
+
+    private static final class ValorCache {
+        final int versao;
+        final int semana;
+        final int reputacaoLiga;
+        final long valor;
+
+        ValorCache(int versao, int semana, int reputacaoLiga, long valor) {
+            this.versao = versao;
+            this.semana = semana;
+            this.reputacaoLiga = reputacaoLiga;
+            this.valor = valor;
+        }
     }
 }
@@ -0,0 +1,269 @@
+package com.brasfm.economy;
+
+import java.util.*;
+
+/**
+ * Histórico de transferências concluídas, só de acréscimo.
+ *
+ * Cada transferência é uma linha em colunas de arrays primitivos, com ids de
+ * jogador e clubes em vez de referências. Os índices por jogador, clube e
+ * temporada e os totais por clube/temporada não vão para o save; são
+ * reconstruídos na primeira consulta depois de carregar.
+ */
+public class TransferLedger {
+
+    private static final int CAPACIDADE_INICIAL = 64;
+
+    private int tamanho;
+    private int[] jogador;
+    private int[] clubeOrigem;
+    private int[] clubeDestino;
+    private short[] temporada;
+    private byte[] tipo;
+    private long[] valorInicial;
+    private long[] valorParcelado;
+    private byte[] numeroParcelas;
+    private long[] bonus;
+    private short[] revendaCentesimos; // % de revenda em centésimos de ponto (1500 = 15%)
+
+    private transient Map<Integer, Linhas> porJogador;
+    private transient Map<Integer, Linhas> porClube;
+    private transient Map<Integer, Linhas> porTemporada;
+    private transient Map<Long, long[]> movimentoPorClubeTemporada; // {gasto, receita}
+    private transient int recorde;
+
+    public TransferLedger() {
+        jogador = new int[CAPACIDADE_INICIAL];
+        clubeOrigem = new int[CAPACIDADE_INICIAL];
+        clubeDestino = new int[CAPACIDADE_INICIAL];
+        temporada = new short[CAPACIDADE_INICIAL];
+        tipo = new byte[CAPACIDADE_INICIAL];
+        valorInicial = new long[CAPACIDADE_INICIAL];
+        valorParcelado = new long[CAPACIDADE_INICIAL];
+        numeroParcelas = new byte[CAPACIDADE_INICIAL];
+        bonus = new long[CAPACIDADE_INICIAL];
+        revendaCentesimos = new short[CAPACIDADE_INICIAL];
+    }
+
+    /**
+     * Registra uma transferência concluída e devolve o número da linha.
+     */
+    public int registrar(TransferOffer oferta, int ano) {
+        garantirIndices();
+        if (tamanho == jogador.length) {
+            crescer(tamanho * 2);
+        }
+
+        int i = tamanho++;
+        jogador[i] = oferta.getJogador().getId();
+        clubeOrigem[i] = oferta.getClubeOrigem().getId();
+        clubeDestino[i] = oferta.getClubeDestino().getId();
+        temporada[i] = (short) ano;
+        tipo[i] = (byte) oferta.getTipo().ordinal();
+        valorInicial[i] = oferta.getValorInicial();
+        valorParcelado[i] = oferta.getValorParcelado();
+        numeroParcelas[i] = (byte) Math.min(Byte.MAX_VALUE, oferta.getNumeroParcelas());
+        bonus[i] = oferta.getBonusMaximo();
+        revendaCentesimos[i] = (short) Math.round(oferta.getPercentualRevendaFutura() * 10_000);
+
+        indexar(i);
+        return i;
+    }
+
+    // ==================== CONSULTAS ====================
+
+    /**
+     * Linhas das transferências do jogador, em ordem cronológica.
+     */
+    public int[] getTransferenciasJogador(int jogadorId) {
+        garantirIndices();
+        return linhas(porJogador, jogadorId);
+    }
+
+    /**
+     * Linhas em que o clube comprou ou vendeu.
+     */
+    public int[] getTransferenciasClube(int clubeId) {
+        garantirIndices();
+        return linhas(porClube, clubeId);
+    }
+
+    public int[] getTransferenciasTemporada(int ano) {
+        garantirIndices();
+        return linhas(porTemporada, ano);
+    }
+
+    /**
+     * Linha da maior taxa garantida já paga, ou -1 se não houver transferências.
+     */
+    public int getRecorde() {
+        garantirIndices();
+        return recorde;
+    }
+
+    /**
+     * Linha da maior taxa garantida da temporada, ou -1.
+     */
+    public int getRecordeTemporada(int ano) {
+        int melhor = -1;
+        for (int i : getTransferenciasTemporada(ano)) {
+            if (melhor < 0 || getTaxa(i) > getTaxa(melhor)) {
+                melhor = i;
+            }
+        }
+        return melhor;
+    }
+
+    public long getGasto(int clubeId, int ano) {
+        garantirIndices();
+        long[] mov = movimentoPorClubeTemporada.get(chave(clubeId, ano));
+        return mov == null ? 0 : mov[0];
+    }
+
+    public long getReceita(int clubeId, int ano) {
+        garantirIndices();
+        long[] mov = movimentoPorClubeTemporada.get(chave(clubeId, ano));
+        return mov == null ? 0 : mov[1];
+    }
+
+    /**
+     * Gasto menos receita com transferências na temporada.
+     */
+    public long getGastoLiquido(int clubeId, int ano) {
+        return getGasto(clubeId, ano) - getReceita(clubeId, ano);
+    }
+
+    // ==================== LINHAS ====================
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public int getJogadorId(int linha) {
+        return jogador[linha];
+    }
+
+    public int getClubeOrigemId(int linha) {
+        return clubeOrigem[linha];
+    }
+
+    public int getClubeDestinoId(int linha) {
+        return clubeDestino[linha];
+    }
+
+    public int getTemporada(int linha) {
+        return temporada[linha];
+    }
+
+    public TransferOffer.TipoTransferencia getTipo(int linha) {
+        return TransferOffer.TipoTransferencia.values()[tipo[linha]];
+    }
+
+    public long getValorInicial(int linha) {
+        return valorInicial[linha];
+    }
+
+    public long getValorParcelado(int linha) {
+        return valorParcelado[linha];
+    }
+
+    public int getNumeroParcelas(int linha) {
+        return numeroParcelas[linha];
+    }
+
+    public long getBonus(int linha) {
+        return bonus[linha];
+    }
+
+    public double getPercentualRevenda(int linha) {
+        return revendaCentesimos[linha] / 10_000.0;
+    }
+
+    /**
+     * Taxa garantida (à vista + parcelado).
+     */
+    public long getTaxa(int linha) {
+        return valorInicial[linha] + valorParcelado[linha];
+    }
+
+    // ==================== SAVE ====================
+
+    /**
+     * Corta a folga dos arrays antes de gravar.
+     */
+    public void compactar() {
+        if (tamanho < jogador.length) {
+            crescer(Math.max(tamanho, 1));
+        }
+    }
+
+    // ==================== INTERNO ====================
+
+    private void crescer(int capacidade) {
+        jogador = Arrays.copyOf(jogador, capacidade);
+        clubeOrigem = Arrays.copyOf(clubeOrigem, capacidade);
+        clubeDestino = Arrays.copyOf(clubeDestino, capacidade);
+        temporada = Arrays.copyOf(temporada, capacidade);
+        tipo = Arrays.copyOf(tipo, capacidade);
+        valorInicial = Arrays.copyOf(valorInicial, capacidade);
+        valorParcelado = Arrays.copyOf(valorParcelado, capacidade);
+        numeroParcelas = Arrays.copyOf(numeroParcelas, capacidade);
+        bonus = Arrays.copyOf(bonus, capacidade);
+        revendaCentesimos = Arrays.copyOf(revendaCentesimos, capacidade);
+    }
+
+    private void garantirIndices() {
+        if (porJogador != null)
+            return;
+
+        porJogador = new HashMap<>();
+        porClube = new HashMap<>();
+        porTemporada = new HashMap<>();
+        movimentoPorClubeTemporada = new HashMap<>();
+        recorde = -1;
+        for (int i = 0; i < tamanho; i++) {
+            indexar(i);
+        }
+    }
+
+    private void indexar(int i) {
+        porJogador.computeIfAbsent(jogador[i], k -> new Linhas()).add(i);
+        porClube.computeIfAbsent(clubeOrigem[i], k -> new Linhas()).add(i);
+        if (clubeDestino[i] != clubeOrigem[i]) {
+            porClube.computeIfAbsent(clubeDestino[i], k -> new Linhas()).add(i);
+        }
+        porTemporada.computeIfAbsent((int) temporada[i], k -> new Linhas()).add(i);
+
+        long taxa = getTaxa(i);
+        movimentoPorClubeTemporada.computeIfAbsent(chave(clubeDestino[i], temporada[i]), k -> new long[2])[0] += taxa;
+        movimentoPorClubeTemporada.computeIfAbsent(chave(clubeOrigem[i], temporada[i]), k -> new long[2])[1] += taxa;
+
+        if (recorde < 0 || taxa > getTaxa(recorde)) {
+            recorde = i;
+        }
+    }
+
+    private static long chave(int clubeId, int ano) {
+        return ((long) clubeId << 32) | (ano & 0xFFFFFFFFL);
+    }
+
+    private static int[] linhas(Map<Integer, Linhas> indice, int chave) {
+        Linhas l = indice.get(chave);
+        return l == null ? new int[0] : Arrays.copyOf(l.itens, l.tamanho);
+    }
+
+    /**
+     * Lista de linhas sem boxing.
+     */
+    private static class Linhas {
+        int[] itens = new int[4];
+        int tamanho;
+
+        void add(int linha) {
+            if (tamanho == itens.length) {
+                itens = Arrays.copyOf(itens, tamanho * 2);
+            }
+            itens[tamanho++] = linha;
+        }
+    }
+}
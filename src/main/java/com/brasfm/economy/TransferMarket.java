@@ -1,31 +1,71 @@
 package com.brasfm.economy;
 
+import com.brasfm.engine.PlayerSimilarityIndex;
+import com.brasfm.engine.ScoutingNetwork;
 import com.brasfm.model.*;
+import com.brasfm.model.enums.TipoLancamento;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Gerencia o mercado de transferências.
+ *
+ * Cada dia é processado em duas fases: os clubes da IA avaliam em paralelo,
+ * sobre um retrato do mercado, quais jogadores à venda atendem suas
+ * necessidades; depois o {@link TransferMatcher} casa necessidades e
+ * jogadores de uma vez e as propostas são criadas. Como cada clube usa um
+ * Random próprio derivado da semente, o resultado é o mesmo com ou sem
+ * paralelismo.
+ *
+ * O que acontece no mercado é publicado como {@link MarketEvent} para os
+ * ouvintes registrados; o texto só é montado por quem precisar dele.
  */
 public class TransferMarket {
 
+    private static final int CANDIDATOS_POR_NECESSIDADE = 8;
+    private static final int SUBSTITUTOS_POR_VENDA = 3;
+
     private List<TransferOffer> ofertasAtivas;
-    private List<TransferOffer> historicoTransferencias;
+    private TransferLedger historicoTransferencias;
     private List<Player> jogadoresDisponiveis;
     private Map<Team, ClubTransferAI> aiClubes;
     private PlayerValuation valoracao;
+    private final TransferMatcher matcher;
+    private ContractScheduler agendaContratos;
+    private final PlayerSimilarityIndex semelhanca;
 
     private boolean janelaAberta;
     private int diasRestantes;
     private boolean deadlineDay;
     private int anoAtual;
 
+    // Determinismo do processamento diário
+    private long semente;
+    private int diaMercado;
+    private int semanaMercado;
+    private boolean processamentoParalelo;
+
+    private final List<Consumer<MarketEvent>> ouvintes;
+    private List<MarketEvent> eventosDia;
+
     public TransferMarket(int anoAtual) {
+        this(anoAtual, new Random().nextLong());
+    }
+
+    public TransferMarket(int anoAtual, long semente) {
         this.anoAtual = anoAtual;
+        this.semente = semente;
+        this.processamentoParalelo = true;
+        this.ouvintes = new ArrayList<>();
         this.ofertasAtivas = new ArrayList<>();
-        this.historicoTransferencias = new ArrayList<>();
+        this.historicoTransferencias = new TransferLedger();
         this.jogadoresDisponiveis = new ArrayList<>();
-        this.aiClubes = new HashMap<>();
+        this.aiClubes = new LinkedHashMap<>(); // ordem de registro define os streams de Random
         this.valoracao = new PlayerValuation(anoAtual);
+        this.matcher = new TransferMatcher();
+        this.semelhanca = new PlayerSimilarityIndex();
         this.janelaAberta = false;
     }
 
@@ -33,7 +73,39 @@ public class TransferMarket {
      * Registra um clube na IA de transferências.
      */
     public void registrarClube(Team time, ClubTransferAI.VisaoClube visao) {
-        aiClubes.put(time, new ClubTransferAI(time, visao, valoracao));
+        ClubTransferAI ai = new ClubTransferAI(time, visao, valoracao);
+        ai.setOlheiros(criarRedeOlheiros(time, visao, aiClubes.size() + 1));
+        aiClubes.put(time, ai);
+    }
+
+    /**
+     * Rede de olheiros de um clube da IA, com sementes derivadas da do
+     * mercado para que o scouting também seja reproduzível.
+     */
+    private ScoutingNetwork criarRedeOlheiros(Team time, ClubTransferAI.VisaoClube visao, int indice) {
+        int quantidade;
+        switch (visao) {
+            case COMPETIDOR:
+                quantidade = 3;
+                break;
+            case ECONOMICO:
+                quantidade = 1;
+                break;
+            default:
+                quantidade = 2;
+                break;
+        }
+
+        ScoutingNetwork rede = new ScoutingNetwork(Math.max(1_000_000L, time.getSaldo() / 20));
+        Random r = new Random(misturar(semente ^ ((long) indice << 32)));
+        for (int i = 0; i < quantidade; i++) {
+            Scout olheiro = new Scout("Olheiro " + time.getSigla() + " " + (i + 1), 8 + r.nextInt(10), r.nextLong());
+            olheiro.addRegiaoDominio("brasil");
+            if (rede.contratarOlheiro(olheiro)) {
+                rede.enviarParaRegiao(olheiro, "brasil");
+            }
+        }
+        return rede;
     }
 
     /**
@@ -62,17 +134,37 @@ public class TransferMarket {
             }
         }
         ofertasAtivas.clear();
+        publicar(MarketEvent.Tipo.JANELA_FECHADA, null);
+    }
+
+    public void addOuvinte(Consumer<MarketEvent> ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    public void removeOuvinte(Consumer<MarketEvent> ouvinte) {
+        ouvintes.remove(ouvinte);
     }
 
     /**
-     * Processa um dia de mercado.
+     * Processa um dia de mercado e devolve as mensagens já formatadas.
      */
     public List<String> processarDia() {
-        List<String> eventos = new ArrayList<>();
+        List<String> mensagens = new ArrayList<>();
+        for (MarketEvent e : avancarDia()) {
+            mensagens.add(e.getDescricao());
+        }
+        return mensagens;
+    }
 
+    /**
+     * Processa um dia de mercado.
+     * Os eventos do dia vão para os ouvintes e também são devolvidos.
+     */
+    public List<MarketEvent> avancarDia() {
         if (!janelaAberta)
-            return eventos;
+            return new ArrayList<>();
 
+        eventosDia = new ArrayList<>();
         diasRestantes--;
 
         // Deadline day
@@ -81,55 +173,114 @@ public class TransferMarket {
             for (ClubTransferAI ai : aiClubes.values()) {
                 ai.ativarPanicBuy();
             }
-            eventos.add("⚠️ DEADLINE DAY! Clubes em modo pânico!");
+            publicar(MarketEvent.Tipo.DEADLINE_DAY, null);
         }
 
-        // IA faz propostas
-        for (Map.Entry<Team, ClubTransferAI> entry : aiClubes.entrySet()) {
-            List<String> eventosClube = processarAI(entry.getKey(), entry.getValue());
-            eventos.addAll(eventosClube);
+        // Fase 1: clubes avaliam candidatos em paralelo sobre o retrato do mercado
+        Random[] randoms = new Random[aiClubes.size()];
+        for (int i = 0; i < randoms.length; i++) {
+            randoms[i] = new Random(sementeDia(i + 1));
         }
+        List<List<TransferMatcher.Candidato>> candidatos = avaliarCandidatos(randoms);
+
+        // Fase 2: compensação do mercado e criação das propostas
+        consolidarPropostas(candidatos);
 
         // Processa ofertas pendentes
         processarOfertas();
 
         if (diasRestantes <= 0) {
             fecharJanela();
-            eventos.add("🔒 Janela de transferências fechada!");
         }
 
+        diaMercado++;
+        List<MarketEvent> eventos = eventosDia;
+        eventosDia = null;
         return eventos;
     }
 
-    private List<String> processarAI(Team time, ClubTransferAI ai) {
-        List<String> eventos = new ArrayList<>();
-        Random r = new Random();
-
-        // Identifica necessidades
-        List<com.brasfm.model.enums.Position> necessidades = ai.identificarNecessidades();
+    private void publicar(MarketEvent.Tipo tipo, TransferOffer oferta) {
+        MarketEvent evento = new MarketEvent(tipo, diaMercado, oferta);
+        if (eventosDia != null) {
+            eventosDia.add(evento);
+        }
+        for (Consumer<MarketEvent> ouvinte : ouvintes) {
+            ouvinte.accept(evento);
+        }
+    }
 
-        // Procura jogadores
-        for (Player jogador : jogadoresDisponiveis) {
-            if (time.getJogadores().contains(jogador))
-                continue;
+    /**
+     * Fase somente-leitura: cada clube monta suas arestas a partir do mesmo
+     * retrato. O resultado mantém a ordem de registro dos clubes.
+     */
+    private List<List<TransferMatcher.Candidato>> avaliarCandidatos(Random[] randoms) {
+        List<ClubTransferAI> clubes = new ArrayList<>(aiClubes.values());
+        Map<Player, Team> donos = mapearDonos();
 
-            TransferOffer proposta = ai.considerarContratacao(
-                    jogador,
-                    encontrarClubeDono(jogador),
-                    necessidades);
+        // Jogadores já em negociação ficam fora do retrato
+        Set<Player> emNegociacao = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (TransferOffer o : ofertasAtivas) {
+            if (o.getStatus() == TransferOffer.Status.PENDENTE ||
+                    o.getStatus() == TransferOffer.Status.NEGOCIANDO) {
+                emNegociacao.add(o.getJogador());
+            }
+        }
 
-            if (proposta != null) {
-                ofertasAtivas.add(proposta);
-                eventos.add(String.format("📋 %s fez proposta por %s: R$ %,d",
-                        time.getNome(), jogador.getNome(), proposta.getValorTotal()));
+        TransferMatcher.Vitrine vitrine = new TransferMatcher.Vitrine();
+        for (Player p : jogadoresDisponiveis) {
+            Team dono = donos.get(p);
+            if (dono != null && !emNegociacao.contains(p)) {
+                vitrine.anunciar(p, dono, valoracao.calcularValor(p, dono, 70));
             }
+        }
+        vitrine.ordenar();
 
-            // Limita propostas por dia
-            if (ofertasAtivas.size() > 20)
-                break;
+        IntStream indices = IntStream.range(0, clubes.size());
+        if (processamentoParalelo) {
+            indices = indices.parallel();
         }
 
-        return eventos;
+        return indices
+                .mapToObj(i -> clubes.get(i).avaliarCandidatos(
+                        vitrine, randoms[i], CANDIDATOS_POR_NECESSIDADE))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fase de commit: resolve a atribuição e cria uma proposta por jogador
+     * casado, na ordem de peso.
+     */
+    private void consolidarPropostas(List<List<TransferMatcher.Candidato>> candidatos) {
+        List<TransferMatcher.Candidato> arestas = new ArrayList<>();
+        for (List<TransferMatcher.Candidato> doClube : candidatos) {
+            arestas.addAll(doClube);
+        }
+
+        for (TransferMatcher.Candidato c : matcher.resolver(arestas)) {
+            TransferOffer proposta = c.getClube().criarProposta(c);
+            ofertasAtivas.add(proposta);
+            publicar(MarketEvent.Tipo.PROPOSTA_FEITA, proposta);
+        }
+    }
+
+    /**
+     * Semente do stream de um clube no dia corrente.
+     */
+    private long sementeDia(int indice) {
+        return misturar(semente + 0x9E3779B97F4A7C15L * (((long) diaMercado << 20) + indice));
+    }
+
+    /**
+     * Semente do stream de um clube na semana corrente do mercado.
+     */
+    private long sementeSemana(int indice) {
+        return misturar(~semente + 0x9E3779B97F4A7C15L * (((long) semanaMercado << 20) + indice));
+    }
+
+    private static long misturar(long x) {
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
     }
 
     private void processarOfertas() {
@@ -146,19 +297,40 @@ public class TransferMarket {
             if (oferta.getStatus() != TransferOffer.Status.PENDENTE)
                 continue;
 
+            // Jogador já saiu do clube vendedor em outra negociação
+            if (!oferta.getClubeOrigem().getJogadores().contains(oferta.getJogador())) {
+                oferta.recusar();
+                publicar(MarketEvent.Tipo.RECUSADA, oferta);
+                continue;
+            }
+
             // IA do clube vendedor avalia
             ClubTransferAI aiVendedor = aiClubes.get(oferta.getClubeOrigem());
             if (aiVendedor == null)
                 continue;
 
             if (aiVendedor.avaliarPropostaRecebida(oferta)) {
-                oferta.aceitar();
-                if (oferta.getStatus() == TransferOffer.Status.ACEITA) {
-                    executarTransferencia(oferta);
-                    historicoTransferencias.add(oferta);
-                }
-            } else {
+                fecharNegocio(oferta);
+                continue;
+            }
+
+            // Entre clubes da IA o vendedor ainda devolve uma contraproposta
+            ClubTransferAI aiComprador = aiClubes.get(oferta.getClubeDestino());
+            if (aiComprador == null) {
                 oferta.recusar();
+                publicar(MarketEvent.Tipo.RECUSADA, oferta);
+                continue;
+            }
+
+            TransferOffer contra = aiVendedor.criarContraproposta(oferta);
+            publicar(MarketEvent.Tipo.CONTRAPROPOSTA, contra);
+            oferta.recusar(); // substituída pela contraproposta
+
+            if (aiComprador.avaliarContraproposta(contra)) {
+                fecharNegocio(contra);
+            } else {
+                contra.recusar();
+                publicar(MarketEvent.Tipo.RECUSADA, contra);
             }
         }
 
@@ -167,6 +339,22 @@ public class TransferMarket {
                 o.getStatus() != TransferOffer.Status.NEGOCIANDO);
     }
 
+    /**
+     * Aceita a proposta e, se o agente não bloquear, executa a transferência.
+     */
+    private void fecharNegocio(TransferOffer oferta) {
+        oferta.aceitar();
+        if (oferta.getStatus() != TransferOffer.Status.ACEITA) {
+            publicar(MarketEvent.Tipo.RECUSADA, oferta);
+            return;
+        }
+
+        publicar(MarketEvent.Tipo.ACEITA, oferta);
+        executarTransferencia(oferta);
+        historicoTransferencias.registrar(oferta, anoAtual);
+        publicar(MarketEvent.Tipo.CONCLUIDA, oferta);
+    }
+
     private void executarTransferencia(TransferOffer oferta) {
         Player jogador = oferta.getJogador();
         Team origem = oferta.getClubeOrigem();
@@ -178,11 +366,28 @@ public class TransferMarket {
 
         // Transfere dinheiro
         long valorTotal = oferta.getValorGarantido();
-        destino.pagarDespesa((int) valorTotal);
-        origem.receberPatrocinio((int) valorTotal);
+        destino.lancar(TipoLancamento.COMPRA_JOGADORES, valorTotal);
+        origem.lancar(TipoLancamento.VENDA_JOGADORES, valorTotal);
 
         // Remove da lista de disponíveis
         jogadoresDisponiveis.remove(jogador);
+
+        // Quem vendeu põe os olheiros atrás de substitutos parecidos
+        ClubTransferAI vendedor = aiClubes.get(origem);
+        if (vendedor != null && vendedor.getOlheiros() != null && semelhanca.getTamanho() > 0) {
+            for (Player p : vendedor.buscarSubstitutos(jogador, semelhanca, SUBSTITUTOS_POR_VENDA)) {
+                vendedor.getOlheiros().addShortlist(p);
+            }
+        }
+
+        if (agendaContratos != null) {
+            if (oferta.getTipo() == TransferOffer.TipoTransferencia.EMPRESTIMO ||
+                    oferta.getTipo() == TransferOffer.TipoTransferencia.EMPRESTIMO_COM_OPCAO) {
+                agendaContratos.agendarEmprestimo(oferta);
+            } else {
+                agendaContratos.agendarContrato(jogador, destino);
+            }
+        }
     }
 
     private void atualizarJogadoresDisponiveis() {
@@ -193,13 +398,14 @@ public class TransferMarket {
         }
     }
 
-    private Team encontrarClubeDono(Player jogador) {
+    private Map<Player, Team> mapearDonos() {
+        Map<Player, Team> donos = new IdentityHashMap<>();
         for (Team time : aiClubes.keySet()) {
-            if (time.getJogadores().contains(jogador)) {
-                return time;
+            for (Player p : time.getJogadores()) {
+                donos.put(p, time);
             }
         }
-        return null;
+        return donos;
     }
 
     /**
@@ -220,6 +426,7 @@ public class TransferMarket {
         proposta.setNumeroParcelas(parcelas);
 
         ofertasAtivas.add(proposta);
+        publicar(MarketEvent.Tipo.PROPOSTA_FEITA, proposta);
         return proposta;
     }
 
@@ -228,14 +435,56 @@ public class TransferMarket {
      */
     public void responderProposta(TransferOffer proposta, boolean aceitar) {
         if (aceitar) {
-            proposta.aceitar();
-            if (proposta.getStatus() == TransferOffer.Status.ACEITA) {
-                executarTransferencia(proposta);
-                historicoTransferencias.add(proposta);
-            }
+            fecharNegocio(proposta);
         } else {
             proposta.recusar();
+            publicar(MarketEvent.Tipo.RECUSADA, proposta);
+        }
+    }
+
+    /**
+     * Início de semana: reavalia de uma vez todos os jogadores dos clubes
+     * registrados, refaz o índice de semelhança e processa os olheiros da IA.
+     */
+    public void iniciarSemana() {
+        semanaMercado++;
+        valoracao.iniciarSemana(aiClubes.keySet(), 70);
+        atualizarSemelhanca();
+        processarOlheiros();
+    }
+
+    private void atualizarSemelhanca() {
+        List<Player> todos = new ArrayList<>();
+        for (Team t : aiClubes.keySet()) {
+            todos.addAll(t.getJogadores());
         }
+        semelhanca.construir(todos);
+    }
+
+    /**
+     * Índice de semelhança dos jogadores dos clubes registrados, refeito no
+     * início de cada semana.
+     */
+    public PlayerSimilarityIndex getIndiceSemelhanca() {
+        return semelhanca;
+    }
+
+    /**
+     * Olheiros livres de todos os clubes da IA recebem missões e a semana de
+     * todas as redes é processada de uma vez.
+     */
+    private void processarOlheiros() {
+        List<Team> clubes = new ArrayList<>(aiClubes.keySet());
+        List<ScoutingNetwork> redes = new ArrayList<>(aiClubes.size());
+        int i = 0;
+        for (ClubTransferAI ai : aiClubes.values()) {
+            i++;
+            if (ai.getOlheiros() == null)
+                continue;
+            ai.designarOlheiros(clubes, new Random(sementeSemana(i)));
+            redes.add(ai.getOlheiros());
+        }
+        ScoutingNetwork.processarSemana(redes);
     }
 
     /**
@@ -250,10 +499,17 @@ public class TransferMarket {
         return ofertasAtivas;
     }
 
-    public List<TransferOffer> getHistoricoTransferencias() {
+    public TransferLedger getHistoricoTransferencias() {
         return historicoTransferencias;
     }
 
+    /**
+     * Usa um histórico carregado do save.
+     */
+    public void setHistoricoTransferencias(TransferLedger historico) {
+        this.historicoTransferencias = historico;
+    }
+
     public List<Player> getJogadoresDisponiveis() {
         return jogadoresDisponiveis;
     }
@@ -269,4 +525,27 @@ public class TransferMarket {
     public boolean isDeadlineDay() {
         return deadlineDay;
     }
+
+    /**
+     * Agenda que recebe os contratos e empréstimos fechados no mercado.
+     */
+    public void setAgendaContratos(ContractScheduler agendaContratos) {
+        this.agendaContratos = agendaContratos;
+    }
+
+    public long getSemente() {
+        return semente;
+    }
+
+    public boolean isProcessamentoParalelo() {
+        return processamentoParalelo;
+    }
+
+    /**
+     * Desligar o paralelismo não muda o resultado, só a distribuição do
+     * trabalho entre núcleos.
+     */
+    public void setProcessamentoParalelo(boolean processamentoParalelo) {
+        this.processamentoParalelo = processamentoParalelo;
+    }
 }
@@ -0,0 +1,223 @@
+package com.brasfm.economy;
+
+import com.brasfm.model.*;
+import com.brasfm.model.enums.Position;
+import java.util.*;
+
+/**
+ * Compensação diária do mercado: casa as necessidades dos clubes com os
+ * jogadores à venda.
+ *
+ * O grafo é esparso (cada necessidade liga-se só aos melhores candidatos da
+ * mesma posição). A atribuição é gulosa por peso, respeitando o caixa de cada
+ * clube, seguida de uma passada de reparo que troca um casamento por dois
+ * quando isso aumenta o peso total.
+ */
+public class TransferMatcher {
+
+    /**
+     * Jogador à venda com dono e valor já resolvidos para o dia.
+     */
+    public static class Anuncio {
+        private final Player jogador;
+        private final Team dono;
+        private final long valorMercado;
+
+        public Anuncio(Player jogador, Team dono, long valorMercado) {
+            this.jogador = jogador;
+            this.dono = dono;
+            this.valorMercado = valorMercado;
+        }
+
+        public Player getJogador() {
+            return jogador;
+        }
+
+        public Team getDono() {
+            return dono;
+        }
+
+        public long getValorMercado() {
+            return valorMercado;
+        }
+    }
+
+    /**
+     * Retrato do mercado no dia: anúncios agrupados por posição e ordenados
+     * por força decrescente. Não muda depois de montado.
+     */
+    public static class Vitrine {
+        private final Map<Position, List<Anuncio>> porPosicao = new EnumMap<>(Position.class);
+
+        public void anunciar(Player jogador, Team dono, long valorMercado) {
+            porPosicao.computeIfAbsent(jogador.getPosicaoOriginal(), k -> new ArrayList<>())
+                    .add(new Anuncio(jogador, dono, valorMercado));
+        }
+
+        public void ordenar() {
+            for (List<Anuncio> lista : porPosicao.values()) {
+                lista.sort(Comparator.comparingInt((Anuncio a) -> a.jogador.getForca()).reversed());
+            }
+        }
+
+        public List<Anuncio> getAnuncios(Position posicao) {
+            return porPosicao.getOrDefault(posicao, Collections.emptyList());
+        }
+    }
+
+    /**
+     * Aresta do grafo: um clube com necessidade numa posição e um jogador
+     * que serve para ela.
+     */
+    public static class Candidato {
+        private final ClubTransferAI clube;
+        private final Position necessidade;
+        private final Player jogador;
+        private final Team dono;
+        private final long valorMercado;
+        private final long valorOferta;
+        private final double peso;
+        private int ordem;
+
+        public Candidato(ClubTransferAI clube, Position necessidade, Anuncio anuncio, long valorOferta,
+                double peso) {
+            this.clube = clube;
+            this.necessidade = necessidade;
+            this.jogador = anuncio.jogador;
+            this.dono = anuncio.dono;
+            this.valorMercado = anuncio.valorMercado;
+            this.valorOferta = valorOferta;
+            this.peso = peso;
+        }
+
+        public ClubTransferAI getClube() {
+            return clube;
+        }
+
+        public Position getNecessidade() {
+            return necessidade;
+        }
+
+        public Player getJogador() {
+            return jogador;
+        }
+
+        public Team getDono() {
+            return dono;
+        }
+
+        public long getValorMercado() {
+            return valorMercado;
+        }
+
+        /** Valor que o clube vai oferecer; é o que fica reservado do caixa. */
+        public long getValorOferta() {
+            return valorOferta;
+        }
+
+        public double getPeso() {
+            return peso;
+        }
+    }
+
+    private static final Comparator<Candidato> POR_PESO = Comparator
+            .comparingDouble((Candidato c) -> -c.peso)
+            .thenComparingInt(c -> c.ordem);
+
+    private final Map<ClubTransferAI, Map<Position, Candidato>> porVaga = new IdentityHashMap<>();
+    private final Map<Player, Candidato> porJogador = new IdentityHashMap<>();
+    private final Map<ClubTransferAI, Long> caixa = new IdentityHashMap<>();
+
+    /**
+     * Resolve a atribuição. A ordem da lista de entrada é o critério de
+     * desempate, então o resultado é determinístico.
+     */
+    public List<Candidato> resolver(List<Candidato> arestas) {
+        porVaga.clear();
+        porJogador.clear();
+        caixa.clear();
+
+        for (int i = 0; i < arestas.size(); i++) {
+            Candidato c = arestas.get(i);
+            c.ordem = i;
+            caixa.putIfAbsent(c.clube, c.clube.getTime().getSaldo());
+        }
+
+        List<Candidato> ordenadas = new ArrayList<>(arestas);
+        ordenadas.sort(POR_PESO);
+
+        // Fase gulosa
+        Map<ClubTransferAI, Map<Position, List<Candidato>>> arestasPorVaga = new LinkedHashMap<>();
+        for (Candidato c : ordenadas) {
+            arestasPorVaga.computeIfAbsent(c.clube, k -> new EnumMap<>(Position.class))
+                    .computeIfAbsent(c.necessidade, k -> new ArrayList<>())
+                    .add(c);
+
+            if (vagaOcupada(c) || porJogador.containsKey(c.jogador) || !cabeNoCaixa(c, 0))
+                continue;
+            casar(c);
+        }
+
+        // Reparo: vaga vazia rouba o jogador de outra vaga que tenha alternativa livre
+        for (Map.Entry<ClubTransferAI, Map<Position, List<Candidato>>> clube : arestasPorVaga.entrySet()) {
+            for (List<Candidato> opcoes : clube.getValue().values()) {
+                if (vagaOcupada(opcoes.get(0)))
+                    continue;
+                tentarReparo(opcoes, arestasPorVaga);
+            }
+        }
+
+        List<Candidato> resultado = new ArrayList<>(porJogador.values());
+        resultado.sort(POR_PESO);
+        return resultado;
+    }
+
+    private void tentarReparo(List<Candidato> opcoes, Map<ClubTransferAI, Map<Position, List<Candidato>>> arestas) {
+        for (Candidato nova : opcoes) {
+            Candidato atual = porJogador.get(nova.jogador);
+            if (atual == null || atual.clube == nova.clube || !cabeNoCaixa(nova, 0))
+                continue;
+
+            for (Candidato alternativa : arestas.get(atual.clube).get(atual.necessidade)) {
+                if (alternativa == atual || porJogador.containsKey(alternativa.jogador))
+                    continue;
+                if (nova.peso + alternativa.peso <= atual.peso)
+                    break; // lista ordenada: nenhuma alternativa seguinte compensa
+                if (!cabeNoCaixa(alternativa, atual.valorOferta))
+                    continue;
+
+                descasar(atual);
+                casar(alternativa);
+                casar(nova);
+                return;
+            }
+        }
+    }
+
+    private boolean vagaOcupada(Candidato c) {
+        Map<Position, Candidato> vagas = porVaga.get(c.clube);
+        return vagas != null && vagas.containsKey(c.necessidade);
+    }
+
+    /**
+     * Clubes competidores podem parcelar; os demais precisam ter o valor da
+     * oferta em caixa.
+     */
+    private boolean cabeNoCaixa(Candidato c, long liberado) {
+        if (c.clube.getVisao() == ClubTransferAI.VisaoClube.COMPETIDOR)
+            return true;
+        return c.valorOferta <= caixa.get(c.clube) + liberado;
+    }
+
+    private void casar(Candidato c) {
+        porVaga.computeIfAbsent(c.clube, k -> new EnumMap<>(Position.class)).put(c.necessidade, c);
+        porJogador.put(c.jogador, c);
+        caixa.merge(c.clube, -c.valorOferta, Long::sum);
+    }
+
+    private void descasar(Candidato c) {
+        porVaga.get(c.clube).remove(c.necessidade);
+        porJogador.remove(c.jogador);
+        caixa.merge(c.clube, c.valorOferta, Long::sum);
+    }
+}
@@ -93,6 +93,13 @@ public class TransferOffer {
         return valorInicial + valorParcelado;
     }
 
+    /**
+     * Soma de todos os bônus, caso todos sejam ativados.
+     */
+    public long getBonusMaximo() {
+        return bonusPorJogos + bonusPorGols + bonusPorTitulos;
+    }
+
     /**
      * Cria uma contraproposta.
      */
@@ -0,0 +1,120 @@
+package com.brasfm.economy;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Avança uma janela de transferências sem interface, dia após dia.
+ * Quem quiser acompanhar registra ouvintes no próprio mercado; o runner só
+ * conta os eventos para o resumo.
+ */
+public class TransferWindowRunner {
+
+    private final TransferMarket mercado;
+
+    public TransferWindowRunner(TransferMarket mercado) {
+        this.mercado = mercado;
+    }
+
+    /**
+     * Simula até a janela fechar.
+     */
+    public Resultado simularJanela() {
+        return simular(() -> !mercado.isJanelaAberta());
+    }
+
+    /**
+     * Simula até chegar o deadline day, deixando o último dia para o usuário.
+     */
+    public Resultado simularAteDeadline() {
+        return simular(() -> !mercado.isJanelaAberta() || mercado.isDeadlineDay());
+    }
+
+    private Resultado simular(BooleanSupplier parar) {
+        Resultado resultado = new Resultado();
+        Consumer<MarketEvent> contador = resultado::registrar;
+
+        mercado.addOuvinte(contador);
+        long inicio = System.nanoTime();
+        try {
+            while (!parar.getAsBoolean()) {
+                mercado.avancarDia();
+                resultado.dias++;
+            }
+        } finally {
+            resultado.duracaoNanos = System.nanoTime() - inicio;
+            mercado.removeOuvinte(contador);
+        }
+
+        return resultado;
+    }
+
+    /**
+     * Resumo de uma simulação de janela.
+     */
+    public static class Resultado {
+        private int dias;
+        private int propostas;
+        private int contrapropostas;
+        private int recusadas;
+        private int concluidas;
+        private long valorMovimentado;
+        private long duracaoNanos;
+
+        private void registrar(MarketEvent e) {
+            switch (e.getTipo()) {
+                case PROPOSTA_FEITA:
+                    propostas++;
+                    break;
+                case CONTRAPROPOSTA:
+                    contrapropostas++;
+                    break;
+                case RECUSADA:
+                    recusadas++;
+                    break;
+                case CONCLUIDA:
+                    concluidas++;
+                    valorMovimentado += e.getOferta().getValorGarantido();
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        public int getDias() {
+            return dias;
+        }
+
+        public int getPropostas() {
+            return propostas;
+        }
+
+        public int getContrapropostas() {
+            return contrapropostas;
+        }
+
+        public int getRecusadas() {
+            return recusadas;
+        }
+
+        public int getConcluidas() {
+            return concluidas;
+        }
+
+        public long getValorMovimentado() {
+            return valorMovimentado;
+        }
+
+        public long getDuracaoNanos() {
+            return duracaoNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d dias | %d propostas | %d contrapropostas | %d recusadas | "
+                    + "%d concluídas (R$ %,d) | %.1f ms",
+                    dias, propostas, contrapropostas, recusadas, concluidas, valorMovimentado,
+                    duracaoNanos / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.brasfm.engine;
+
+import com.brasfm.model.*;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Projeção de desenvolvimento de longo prazo por Monte Carlo.
+ *
+ * Cada simulação avança o jogador temporada a temporada: o treino da
+ * temporada (intensidade, instalações, profissionalismo e idade, como no
+ * {@link TrainingSystem}) vira evolução de força pela mesma curva de
+ * {@link Player#evoluir}, limitada por um teto sorteado em torno do
+ * potencial. As forças de cada temporada são contadas num histograma de
+ * 1 a 100, de onde saem os percentis sem ordenar nada.
+ */
+public class DevelopmentProjection {
+
+    /** Percentis devolvidos em cada temporada. */
+    public static final int[] PERCENTIS = { 10, 25, 50, 75, 90 };
+
+    /** Sessões de treino numa temporada. */
+    public static final int TREINOS_POR_TEMPORADA = 40;
+
+    private static final int SIMULACOES_PADRAO = 500;
+
+    /** Pontos de atributo da temporada que equivalem a um ponto de fator em evoluir. */
+    private static final double PONTOS_POR_FATOR = 5.0;
+
+    /** Variação da temporada fora do treino (lesões, minutos, forma). */
+    private static final double RUIDO_TEMPORADA = 1.5;
+
+    /** Incerteza do potencial real em torno do CPE. */
+    private static final double INCERTEZA_POTENCIAL = 5.0;
+
+    /**
+     * Faixas de força futura de um jogador.
+     */
+    public static class Projecao {
+        private final Player jogador;
+        private final int idadeInicial;
+        private final int[][] faixas; // [temporada][índice em PERCENTIS]
+
+        Projecao(Player jogador, int idadeInicial, int[][] faixas) {
+            this.jogador = jogador;
+            this.idadeInicial = idadeInicial;
+            this.faixas = faixas;
+        }
+
+        public Player getJogador() {
+            return jogador;
+        }
+
+        public int getTemporadas() {
+            return faixas.length;
+        }
+
+        /**
+         * Idade do jogador ao fim da temporada (1 = próxima).
+         */
+        public int getIdade(int temporada) {
+            return idadeInicial + temporada;
+        }
+
+        /**
+         * Força no percentil {@code PERCENTIS[indice]} ao fim da temporada
+         * (1 = próxima).
+         */
+        public int getFaixa(int temporada, int indice) {
+            return faixas[temporada - 1][indice];
+        }
+
+        public int getMediana(int temporada) {
+            return getFaixa(temporada, 2);
+        }
+
+        public int getPessimista(int temporada) {
+            return getFaixa(temporada, 0);
+        }
+
+        public int getOtimista(int temporada) {
+            return getFaixa(temporada, PERCENTIS.length - 1);
+        }
+    }
+
+    private int simulacoes = SIMULACOES_PADRAO;
+
+    /**
+     * Projeta um jogador treinando no clube das instalações dadas.
+     */
+    public Projecao projetar(Player jogador, ClubFacilities instalacoes, TrainingSystem.IntensidadeTreino intensidade,
+            int temporadas, long semente) {
+        double xpClube = xpClube(instalacoes, intensidade);
+        return projetar(jogador, xpClube, temporadas, new SplittableRandom(semente ^ jogador.getId()));
+    }
+
+    /**
+     * Projeta vários jogadores de uma vez, em paralelo. Cada jogador usa um
+     * gerador derivado da semente e do seu id, então a projeção de um jogador
+     * não muda com a lista em que ele aparece.
+     */
+    public List<Projecao> projetar(List<Player> jogadores, ClubFacilities instalacoes,
+            TrainingSystem.IntensidadeTreino intensidade, int temporadas, long semente) {
+        double xpClube = xpClube(instalacoes, intensidade);
+        Projecao[] resultado = new Projecao[jogadores.size()];
+        IntStream.range(0, resultado.length).parallel().forEach(i -> {
+            Player p = jogadores.get(i);
+            resultado[i] = projetar(p, xpClube, temporadas, new SplittableRandom(semente ^ p.getId()));
+        });
+        return Arrays.asList(resultado);
+    }
+
+    private Projecao projetar(Player jogador, double xpClube, int temporadas, SplittableRandom random) {
+        int idade = jogador.getIdade();
+        int forcaInicial = jogador.getForca();
+        int potencial = jogador.getPotencial() > 0 ? jogador.getPotencial() : 100;
+        PlayerPersonality pers = jogador.getPersonality();
+        double modificador = pers != null ? pers.getModificadorTreino() : 1.0;
+
+        // Pontos de treino esperados por temporada dependem só da idade
+        double[] media = new double[temporadas];
+        double[] desvio = new double[temporadas];
+        for (int t = 0; t < temporadas; t++) {
+            int sessao = (int) (xpClube * TrainingSystem.calcularFatorIdade(idade + t) * modificador);
+            double n = (double) sessao * TREINOS_POR_TEMPORADA;
+            media[t] = n * TrainingSystem.CHANCE_GANHO;
+            desvio[t] = Math.sqrt(n * TrainingSystem.CHANCE_GANHO * (1 - TrainingSystem.CHANCE_GANHO));
+        }
+
+        int[][] histogramas = new int[temporadas][101];
+        for (int s = 0; s < simulacoes; s++) {
+            double forca = forcaInicial;
+            double teto = Math.max(forcaInicial, Math.min(100, potencial + random.nextGaussian() * INCERTEZA_POTENCIAL));
+
+            for (int t = 0; t < temporadas; t++) {
+                double pontos = Math.max(0, media[t] + random.nextGaussian() * desvio[t]);
+                forca += ganhoTemporada(forca, idade + t, pontos / PONTOS_POR_FATOR)
+                        + random.nextGaussian() * RUIDO_TEMPORADA;
+                forca = Math.max(1, Math.min(teto, forca));
+                if (idade + t > 31) {
+                    teto = Math.min(teto, forca); // depois do auge não recupera o que perdeu
+                }
+                histogramas[t][(int) Math.round(forca)]++;
+            }
+        }
+
+        int[][] faixas = new int[temporadas][];
+        for (int t = 0; t < temporadas; t++) {
+            faixas[t] = percentis(histogramas[t], simulacoes);
+        }
+        return new Projecao(jogador, idade, faixas);
+    }
+
+    /**
+     * Mesma curva de {@link Player#evoluir}, sem arredondar.
+     */
+    private static double ganhoTemporada(double forca, int idade, double fator) {
+        if (idade < 20) {
+            fator *= 0.7;
+        } else if (idade > 31) {
+            fator *= -0.5;
+        }
+        return fator * (1.0 - forca / 150.0);
+    }
+
+    private static int[] percentis(int[] histograma, int total) {
+        int[] resultado = new int[PERCENTIS.length];
+        int acumulado = 0;
+        int p = 0;
+        for (int forca = 0; forca < histograma.length && p < PERCENTIS.length; forca++) {
+            acumulado += histograma[forca];
+            while (p < PERCENTIS.length && acumulado * 100L >= (long) PERCENTIS[p] * total) {
+                resultado[p++] = forca;
+            }
+        }
+        return resultado;
+    }
+
+    private static double xpClube(ClubFacilities instalacoes, TrainingSystem.IntensidadeTreino intensidade) {
+        // O bônus das instalações já inclui o staff de ciência do desporto
+        return 10 * intensidade.getFatorEvolucao() * instalacoes.getBonusTreino();
+    }
+
+    public int getSimulacoes() {
+        return simulacoes;
+    }
+
+    public void setSimulacoes(int simulacoes) {
+        this.simulacoes = Math.max(1, simulacoes);
+    }
+}
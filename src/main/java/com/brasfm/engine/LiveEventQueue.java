@@ -0,0 +1,102 @@
+package com.brasfm.engine;
+
+import java.util.function.Consumer;
+
+/**
+ * Fila circular limitada com um produtor e um consumidor, sem travas.
+ *
+ * A simulação publica numa thread e a UI drena em outra (a EDT, uma vez por
+ * quadro). Cada lado só escreve o próprio índice; a escrita volátil do
+ * índice publica o item para o outro lado. Publicar nunca espera: com a fila
+ * cheia o item é descartado e contado, para que uma UI travada não segure a
+ * simulação.
+ *
+ * Os últimos {@link #RESERVA_CONTROLE} lugares ficam para itens de controle
+ * ({@link #publicarControle}), que a UI não pode perder (ex.: fim de jogo):
+ * uma rajada de narração enche a fila sem tomar o lugar deles.
+ */
+public class LiveEventQueue<T> {
+
+    /** Lugares que só itens de controle podem ocupar. */
+    public static final int RESERVA_CONTROLE = 4;
+
+    private final Object[] itens;
+    private final int mascara;
+    private volatile long escrita;
+    private volatile long leitura;
+    private volatile long descartados;
+
+    /**
+     * @param capacidade arredondada para cima até uma potência de dois, com
+     *                   os lugares reservados incluídos
+     */
+    public LiveEventQueue(int capacidade) {
+        int tamanho = Integer.highestOneBit(Math.max(2 * RESERVA_CONTROLE, capacidade) - 1) << 1;
+        this.itens = new Object[tamanho];
+        this.mascara = tamanho - 1;
+    }
+
+    /**
+     * Só pela thread produtora. Não usa os lugares reservados.
+     *
+     * @return false se a fila estava cheia e o item foi descartado
+     */
+    public boolean publicar(T item) {
+        return publicar(item, RESERVA_CONTROLE);
+    }
+
+    /**
+     * Só pela thread produtora. Pode usar os lugares reservados, então não se
+     * perde enquanto houver menos de {@link #RESERVA_CONTROLE} itens de
+     * controle esperando a drenagem.
+     *
+     * @return false se nem os lugares reservados tinham espaço
+     */
+    public boolean publicarControle(T item) {
+        return publicar(item, 0);
+    }
+
+    private boolean publicar(T item, int reserva) {
+        long e = escrita;
+        if (e - leitura >= itens.length - reserva) {
+            descartados++; // só o produtor escreve
+            return false;
+        }
+        itens[(int) (e & mascara)] = item;
+        escrita = e + 1;
+        return true;
+    }
+
+    /**
+     * Só pela thread consumidora. Entrega tudo o que foi publicado até agora.
+     *
+     * @return quantos itens foram entregues
+     */
+    @SuppressWarnings("unchecked")
+    public int drenar(Consumer<? super T> consumidor) {
+        long l = leitura;
+        long e = escrita;
+        int n = (int) (e - l);
+        for (; l < e; l++) {
+            int i = (int) (l & mascara);
+            T item = (T) itens[i];
+            itens[i] = null;
+            consumidor.accept(item);
+        }
+        leitura = l;
+        return n;
+    }
+
+    public boolean isVazia() {
+        return escrita == leitura;
+    }
+
+    public int getCapacidade() {
+        return itens.length;
+    }
+
+    /** Itens perdidos por fila cheia desde a criação. */
+    public long getDescartados() {
+        return descartados;
+    }
+}
@@ -3,83 +3,52 @@ package com.brasfm.engine;
 import com.brasfm.model.Match;
 import com.brasfm.model.Team;
 import com.brasfm.model.Player;
-import javax.swing.Timer;
 import java.util.function.Consumer;
-import java.util.Random;
+import java.util.function.IntConsumer;
 import java.util.List;
 
 /**
  * Engine de partida ao vivo com callbacks para UI.
  * Separa a lógica do jogo da interface gráfica.
- * Inclui sistema de Momentum, Bolas Paradas, Clima, Lesões e Táticas.
+ *
+ * As regras são as do {@link MatchEngine}: cada tick joga um minuto com
+ * {@link MatchEngine#avancarMinuto()} e esta classe só transforma os eventos
+ * do minuto em narração, eventos visuais e um indicador de pressão. Assim a
+ * partida assistida e as simuladas seguem o mesmo modelo.
+ *
+ * O ritmo dos minutos vem de um {@link MatchClock}, então a mesma partida
+ * roda em tempo real, de uma vez ou passo a passo sem Swing. Sem UI, os
+ * callbacks rodam direto na thread da simulação. Com uma UI ligada
+ * ({@link #setFila}), tudo vira {@link Lance} numa {@link LiveEventQueue}
+ * que a UI drena uma vez por quadro; a simulação nunca espera pela tela.
  */
 public class LiveMatchEngine {
 
-    private Match partida;
-    private Timer timer;
+    public static final int MINUTOS = 90;
+
+    private final Match partida;
+    private final MatchEngine motor;
+    private MatchClock relogio;
+    private LiveEventQueue<Lance> fila;
+    private volatile int minutoAlvo;
+    private volatile boolean finalizada;
+    private boolean iniciada;
     private int minuto = 0;
-    private Random random = new Random();
-
-    // Estado do jogo
-    private int golsCasa = 0;
-    private int golsFora = 0;
-    private int chutesCasa = 0;
-    private int chutesFora = 0;
-    private int posseCasa = 50;
-    private int posseFora = 50;
-
-    // Bolas paradas
-    private int escanteiosCasa = 0;
-    private int escanteiosFora = 0;
-    private int faltasCasa = 0;
-    private int faltasFora = 0;
-    private int penaltisCasa = 0;
-    private int penaltisFora = 0;
-    private int impedimentosCasa = 0;
-    private int impedimentosFora = 0;
-
-    // Sistema de Momentum (Pressão)
+
+    // Indicador de pressão (só apresentação: não altera as chances)
     private int momentum = 0;
-    private int strikeCasa = 0;
-    private int strikeFora = 0;
     private int ultimosMomentos = 0;
 
-    // Clima
-    public enum Clima {
-        NORMAL, CHUVA, CALOR
-    }
-
-    private Clima clima = Clima.NORMAL;
-
-    // Lesões durante o jogo
-    private int lesoesCasa = 0;
-    private int lesoesFora = 0;
-
     // Constantes de momentum
     private static final int MOMENTUM_ALTO = 40;
-    private static final int MOMENTUM_MUITO_ALTO = 70;
     private static final int MOMENTUM_DECAY = 3;
     private static final int MOMENTUM_GAIN_GOL = 30;
     private static final int MOMENTUM_GAIN_CHUTE = 10;
-    private static final int MOMENTUM_GAIN_ATAQUE = 5;
-
-    // Constantes de bolas paradas
-    private static final double CHANCE_ESCANTEIO_GOL = 0.08; // 8% de gol por escanteio
-    private static final double CHANCE_FALTA_GOL = 0.05; // 5% de gol por falta perigosa
-    private static final double CHANCE_PENALTI_GOL = 0.75; // 75% de conversão de pênalti
-    private static final double CHANCE_PENALTI = 0.003; // 0.3% por minuto de pênalti
-
-    // Constantes táticas e bônus
-    private static final int BONUS_MANDANTE = 3; // Bônus casa nos atributos mentais
-    private static final double CHANCE_LESAO = 0.0005; // 0.05% por minuto
-    private static final double CHANCE_IMPEDIMENTO = 0.015; // 1.5% por ataque
+    private static final int MOMENTUM_GAIN_DEFESA = 15;
 
     // Times
-    private Team mandante;
-    private Team visitante;
-    private double chanceBaseGol;
-    private double bonusTaticaCasa = 1.0; // Multiplicador tático
-    private double bonusTaticaFora = 1.0;
+    private final Team mandante;
+    private final Team visitante;
 
     // Callbacks para atualizar a UI
     private Consumer<String> onNarracao;
@@ -88,6 +57,7 @@ public class LiveMatchEngine {
     private Consumer<MomentumInfo> onMomentumChange;
     private Runnable onIntervalo;
     private Runnable onFimJogo;
+    private IntConsumer sincronizacao;
 
     // Enum para tipos de evento
     public enum TipoEvento {
@@ -111,6 +81,40 @@ public class LiveMatchEngine {
         }
     }
 
+    /**
+     * Tudo o que a partida publica para a UI, com o placar e as estatísticas
+     * do momento da publicação (a UI não precisa ler o estado da simulação).
+     */
+    public static class Lance {
+        public enum Tipo {
+            NARRACAO, MINUTO, EVENTO, MOMENTUM, INTERVALO, FIM
+        }
+
+        public final Tipo tipo;
+        public final int minuto;
+        public final String texto;
+        public final MatchEvent evento;
+        public final MomentumInfo momentum;
+        public final int golsCasa;
+        public final int golsFora;
+        public final int chutesCasa;
+        public final int chutesFora;
+        public final int posseCasa;
+
+        Lance(Tipo tipo, LiveMatchEngine origem, String texto, MatchEvent evento, MomentumInfo momentum) {
+            this.tipo = tipo;
+            this.minuto = origem.minuto;
+            this.texto = texto;
+            this.evento = evento;
+            this.momentum = momentum;
+            this.golsCasa = origem.getGolsCasa();
+            this.golsFora = origem.getGolsFora();
+            this.chutesCasa = origem.getChutesCasa();
+            this.chutesFora = origem.getChutesFora();
+            this.posseCasa = origem.getPosseCasa();
+        }
+    }
+
     // Classe para info de momentum
     public static class MomentumInfo {
         public int valor; // -100 a +100
@@ -125,127 +129,17 @@ public class LiveMatchEngine {
     }
 
     public LiveMatchEngine(Match partida) {
-        this.partida = partida;
-        this.mandante = partida.getMandante();
-        this.visitante = partida.getVisitante();
-
-        // Calcula chance base (será modificada pelo momentum)
-        double forcaCasa = mandante.getForcaTime();
-        double forcaFora = visitante.getForcaTime();
-        double totalForca = forcaCasa + forcaFora;
-        this.chanceBaseGol = 0.025; // 2.5% base por minuto
-    }
-
-    /**
-     * Calcula a chance de gol usando duelos individuais por setor.
-     * Simula mini-duelos entre criação (atacante) vs defesa (defensor).
-     */
-    private double getChanceGol(boolean casaAtaca) {
-        Team atacante = casaAtaca ? mandante : visitante;
-        Team defensor = casaAtaca ? visitante : mandante;
-
-        // 1. Qualidade do Meio-Campo (Criação de jogadas)
-        int criacao = calcularQualidadeSetor(atacante, "CRIACAO");
-
-        // 2. Qualidade Defensiva (Contenção)
-        int defesa = calcularQualidadeSetor(defensor, "DEFESA");
-
-        // 3. Qualidade de Finalização
-        int finalizacao = calcularQualidadeSetor(atacante, "FINALIZACAO");
-
-        // 4. Qualidade do Goleiro
-        int goleiro = calcularQualidadeSetor(defensor, "GOLEIRO");
-
-        // Chance de criar jogada: criação vs defesa
-        double chanceCriar = (double) criacao / (criacao + defesa);
-
-        // Chance de finalizar: finalização vs goleiro
-        double chanceFinalizar = (double) finalizacao / (finalizacao + goleiro);
-
-        // Bônus de momentum (até +20% se time está dominando)
-        double bonusMomentum = 0;
-        if (casaAtaca && momentum > 0) {
-            bonusMomentum = (momentum / 100.0) * 0.2;
-        } else if (!casaAtaca && momentum < 0) {
-            bonusMomentum = (-momentum / 100.0) * 0.2;
-        } else if (casaAtaca && momentum < 0) {
-            bonusMomentum = (momentum / 100.0) * 0.15; // Penalidade
-        } else if (!casaAtaca && momentum > 0) {
-            bonusMomentum = (-momentum / 100.0) * 0.15;
-        }
-
-        // Bônus de mandante (fator casa) - atributos mentais
-        double bonusCasa = casaAtaca ? 1.03 : 1.0; // +3% para mandante
-
-        // Chance final: probabilidade de criar * probabilidade de finalizar * base
-        // Base de 5% por minuto, modificada pelos duelos
-        double chanceBase = 0.05;
-        double chanceFinal = chanceBase * chanceCriar * chanceFinalizar * (1 + bonusMomentum) * bonusCasa;
-
-        // Garante um limite razoável (0.5% a 5%)
-        return Math.max(0.005, Math.min(0.05, chanceFinal));
+        this(partida, new MatchEngine());
     }
 
     /**
-     * Calcula a qualidade de um setor baseada nos atributos dos jogadores
-     * titulares.
+     * @param motor motor que joga os minutos (ex.: um com moral configurado)
      */
-    private int calcularQualidadeSetor(Team time, String setor) {
-        int soma = 0;
-        List<Player> titulares = time.getTitulares();
-
-        if (titulares == null || titulares.isEmpty()) {
-            return 50; // Valor padrão se não conseguir acessar
-        }
-
-        for (Player p : titulares) {
-            if (p == null || p.getPosicaoOriginal() == null)
-                continue;
-
-            switch (setor) {
-                case "CRIACAO":
-                    // Meio-campistas contribuem com passe e armação
-                    if (p.getPosicaoOriginal().name().contains("MEIA") ||
-                            p.getPosicaoOriginal().name().contains("VOLANTE")) {
-                        soma += p.getPasse() + p.getArmacao();
-                    }
-                    // Pontas também criam jogadas
-                    if (p.getPosicaoOriginal().name().contains("PONTA")) {
-                        soma += (p.getPasse() + p.getArmacao()) / 2;
-                    }
-                    break;
-
-                case "DEFESA":
-                    // Defensores contribuem com desarme e força
-                    if (p.getPosicaoOriginal().isDefensiva()) {
-                        soma += p.getDesarme() + p.getForca();
-                    }
-                    // Volante também ajuda na defesa
-                    if (p.getPosicaoOriginal().name().contains("VOLANTE")) {
-                        soma += p.getDesarme();
-                    }
-                    break;
-
-                case "FINALIZACAO":
-                    // Atacantes finalizam
-                    if (p.getPosicaoOriginal().isOfensiva()) {
-                        soma += p.getFinalizacaoEfetiva();
-                    }
-                    // Meias atacantes também
-                    if (p.getPosicaoOriginal().name().contains("MEIA_ATACANTE")) {
-                        soma += p.getFinalizacaoEfetiva() / 2;
-                    }
-                    break;
-
-                case "GOLEIRO":
-                    if (p.getPosicaoOriginal().isGoleiro()) {
-                        soma += p.getGoleiro() * 3; // Goleiro tem peso triplo
-                    }
-                    break;
-            }
-        }
-
-        return Math.max(1, soma); // Nunca zero
+    public LiveMatchEngine(Match partida, MatchEngine motor) {
+        this.partida = partida;
+        this.motor = motor;
+        this.mandante = partida.getMandante();
+        this.visitante = partida.getVisitante();
     }
 
     /**
@@ -263,456 +157,362 @@ public class LiveMatchEngine {
         this.onFimJogo = onFimJogo;
     }
 
+    public void setOnMomentumChange(Consumer<MomentumInfo> onMomentumChange) {
+        this.onMomentumChange = onMomentumChange;
+    }
+
     /**
-     * Inicia a simulação da partida.
+     * Chamado na thread da simulação, sem passar pela UI, ao fim de cada
+     * minuto com o minuto jogado, e com {@link Integer#MAX_VALUE} no apito
+     * final, antes de {@code onFimJogo}. Serve para andar com outros jogos em
+     * sincronia (ex.: {@link RoundSimulator#avancarAte}).
      */
-    public void iniciar() {
-        narrar("🏟️ Estádio lotado! O juiz apita e a bola rola!");
-        notificarEvento(new MatchEvent(TipoEvento.MEIO, "Início", true, 0));
-
-        timer = new Timer(150, e -> processarMinuto());
-        timer.start();
+    public void setSincronizacao(IntConsumer sincronizacao) {
+        this.sincronizacao = sincronizacao;
     }
 
     /**
-     * Processa cada minuto da partida.
+     * Liga uma UI: em vez de chamar os callbacks, a partida publica cada
+     * {@link Lance} na fila, e a UI a drena na própria thread.
      */
-    private void processarMinuto() {
-        minuto++;
-
-        if (onMinutoChange != null) {
-            onMinutoChange.accept(minuto);
-        }
-
-        // Intervalo
-        if (minuto == 45) {
-            narrar("\n⏱️ 45' - FIM DO PRIMEIRO TEMPO!");
-            narrar("   " + mandante.getSigla() + " " + golsCasa + " x " + golsFora + " " + visitante.getSigla() + "\n");
-            if (onIntervalo != null) {
-                onIntervalo.run();
-            }
-        }
+    public void setFila(LiveEventQueue<Lance> fila) {
+        this.fila = fila;
+    }
 
-        if (minuto == 46) {
-            narrar("🔔 Começa o segundo tempo!\n");
+    /**
+     * Entrega um lance drenado da fila aos callbacks (na thread de quem drena).
+     */
+    public void entregar(Lance lance) {
+        switch (lance.tipo) {
+            case NARRACAO:
+                if (onNarracao != null)
+                    onNarracao.accept(lance.texto);
+                break;
+            case MINUTO:
+                if (onMinutoChange != null)
+                    onMinutoChange.accept(lance.minuto);
+                break;
+            case EVENTO:
+                if (onEvento != null)
+                    onEvento.accept(lance.evento);
+                break;
+            case MOMENTUM:
+                if (onMomentumChange != null)
+                    onMomentumChange.accept(lance.momentum);
+                break;
+            case INTERVALO:
+                if (onIntervalo != null)
+                    onIntervalo.run();
+                break;
+            case FIM:
+                if (onFimJogo != null)
+                    onFimJogo.run();
+                break;
         }
+    }
 
-        // Simulação de eventos
-        processarEventos();
-
-        // Fim de jogo
-        if (minuto >= 90) {
-            finalizarPartida();
-        }
+    /**
+     * Inicia a simulação da partida em tempo real na velocidade normal.
+     */
+    public void iniciar() {
+        iniciar(MatchClock.tempoReal(MatchClock.Velocidade.X1));
     }
 
     /**
-     * Processa eventos aleatórios do jogo com sistema de momentum.
+     * Inicia a simulação no ritmo do relógio dado.
      */
-    private void processarEventos() {
-        double rand = random.nextDouble();
+    public void iniciar(MatchClock relogio) {
+        this.relogio = relogio;
+        comecar();
+        relogio.iniciar(this::tick);
+    }
 
-        // Decaimento natural do momentum
-        if (momentum > 0) {
-            momentum = Math.max(0, momentum - MOMENTUM_DECAY);
-        } else if (momentum < 0) {
-            momentum = Math.min(0, momentum + MOMENTUM_DECAY);
+    /**
+     * Joga a partida inteira na thread de quem chama, sem relógio.
+     */
+    public synchronized void simularAteOFim() {
+        comecar();
+        while (!finalizada) {
+            processarMinuto();
         }
+    }
 
-        // Determina quem está atacando (influenciado pelo momentum)
-        double chanceAtaqueCasa = 0.5 + (momentum / 200.0); // 25% a 75%
-        boolean casaAtaca = random.nextDouble() < chanceAtaqueCasa;
-
-        // Atualiza posse baseada no momentum
-        if (casaAtaca) {
-            posseCasa = Math.min(75, posseCasa + 2);
-            posseFora = 100 - posseCasa;
-            strikeCasa++;
-            strikeFora = 0;
-        } else {
-            posseFora = Math.min(75, posseFora + 2);
-            posseCasa = 100 - posseFora;
-            strikeFora++;
-            strikeCasa = 0;
+    /**
+     * Para o relógio e joga o que falta na thread de quem chama. A partida é
+     * a do calendário, então não pode ficar pela metade (ex.: janela fechada
+     * no meio do jogo). Espera o tick em andamento, se houver.
+     */
+    public synchronized void concluir() {
+        parar();
+        comecar();
+        while (!finalizada) {
+            processarMinuto();
         }
+    }
 
-        // Calcula chances dinâmicas baseadas no momentum
-        double chanceCasaGol = getChanceGol(true);
-        double chanceForaGol = getChanceGol(false);
-
-        // Verifica se há momento de pressão
-        if (strikeCasa >= 3 && momentum < MOMENTUM_MUITO_ALTO) {
-            aumentarMomentum(true, MOMENTUM_GAIN_ATAQUE);
-            if (momentum >= MOMENTUM_ALTO && ultimosMomentos == 0) {
-                narrar("🔥 " + minuto + "' - " + mandante.getSigla() + " está PRESSIONANDO!");
-                notificarEvento(new MatchEvent(TipoEvento.MOMENTUM_CASA, "Pressão!", true, 60));
-                ultimosMomentos = 5;
-            }
-        } else if (strikeFora >= 3 && momentum > -MOMENTUM_MUITO_ALTO) {
-            aumentarMomentum(false, MOMENTUM_GAIN_ATAQUE);
-            if (momentum <= -MOMENTUM_ALTO && ultimosMomentos == 0) {
-                narrar("🔥 " + minuto + "' - " + visitante.getSigla() + " está PRESSIONANDO!");
-                notificarEvento(new MatchEvent(TipoEvento.MOMENTUM_FORA, "Pressão!", false, 60));
-                ultimosMomentos = 5;
-            }
-        }
+    private void comecar() {
+        if (iniciada)
+            return;
+        iniciada = true;
+        motor.iniciar(partida, false);
+        narrar("🏟️ Estádio lotado! O juiz apita e a bola rola!");
+        notificarEvento(new MatchEvent(TipoEvento.MEIO, "Início", true, 0));
+    }
 
-        if (ultimosMomentos > 0)
-            ultimosMomentos--;
+    /**
+     * Um tick do relógio: um minuto, ou vários se alguém pediu para pular.
+     */
+    private synchronized void tick() {
+        if (finalizada)
+            return;
+        do {
+            processarMinuto();
+        } while (!finalizada && minuto < minutoAlvo);
+    }
 
-        // Gol do mandante
-        if (rand < chanceCasaGol) {
-            golsCasa++;
-            chutesCasa++;
-            aumentarMomentum(true, MOMENTUM_GAIN_GOL);
-            narrar("\n" + minuto + "' - ⚽ GOOOOL DO " + mandante.getNome().toUpperCase() + "!!!");
-            narrar("   Placar: " + golsCasa + " x " + golsFora);
-            if (momentum > MOMENTUM_ALTO) {
-                narrar("   💪 " + mandante.getSigla() + " está dominando a partida!\n");
-            } else {
-                narrar("");
-            }
-            notificarEvento(new MatchEvent(TipoEvento.GOL_CASA,
-                    "Gol de " + mandante.getNome(), true, 100));
-        }
-        // Gol do visitante
-        else if (rand < chanceCasaGol + chanceForaGol) {
-            golsFora++;
-            chutesFora++;
-            aumentarMomentum(false, MOMENTUM_GAIN_GOL);
-            narrar("\n" + minuto + "' - ⚽ GOOOOL DO " + visitante.getNome().toUpperCase() + "!!!");
-            narrar("   Placar: " + golsCasa + " x " + golsFora);
-            if (momentum < -MOMENTUM_ALTO) {
-                narrar("   💪 " + visitante.getSigla() + " está dominando a partida!\n");
-            } else {
-                narrar("");
-            }
-            notificarEvento(new MatchEvent(TipoEvento.GOL_FORA,
-                    "Gol de " + visitante.getNome(), false, 100));
-        }
-        // Chute com momentum
-        else if (rand < 0.04 + Math.abs(momentum) * 0.0005) {
-            if (casaAtaca) {
-                chutesCasa++;
-                aumentarMomentum(true, MOMENTUM_GAIN_CHUTE);
-                narrar(minuto + "' - 🎯 Chute de " + mandante.getSigla() + "!");
-                notificarEvento(new MatchEvent(TipoEvento.CHUTE_CASA, "Chute", true, 70));
-            } else {
-                chutesFora++;
-                aumentarMomentum(false, MOMENTUM_GAIN_CHUTE);
-                narrar(minuto + "' - 🎯 Chute de " + visitante.getSigla() + "!");
-                notificarEvento(new MatchEvent(TipoEvento.CHUTE_FORA, "Chute", false, 70));
-            }
-        }
-        // Escanteio (novo evento)
-        else if (rand < 0.12) {
-            processarEscanteio(casaAtaca);
-        }
-        // Falta perigosa (novo evento)
-        else if (rand < 0.14) {
-            processarFaltaPerigosa(casaAtaca);
-        }
-        // Pênalti (raro)
-        else if (rand < 0.14 + CHANCE_PENALTI * getModificadorClima()) {
-            processarPenalti(casaAtaca);
-        }
-        // Eventos variados
-        else if (rand < 0.18) {
-            String[] eventos = {
-                    "🔄 Troca de passes no meio-campo",
-                    "🏃 Contra-ataque perigoso!",
-                    "🧤 Grande defesa do goleiro!",
-                    "⚠️ Falta cometida"
-            };
-            String evento = eventos[random.nextInt(eventos.length)];
-            narrar(minuto + "' - " + evento);
-
-            if (evento.contains("defesa")) {
-                // Defesa quebra momentum adversário
-                if (casaAtaca) {
-                    momentum = Math.max(-50, momentum - 15);
-                } else {
-                    momentum = Math.min(50, momentum + 15);
-                }
-                notificarEvento(new MatchEvent(TipoEvento.DEFESA, evento, casaAtaca, 50));
-            } else if (evento.contains("Contra-ataque")) {
-                aumentarMomentum(casaAtaca, MOMENTUM_GAIN_ATAQUE);
-                notificarEvento(new MatchEvent(
-                        casaAtaca ? TipoEvento.ATAQUE_CASA : TipoEvento.ATAQUE_FORA,
-                        evento, casaAtaca, 40));
-            } else {
-                notificarEvento(new MatchEvent(TipoEvento.MEIO, evento, casaAtaca, 10));
-            }
+    public void pausar() {
+        if (relogio != null) {
+            relogio.pausar();
         }
+    }
 
-        // Verificar impedimento em ataques perigosos
-        if (rand < 0.08 && !verificarImpedimento(casaAtaca)) {
-            // Ataque continuou normalmente
+    public void retomar() {
+        if (relogio != null) {
+            relogio.retomar();
         }
+    }
 
-        // Verificar lesões (chance muito baixa)
-        verificarLesao(casaAtaca);
+    public boolean isPausada() {
+        return relogio != null && relogio.isPausado();
+    }
 
-        // Notifica mudança de momentum se callback disponível
-        if (onMomentumChange != null) {
-            String desc = momentum > MOMENTUM_ALTO ? mandante.getSigla() + " pressionando"
-                    : momentum < -MOMENTUM_ALTO ? visitante.getSigla() + " pressionando" : "Equilibrado";
-            onMomentumChange.accept(new MomentumInfo(momentum, momentum > 0, desc));
+    public void setVelocidade(MatchClock.Velocidade velocidade) {
+        if (relogio != null) {
+            relogio.setVelocidade(velocidade);
         }
     }
 
     /**
-     * Aumenta o momentum de um time.
+     * Simula de uma vez até o minuto dado no próximo tick e segue no ritmo
+     * atual a partir dele.
      */
-    private void aumentarMomentum(boolean casaGanha, int quantidade) {
-        if (casaGanha) {
-            momentum = Math.min(100, momentum + quantidade);
-        } else {
-            momentum = Math.max(-100, momentum - quantidade);
-        }
+    public void pularPara(int minutoDestino) {
+        minutoAlvo = Math.min(MINUTOS, minutoDestino);
+        retomar();
     }
 
-    // ==================== BOLAS PARADAS ====================
-
     /**
-     * Processa um escanteio.
+     * Termina a partida (acréscimos incluídos) o quanto antes.
      */
-    private void processarEscanteio(boolean casaCobra) {
-        if (casaCobra) {
-            escanteiosCasa++;
-        } else {
-            escanteiosFora++;
-        }
-
-        String time = casaCobra ? mandante.getSigla() : visitante.getSigla();
-        narrar(minuto + "' - 🚩 Escanteio para " + time + "!");
-        notificarEvento(new MatchEvent(TipoEvento.ESCANTEIO, "Escanteio", casaCobra, 40));
-
-        // Modificador de clima (chuva dificulta cruzamentos)
-        double modClima = clima == Clima.CHUVA ? 0.7 : 1.0;
-
-        // Chance de gol de escanteio
-        if (random.nextDouble() < CHANCE_ESCANTEIO_GOL * modClima * (casaCobra ? bonusTaticaCasa : bonusTaticaFora)) {
-            if (casaCobra) {
-                golsCasa++;
-                chutesCasa++;
-                aumentarMomentum(true, MOMENTUM_GAIN_GOL);
-                narrar("   ⚽ GOL DE CABEÇA! " + mandante.getNome().toUpperCase() + " marca de escanteio!");
-                narrar("   Placar: " + golsCasa + " x " + golsFora + "\n");
-                notificarEvento(new MatchEvent(TipoEvento.GOL_ESCANTEIO, "Gol de escanteio", true, 100));
-            } else {
-                golsFora++;
-                chutesFora++;
-                aumentarMomentum(false, MOMENTUM_GAIN_GOL);
-                narrar("   ⚽ GOL DE CABEÇA! " + visitante.getNome().toUpperCase() + " marca de escanteio!");
-                narrar("   Placar: " + golsCasa + " x " + golsFora + "\n");
-                notificarEvento(new MatchEvent(TipoEvento.GOL_ESCANTEIO, "Gol de escanteio", false, 100));
-            }
-        }
+    public void terminar() {
+        minutoAlvo = Integer.MAX_VALUE;
+        retomar();
     }
 
     /**
-     * Processa uma falta perigosa (livre direta).
+     * Processa cada minuto da partida.
      */
-    private void processarFaltaPerigosa(boolean casaCobra) {
-        if (casaCobra) {
-            faltasCasa++;
-        } else {
-            faltasFora++;
+    private void processarMinuto() {
+        List<com.brasfm.model.MatchEvent> eventos = motor.avancarMinuto();
+        minuto = motor.getMinuto();
+
+        publicar(Lance.Tipo.MINUTO, null, null, null);
+
+        // Decaimento natural do momentum
+        if (momentum > 0) {
+            momentum = Math.max(0, momentum - MOMENTUM_DECAY);
+        } else if (momentum < 0) {
+            momentum = Math.min(0, momentum + MOMENTUM_DECAY);
         }
+        if (ultimosMomentos > 0)
+            ultimosMomentos--;
 
-        String time = casaCobra ? mandante.getSigla() : visitante.getSigla();
-        narrar(minuto + "' - ⚠️ FALTA PERIGOSA para " + time + "! Na entrada da área!");
-        notificarEvento(new MatchEvent(TipoEvento.FALTA, "Falta perigosa", casaCobra, 60));
-
-        // Chance de gol de falta direta
-        if (random.nextDouble() < CHANCE_FALTA_GOL) {
-            if (casaCobra) {
-                golsCasa++;
-                aumentarMomentum(true, MOMENTUM_GAIN_GOL);
-                narrar("   ⚽ GOLAÇO DE FALTA! " + mandante.getNome().toUpperCase() + "!");
-                narrar("   A bola entrou no ângulo! Placar: " + golsCasa + " x " + golsFora + "\n");
-                notificarEvento(new MatchEvent(TipoEvento.GOL_FALTA, "Gol de falta", true, 100));
-            } else {
-                golsFora++;
-                aumentarMomentum(false, MOMENTUM_GAIN_GOL);
-                narrar("   ⚽ GOLAÇO DE FALTA! " + visitante.getNome().toUpperCase() + "!");
-                narrar("   A bola entrou no ângulo! Placar: " + golsCasa + " x " + golsFora + "\n");
-                notificarEvento(new MatchEvent(TipoEvento.GOL_FALTA, "Gol de falta", false, 100));
-            }
-        } else {
-            narrar("   O goleiro fez a defesa!");
+        for (com.brasfm.model.MatchEvent e : eventos) {
+            apresentar(e);
         }
-    }
 
-    /**
-     * Processa um pênalti.
-     */
-    private void processarPenalti(boolean casaCobra) {
-        if (casaCobra) {
-            penaltisCasa++;
-        } else {
-            penaltisFora++;
+        // Intervalo
+        if (minuto == 45) {
+            narrar("\n⏱️ 45' - FIM DO PRIMEIRO TEMPO!");
+            narrar("   " + mandante.getSigla() + " " + getGolsCasa() + " x " + getGolsFora() + " "
+                    + visitante.getSigla() + "\n");
+            publicar(Lance.Tipo.INTERVALO, null, null, null);
         }
 
-        String time = casaCobra ? mandante.getNome() : visitante.getNome();
-        narrar("\n" + minuto + "' - 🔴 PÊNALTI PARA " + time.toUpperCase() + "!");
-        narrar("   O árbitro aponta para a marca da cal!");
-        notificarEvento(new MatchEvent(TipoEvento.PENALTI, "Pênalti!", casaCobra, 90));
-
-        // Conversão do pênalti (75% base)
-        if (random.nextDouble() < CHANCE_PENALTI_GOL) {
-            if (casaCobra) {
-                golsCasa++;
-                aumentarMomentum(true, MOMENTUM_GAIN_GOL);
-                narrar("   ⚽ GOOOOL DE PÊNALTI! " + mandante.getNome().toUpperCase() + "!");
-                narrar("   Placar: " + golsCasa + " x " + golsFora + "\n");
-                notificarEvento(new MatchEvent(TipoEvento.GOL_PENALTI, "Gol de pênalti", true, 100));
-            } else {
-                golsFora++;
-                aumentarMomentum(false, MOMENTUM_GAIN_GOL);
-                narrar("   ⚽ GOOOOL DE PÊNALTI! " + visitante.getNome().toUpperCase() + "!");
-                narrar("   Placar: " + golsCasa + " x " + golsFora + "\n");
-                notificarEvento(new MatchEvent(TipoEvento.GOL_PENALTI, "Gol de pênalti", false, 100));
-            }
-        } else {
-            narrar("   🧤 DEFENDEUUU! O goleiro pegou o pênalti!");
-            // Goleiro ganha momentum
-            aumentarMomentum(!casaCobra, MOMENTUM_GAIN_GOL);
+        if (minuto == 46) {
+            narrar("🔔 Começa o segundo tempo!\n");
         }
-    }
 
-    /**
-     * Verifica se houve impedimento no ataque.
-     * Retorna true se o ataque foi cancelado por impedimento.
-     */
-    private boolean verificarImpedimento(boolean casaAtaca) {
-        if (random.nextDouble() < CHANCE_IMPEDIMENTO) {
-            if (casaAtaca) {
-                impedimentosCasa++;
-            } else {
-                impedimentosFora++;
-            }
-
-            String time = casaAtaca ? mandante.getSigla() : visitante.getSigla();
-            narrar(minuto + "' - 🏳️ IMPEDIMENTO de " + time + "!");
-            notificarEvento(new MatchEvent(TipoEvento.IMPEDIMENTO, "Impedimento", casaAtaca, 20));
-            return true;
+        if (minuto == MINUTOS && !motor.isFinalizada()) {
+            narrar("⏱️ Acréscimos!");
         }
-        return false;
-    }
 
-    /**
-     * Verifica se houve lesão.
-     */
-    private void verificarLesao(boolean casaTime) {
-        if (random.nextDouble() < CHANCE_LESAO * (clima == Clima.CALOR ? 2.0 : 1.0)) {
-            if (casaTime) {
-                lesoesCasa++;
-            } else {
-                lesoesFora++;
-            }
-
-            String time = casaTime ? mandante.getSigla() : visitante.getSigla();
-            narrar("\n" + minuto + "' - 🏥 LESÃO! Jogador de " + time + " fica no chão!");
-            narrar("   Atendimento médico em campo. Será substituído.\n");
-            notificarEvento(new MatchEvent(TipoEvento.LESAO, "Lesão!", casaTime, 50));
+        notificarMomentum();
+
+        if (sincronizacao != null && !motor.isFinalizada()) {
+            sincronizacao.accept(minuto);
+        }
+
+        // Fim de jogo
+        if (motor.isFinalizada()) {
+            finalizarPartida();
         }
     }
 
     /**
-     * Aplica modificadores de clima nos eventos.
+     * Narra um evento do motor e o repassa à UI.
      */
-    private double getModificadorClima() {
-        switch (clima) {
-            case CHUVA:
-                return 0.9; // -10% precisão
-            case CALOR:
-                return 0.95; // -5% performance geral
+    private void apresentar(com.brasfm.model.MatchEvent e) {
+        boolean casa = e.getTime() == mandante;
+        Team time = e.getTime();
+        Player jogador = e.getJogadorPrincipal();
+        String nome = jogador != null ? jogador.getNome() : "";
+
+        switch (e.getTipo()) {
+            case GOL:
+            case GOL_CONTRA:
+                aumentarMomentum(casa, MOMENTUM_GAIN_GOL);
+                narrar("\n" + minuto + "' - ⚽ GOOOOL DO " + time.getNome().toUpperCase() + "!!!");
+                if (jogador != null) {
+                    Player assistente = e.getJogadorSecundario();
+                    narrar("   " + nome + (assistente != null ? " (assist. " + assistente.getNome() + ")" : ""));
+                }
+                narrar("   Placar: " + getGolsCasa() + " x " + getGolsFora());
+                if (momentum > MOMENTUM_ALTO && casa || momentum < -MOMENTUM_ALTO && !casa) {
+                    narrar("   💪 " + time.getSigla() + " está dominando a partida!\n");
+                } else {
+                    narrar("");
+                }
+                notificarEvento(new MatchEvent(casa ? TipoEvento.GOL_CASA : TipoEvento.GOL_FORA,
+                        "Gol de " + time.getNome(), casa, 100));
+                break;
+
+            case CHUTE_PARA_FORA:
+                aumentarMomentum(casa, MOMENTUM_GAIN_CHUTE);
+                narrar(minuto + "' - 🎯 Chute de " + nome + " (" + time.getSigla() + ")! Para fora.");
+                notificarEvento(new MatchEvent(casa ? TipoEvento.CHUTE_CASA : TipoEvento.CHUTE_FORA,
+                        "Chute", casa, 70));
+                break;
+
+            case DEFESA_DIFICIL:
+                // O evento é do time que defendeu; a defesa quebra o momentum de quem atacou
+                aumentarMomentum(casa, MOMENTUM_GAIN_DEFESA);
+                narrar(minuto + "' - 🧤 Grande defesa de " + nome + "!");
+                notificarEvento(new MatchEvent(TipoEvento.DEFESA, "Defesa", !casa, 50));
+                break;
+
+            case CARTAO_AMARELO:
+                narrar(minuto + "' - 🟨 Cartão amarelo para " + nome + " (" + time.getSigla() + ")");
+                notificarEvento(new MatchEvent(TipoEvento.FALTA, "Cartão amarelo", !casa, 30));
+                break;
+
+            case CARTAO_VERMELHO:
+                narrar("\n" + minuto + "' - 🟥 EXPULSO! " + nome + " (" + time.getSigla() + ") vai para o chuveiro!\n");
+                notificarEvento(new MatchEvent(TipoEvento.FALTA, "Cartão vermelho", !casa, 80));
+                break;
+
+            case SUBSTITUICAO:
+                Player sai = e.getJogadorSecundario();
+                narrar(minuto + "' - 🔄 " + time.getSigla() + ": entra " + nome
+                        + (sai != null ? ", sai " + sai.getNome() : ""));
+                notificarEvento(new MatchEvent(TipoEvento.MEIO, "Substituição", casa, 10));
+                break;
+
             default:
-                return 1.0;
+                break;
         }
     }
 
     /**
-     * Define o clima da partida.
+     * Aumenta o momentum de um time.
      */
-    public void setClima(Clima clima) {
-        this.clima = clima;
-    }
+    private void aumentarMomentum(boolean casaGanha, int quantidade) {
+        if (casaGanha) {
+            momentum = Math.min(100, momentum + quantidade);
+        } else {
+            momentum = Math.max(-100, momentum - quantidade);
+        }
 
-    /**
-     * Calcula bônus tático baseado na formação (meio-campo).
-     * Formações com mais jogadores no meio ganham vantagem.
-     */
-    public void calcularBonusTatico() {
-        // Simplificado: usa força geral + bônus mandante
-        double forcaCasa = mandante.getForcaTime() + BONUS_MANDANTE;
-        double forcaFora = visitante.getForcaTime();
-        double total = forcaCasa + forcaFora;
+        if (ultimosMomentos == 0 && Math.abs(momentum) >= MOMENTUM_ALTO) {
+            boolean casa = momentum > 0;
+            Team time = casa ? mandante : visitante;
+            narrar("🔥 " + minuto + "' - " + time.getSigla() + " está PRESSIONANDO!");
+            notificarEvento(new MatchEvent(casa ? TipoEvento.MOMENTUM_CASA : TipoEvento.MOMENTUM_FORA,
+                    "Pressão!", casa, 60));
+            ultimosMomentos = 5;
+        }
+    }
 
-        bonusTaticaCasa = (forcaCasa / total) * 2; // 0.8 a 1.2
-        bonusTaticaFora = (forcaFora / total) * 2;
+    private void notificarMomentum() {
+        if (fila != null || onMomentumChange != null) {
+            String desc = momentum > MOMENTUM_ALTO ? mandante.getSigla() + " pressionando"
+                    : momentum < -MOMENTUM_ALTO ? visitante.getSigla() + " pressionando" : "Equilibrado";
+            publicar(Lance.Tipo.MOMENTUM, null, null, new MomentumInfo(momentum, momentum > 0, desc));
+        }
     }
 
     /**
      * Finaliza a partida.
      */
     private void finalizarPartida() {
-        timer.stop();
+        finalizada = true;
+        if (relogio != null) {
+            relogio.parar();
+        }
 
-        narrar("\n🏁 90' - APITA O ÁRBITRO! FIM DE JOGO!");
-        narrar("\n" + mandante.getNome() + " " + golsCasa + " x " + golsFora + " " + visitante.getNome());
+        narrar("\n🏁 " + minuto + "' - APITA O ÁRBITRO! FIM DE JOGO!");
+        narrar("\n" + mandante.getNome() + " " + getGolsCasa() + " x " + getGolsFora() + " " + visitante.getNome());
 
-        // Registra gols na partida
-        for (int i = 0; i < golsCasa; i++) {
-            partida.registrarGol(mandante, null, null);
+        if (sincronizacao != null) {
+            sincronizacao.accept(Integer.MAX_VALUE);
         }
-        for (int i = 0; i < golsFora; i++) {
-            partida.registrarGol(visitante, null, null);
-        }
-        partida.finalizar();
 
-        if (onFimJogo != null) {
-            onFimJogo.run();
-        }
+        publicar(Lance.Tipo.FIM, null, null, null);
     }
 
     private void narrar(String texto) {
-        if (onNarracao != null) {
-            onNarracao.accept(texto);
-        }
+        publicar(Lance.Tipo.NARRACAO, texto, null, null);
     }
 
     private void notificarEvento(MatchEvent evento) {
-        if (onEvento != null) {
-            onEvento.accept(evento);
+        publicar(Lance.Tipo.EVENTO, null, evento, null);
+    }
+
+    private void publicar(Lance.Tipo tipo, String texto, MatchEvent evento, MomentumInfo info) {
+        Lance lance = new Lance(tipo, this, texto, evento, info);
+        if (fila == null) {
+            entregar(lance);
+        } else if (tipo == Lance.Tipo.INTERVALO || tipo == Lance.Tipo.FIM) {
+            // Controlam a UI (barra do intervalo, botões do fim): nunca descartados
+            fila.publicarControle(lance);
+        } else {
+            fila.publicar(lance);
         }
     }
 
     // Getters para estado do jogo
     public int getGolsCasa() {
-        return golsCasa;
+        return partida.getGolsMandante();
     }
 
     public int getGolsFora() {
-        return golsFora;
+        return partida.getGolsVisitante();
     }
 
     public int getChutesCasa() {
-        return chutesCasa;
+        return partida.getChutesMandante();
     }
 
     public int getChutesFora() {
-        return chutesFora;
+        return partida.getChutesVisitante();
     }
 
     public int getPosseCasa() {
-        return posseCasa;
+        return motor.getPosseMandante();
     }
 
     public int getPosseFora() {
-        return posseFora;
+        return 100 - motor.getPosseMandante();
     }
 
     public int getMinuto() {
@@ -728,19 +528,27 @@ public class LiveMatchEngine {
     }
 
     public String getPlacar() {
-        return golsCasa + " x " + golsFora;
+        return getGolsCasa() + " x " + getGolsFora();
     }
 
     public int getMomentum() {
         return momentum;
     }
 
+    public boolean isFinalizada() {
+        return finalizada;
+    }
+
+    public MatchEngine getMotor() {
+        return motor;
+    }
+
     /**
      * Para a simulação.
      */
     public void parar() {
-        if (timer != null) {
-            timer.stop();
+        if (relogio != null) {
+            relogio.parar();
         }
     }
 }
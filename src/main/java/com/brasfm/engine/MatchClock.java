@@ -0,0 +1,206 @@
+package com.brasfm.engine;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relógio que dita o ritmo dos minutos de uma {@link LiveMatchEngine}.
+ *
+ * O relógio só decide quando chamar o tick; a partida não sabe se está
+ * rodando em tempo real, de uma vez numa thread de trabalho ou passo a passo
+ * num teste. Nenhuma implementação depende do Swing: os ticks rodam numa
+ * thread própria (ou na de quem chama, no {@link Manual}).
+ */
+public abstract class MatchClock {
+
+    public enum Velocidade {
+        X1("1x", 150),
+        X2("2x", 75),
+        X4("4x", 37);
+
+        private final String nome;
+        private final long intervaloMs;
+
+        Velocidade(String nome, long intervaloMs) {
+            this.nome = nome;
+            this.intervaloMs = intervaloMs;
+        }
+
+        public String getNome() {
+            return nome;
+        }
+
+        /** Tempo real entre dois minutos de jogo. */
+        public long getIntervaloMs() {
+            return intervaloMs;
+        }
+    }
+
+    protected Runnable tick;
+
+    /**
+     * Começa a chamar o tick até {@link #parar()}. Ticks nunca se sobrepõem.
+     */
+    public void iniciar(Runnable tick) {
+        this.tick = tick;
+        comecar();
+    }
+
+    protected abstract void comecar();
+
+    public abstract void parar();
+
+    public void pausar() {
+    }
+
+    public void retomar() {
+    }
+
+    public boolean isPausado() {
+        return false;
+    }
+
+    public void setVelocidade(Velocidade velocidade) {
+    }
+
+    public static MatchClock tempoReal(Velocidade velocidade) {
+        return new TempoReal(velocidade);
+    }
+
+    public static MatchClock instantaneo() {
+        return new Instantaneo();
+    }
+
+    // ==================== IMPLEMENTAÇÕES ====================
+
+    /**
+     * Um minuto de jogo a cada intervalo da velocidade, numa thread daemon.
+     */
+    public static class TempoReal extends MatchClock {
+        private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "relogio-partida");
+            t.setDaemon(true);
+            return t;
+        });
+        private ScheduledFuture<?> agendado;
+        private Velocidade velocidade;
+        private boolean pausado;
+
+        public TempoReal(Velocidade velocidade) {
+            this.velocidade = velocidade;
+        }
+
+        @Override
+        protected synchronized void comecar() {
+            if (!pausado) {
+                agendar();
+            }
+        }
+
+        private void agendar() {
+            if (agendado != null) {
+                agendado.cancel(false);
+            }
+            long intervalo = velocidade.getIntervaloMs();
+            agendado = executor.scheduleAtFixedRate(tick, intervalo, intervalo, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public synchronized void parar() {
+            if (agendado != null) {
+                agendado.cancel(false);
+            }
+            executor.shutdown();
+        }
+
+        @Override
+        public synchronized void pausar() {
+            pausado = true;
+            if (agendado != null) {
+                agendado.cancel(false);
+                agendado = null;
+            }
+        }
+
+        @Override
+        public synchronized void retomar() {
+            if (!pausado)
+                return;
+            pausado = false;
+            if (tick != null && !executor.isShutdown()) {
+                agendar();
+            }
+        }
+
+        @Override
+        public synchronized boolean isPausado() {
+            return pausado;
+        }
+
+        @Override
+        public synchronized void setVelocidade(Velocidade velocidade) {
+            this.velocidade = velocidade;
+            if (agendado != null) {
+                agendar();
+            }
+        }
+
+        public synchronized Velocidade getVelocidade() {
+            return velocidade;
+        }
+    }
+
+    /**
+     * Ticks seguidos, sem espera, numa thread de trabalho.
+     */
+    public static class Instantaneo extends MatchClock {
+        private volatile boolean parado;
+
+        @Override
+        protected void comecar() {
+            Thread t = new Thread(() -> {
+                while (!parado) {
+                    tick.run();
+                }
+            }, "partida-instantanea");
+            t.setDaemon(true);
+            t.start();
+        }
+
+        @Override
+        public void parar() {
+            parado = true;
+        }
+    }
+
+    /**
+     * Só anda quando alguém chama {@link #avancar()}, na thread de quem chama.
+     * Serve para testes e benchmarks.
+     */
+    public static class Manual extends MatchClock {
+        private boolean parado;
+
+        @Override
+        protected void comecar() {
+        }
+
+        @Override
+        public void parar() {
+            parado = true;
+        }
+
+        /**
+         * Um tick.
+         *
+         * @return false se o relógio já foi parado
+         */
+        public boolean avancar() {
+            if (parado || tick == null)
+                return false;
+            tick.run();
+            return true;
+        }
+    }
+}
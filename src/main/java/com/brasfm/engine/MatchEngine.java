@@ -15,6 +15,10 @@ import java.util.*;
  * - Finalização: Finalização, Compostura, Técnica
  * - Defesa: Desarme, Antecipação, Posicionamento
  * - Goleiro: Reflexos, Um contra Um, Posicionamento
+ *
+ * A partida pode ser jogada de uma vez ({@link #simular}) ou minuto a minuto
+ * ({@link #iniciar} e {@link #avancarMinuto()}); a partida ao vivo usa o
+ * passo a passo, então as regras são as mesmas nos dois casos.
  */
 public class MatchEngine {
     private Random random;
@@ -27,14 +31,25 @@ public class MatchEngine {
     private Map<Player, Double> energiaJogadores;
     private Map<Player, Double> notasJogadores;
     private Map<Player, PlayerAttributes> atributosEfetivos;
+    private final transient Map<Team, Setores> setores = new IdentityHashMap<>();
+    private int eventosVistos;
     private MoraleSystem moraleSystem;
     private Team timeHumano; // Para saber quando tocar som de gol vs gol adversário
 
     // Estatísticas avançadas
+    private boolean jogoImportante;
+    private int minuto;
+    private int minutoFinal;
     private double xgMandante = 0;
     private double xgVisitante = 0;
     private int posseMandanteTotal = 0;
     private int amostrasPosse = 0;
+    private int posseMinuto = 50;
+
+    // Replay
+    private boolean gravarReplays;
+    private long semente;
+    private transient Replay.Gravador gravador;
 
     public MatchEngine() {
         this.random = new Random();
@@ -57,15 +72,155 @@ public class MatchEngine {
         this.timeHumano = time;
     }
 
+    /**
+     * Grava o replay de todas as partidas iniciadas a partir de agora. As
+     * partidas de times humanos são gravadas sempre.
+     */
+    public void setGravarReplays(boolean gravarReplays) {
+        this.gravarReplays = gravarReplays;
+    }
+
+    /**
+     * Semente do gerador usada na partida atual.
+     */
+    public long getSemente() {
+        return semente;
+    }
+
+    /**
+     * Jogadores em campo de um time separados por setor, com os pesos de
+     * sorteio já somados. Só muda quando a escalação muda, então é montado
+     * uma vez e reaproveitado a cada minuto.
+     */
+    private static class Setores {
+        final Player goleiro;
+        // Jogadores de linha, na ordem dos titulares
+        final Player[] linha;
+        final PlayerAttributes[] atributos;
+        final boolean[] meioCampo;
+        // Pesos acumulados de sorteio, alinhados com linha
+        final Player[] criadores;
+        final int[] acumuladoCriador;
+        final int[] acumuladoFinalizador;
+        final Player[] marcadores;
+
+        Setores(Team team, Map<Player, PlayerAttributes> atributosEfetivos) {
+            List<Player> titulares = team.getTitulares();
+            Player gol = null;
+            List<Player> deLinha = new ArrayList<>(titulares.size());
+            List<Player> naoDefensivos = new ArrayList<>(titulares.size());
+            List<Player> defensores = new ArrayList<>(titulares.size());
+            for (Player p : titulares) {
+                Position pos = p.getPosicao();
+                if (pos.isDefensiva())
+                    defensores.add(p);
+                if (p.isGoleiro()) {
+                    if (gol == null)
+                        gol = p;
+                    continue;
+                }
+                deLinha.add(p);
+                if (!pos.isDefensiva())
+                    naoDefensivos.add(p);
+            }
+            this.goleiro = gol;
+            this.linha = deLinha.toArray(new Player[0]);
+            this.marcadores = defensores.toArray(new Player[0]);
+            this.criadores = (naoDefensivos.isEmpty() ? deLinha : naoDefensivos).toArray(new Player[0]);
+
+            this.atributos = new PlayerAttributes[linha.length];
+            this.meioCampo = new boolean[linha.length];
+            this.acumuladoFinalizador = new int[linha.length];
+            int total = 0;
+            for (int i = 0; i < linha.length; i++) {
+                PlayerAttributes attrs = atributosEfetivos.get(linha[i]);
+                atributos[i] = attrs;
+                meioCampo[i] = linha[i].getPosicao().isMeioCampo();
+                total += attrs.getFinalizacao() + attrs.getSemBola();
+                if (linha[i].getPosicao().isOfensiva())
+                    total += 40;
+                acumuladoFinalizador[i] = total;
+            }
+
+            this.acumuladoCriador = new int[criadores.length];
+            total = 0;
+            for (int i = 0; i < criadores.length; i++) {
+                PlayerAttributes attrs = atributosEfetivos.get(criadores[i]);
+                total += attrs.getVisao() + attrs.getPasse();
+                acumuladoCriador[i] = total;
+            }
+        }
+    }
+
+    /**
+     * Descarta os setores em cache de um time. A engine já faz isso sozinha
+     * em substituições e expulsões; quem mudar posições ou a tática no meio
+     * da partida deve chamar este método.
+     */
+    public void invalidarSetores(Team team) {
+        setores.remove(team);
+    }
+
+    private Setores getSetores(Team team) {
+        Setores s = setores.get(team);
+        if (s == null) {
+            for (Player p : team.getTitulares()) {
+                if (!atributosEfetivos.containsKey(p)) {
+                    prepararJogador(p); // entrou depois do apito inicial
+                }
+            }
+            s = new Setores(team, atributosEfetivos);
+            setores.put(team, s);
+        }
+        return s;
+    }
+
     /**
      * Simula uma partida completa.
      */
     public Match simular(Team mandante, Team visitante, boolean jogoImportante) {
-        this.match = new Match(mandante, visitante);
+        iniciar(mandante, visitante, jogoImportante);
+        while (!isFinalizada()) {
+            avancarMinuto();
+        }
+        return match;
+    }
+
+    /**
+     * Prepara uma partida nova para ser jogada minuto a minuto.
+     */
+    public Match iniciar(Team mandante, Team visitante, boolean jogoImportante) {
+        return iniciar(new Match(mandante, visitante), jogoImportante);
+    }
+
+    /**
+     * Prepara uma partida já existente (ex.: a do calendário) para ser jogada
+     * minuto a minuto com {@link #avancarMinuto()}.
+     */
+    public Match iniciar(Match partida, boolean jogoImportante) {
+        this.match = partida;
+        this.jogoImportante = jogoImportante;
+        this.minuto = 0;
+        this.minutoFinal = 90;
         this.xgMandante = 0;
         this.xgVisitante = 0;
         this.posseMandanteTotal = 0;
         this.amostrasPosse = 0;
+        this.posseMinuto = 50;
+        energiaJogadores.clear();
+        notasJogadores.clear();
+        atributosEfetivos.clear();
+        setores.clear();
+        this.eventosVistos = 0;
+
+        Team mandante = partida.getMandante();
+        Team visitante = partida.getVisitante();
+
+        // Cada partida tem a própria semente, guardada no replay
+        this.semente = random.nextLong();
+        random.setSeed(semente);
+        boolean gravar = gravarReplays || mandante.isTimeHumano() || visitante.isTimeHumano();
+        this.gravador = gravar ? new Replay.Gravador(partida, semente) : null;
 
         // Inicializa estado dos jogadores
         inicializarJogadores(mandante, jogoImportante);
@@ -76,26 +231,79 @@ public class MatchEngine {
 
         // Inicia partida
         match.iniciar();
+        if (gravador != null) {
+            gravador.gravarMinuto(0, 50);
+        }
+        return match;
+    }
+
+    /**
+     * Joga o próximo minuto e devolve os eventos registrados nele. No minuto
+     * 45 processa o intervalo; no 90 sorteia os acréscimos; no último minuto
+     * finaliza a partida.
+     */
+    public List<MatchEvent> avancarMinuto() {
+        if (match == null || match.isFinalizada())
+            return Collections.emptyList();
 
-        // Simula primeiro tempo
-        simularTempo(1, 45, mandante, visitante, jogoImportante);
+        int antes = match.getTotalEventos();
+        Team mandante = match.getMandante();
+        Team visitante = match.getVisitante();
 
-        // Intervalo
-        if (soundSystem != null) {
-            soundSystem.tocarIntervalo();
+        minuto++;
+        match.setMinutoAtual(minuto);
+        invalidarSetoresAlterados();
+
+        // Atualiza fadiga
+        atualizarFadiga(mandante);
+        atualizarFadiga(visitante);
+
+        // Simula ações do minuto usando ATRIBUTOS INDIVIDUAIS
+        simularMinuto(mandante, visitante, minuto, jogoImportante);
+
+        if (minuto == 45) {
+            // Intervalo
+            if (soundSystem != null) {
+                soundSystem.tocarIntervalo();
+            }
+            processarIntervalo(mandante);
+            processarIntervalo(visitante);
+        } else if (minuto == 90) {
+            // Acréscimos se necessário
+            minutoFinal = 90 + calcularAcrescimos();
         }
-        processarIntervalo(mandante);
-        processarIntervalo(visitante);
 
-        // Simula segundo tempo
-        simularTempo(46, 90, mandante, visitante, jogoImportante);
+        if (minuto >= minutoFinal) {
+            encerrar();
+        }
 
-        // Acréscimos se necessário
-        int acrescimos = calcularAcrescimos();
-        if (acrescimos > 0) {
-            simularTempo(91, 90 + acrescimos, mandante, visitante, jogoImportante);
+        if (gravador != null) {
+            gravador.gravarMinuto(minuto, posseMinuto);
+            if (match.isFinalizada()) {
+                gravador.concluir();
+                gravador = null;
+            }
         }
 
+        return new ArrayList<>(match.getEventos(antes));
+    }
+
+    /**
+     * Substituições e expulsões registradas desde o último minuto (inclusive
+     * as feitas pela UI com a partida parada) mudam quem está em campo.
+     */
+    private void invalidarSetoresAlterados() {
+        int total = match.getTotalEventos();
+        for (int i = eventosVistos; i < total; i++) {
+            MatchEvent.TipoEvento tipo = match.getTipoEvento(i);
+            if (tipo == MatchEvent.TipoEvento.SUBSTITUICAO || tipo == MatchEvent.TipoEvento.CARTAO_VERMELHO) {
+                setores.remove(match.getTimeEvento(i));
+            }
+        }
+        eventosVistos = total;
+    }
+
+    private void encerrar() {
         // Finaliza
         match.finalizar();
 
@@ -111,35 +319,59 @@ public class MatchEngine {
         if (amostrasPosse > 0) {
             match.setPosseMandante(posseMandanteTotal / amostrasPosse);
         }
+    }
 
+    public Match getMatch() {
         return match;
     }
 
+    /**
+     * Último minuto jogado (passa de 90 nos acréscimos).
+     */
+    public int getMinuto() {
+        return minuto;
+    }
+
+    public boolean isFinalizada() {
+        return match != null && match.isFinalizada();
+    }
+
+    /**
+     * Posse média do mandante até agora.
+     */
+    public int getPosseMandante() {
+        return amostrasPosse > 0 ? posseMandanteTotal / amostrasPosse : 50;
+    }
+
     private void inicializarJogadores(Team team, boolean jogoImportante) {
         for (Player p : team.getTitulares()) {
             energiaJogadores.put(p, (double) p.getEnergia());
-            notasJogadores.put(p, 6.0);
-
-            // Cria atributos baseados nos valores REAIS, não na força agregada
-            PlayerAttributes attrs = criarAtributosReais(p);
-
-            // Aplica modificador de moral
-            if (moraleSystem != null) {
-                double modMoral = moraleSystem.getModificadorPerformance(p, jogoImportante);
-                if (modMoral != 0) {
-                    attrs.setDecisoes((int) (attrs.getDecisoes() * (1 + modMoral)));
-                    attrs.setCompostura((int) (attrs.getCompostura() * (1 + modMoral)));
-                    attrs.setConcentracao((int) (attrs.getConcentracao() * (1 + modMoral)));
-                }
-            }
-
-            atributosEfetivos.put(p, attrs);
+            prepararJogador(p);
         }
         for (Player p : team.getReservas()) {
             energiaJogadores.put(p, (double) p.getEnergia());
         }
     }
 
+    private void prepararJogador(Player p) {
+        notasJogadores.putIfAbsent(p, 6.0);
+
+        // Cria atributos baseados nos valores REAIS, não na força agregada
+        PlayerAttributes attrs = criarAtributosReais(p);
+
+        // Aplica modificador de moral
+        if (moraleSystem != null) {
+            double modMoral = moraleSystem.getModificadorPerformance(p, jogoImportante);
+            if (modMoral != 0) {
+                attrs.setDecisoes((int) (attrs.getDecisoes() * (1 + modMoral)));
+                attrs.setCompostura((int) (attrs.getCompostura() * (1 + modMoral)));
+                attrs.setConcentracao((int) (attrs.getConcentracao() * (1 + modMoral)));
+            }
+        }
+
+        atributosEfetivos.put(p, attrs);
+    }
+
     /**
      * Cria atributos baseados nos valores REAIS do jogador.
      */
@@ -229,19 +461,6 @@ public class MatchEngine {
         return Math.max(20, Math.min(95, base + random.nextInt(6) - 3));
     }
 
-    private void simularTempo(int inicio, int fim, Team mandante, Team visitante, boolean jogoImportante) {
-        for (int minuto = inicio; minuto <= fim; minuto++) {
-            match.setMinutoAtual(minuto);
-
-            // Atualiza fadiga
-            atualizarFadiga(mandante);
-            atualizarFadiga(visitante);
-
-            // Simula ações do minuto usando ATRIBUTOS INDIVIDUAIS
-            simularMinuto(mandante, visitante, minuto, jogoImportante);
-        }
-    }
-
     private void simularMinuto(Team mandante, Team visitante, int minuto, boolean jogoImportante) {
         // Usa ATRIBUTOS de passe e visão para determinar posse (não força!)
         int qualidadeMeioM = calcularQualidadeMeioCampo(mandante);
@@ -253,6 +472,7 @@ public class MatchEngine {
 
         posseMandanteTotal += posseMandante;
         amostrasPosse++;
+        posseMinuto = posseMandante;
 
         // Chance de ação significativa
         double chanceAcao = 0.10 + random.nextDouble() * 0.10;
@@ -272,27 +492,31 @@ public class MatchEngine {
     }
 
     /**
-     * Calcula qualidade do meio usando ATRIBUTOS INDIVIDUAIS.
+     * Calcula qualidade do meio usando ATRIBUTOS INDIVIDUAIS. Aplica a fadiga
+     * como {@link PlayerAttributes#comFadiga}, mas só nos atributos usados e
+     * sem criar cópias.
      */
     private int calcularQualidadeMeioCampo(Team team) {
+        Setores s = getSetores(team);
         int soma = 0;
         int count = 0;
 
-        for (Player p : team.getTitulares()) {
-            if (p.isGoleiro())
-                continue;
-
-            PlayerAttributes attrs = getAtributosComFadiga(p);
+        for (int i = 0; i < s.linha.length; i++) {
+            PlayerAttributes attrs = s.atributos[i];
+            double fator = fatigueSystem.energiaParaFatorFadiga(energiaJogadores.getOrDefault(s.linha[i], 100.0));
+            double fatorTecnico = Math.sqrt(fator);
+            int passe = (int) (attrs.getPasse() * fatorTecnico);
 
-            if (p.getPosicao() == Position.VOLANTE || p.getPosicao() == Position.MEIA ||
-                    p.getPosicao() == Position.MEIA_ATACANTE) {
+            if (s.meioCampo[i]) {
                 // Meias: Passe + Visão + Decisões
-                int contribuicao = (attrs.getPasse() + attrs.getVisao() + attrs.getDecisoes()) / 3;
+                double fatorMental = 0.7 + (fator * 0.3);
+                int contribuicao = (passe + (int) (attrs.getVisao() * fatorMental)
+                        + (int) (attrs.getDecisoes() * fatorMental)) / 3;
                 soma += contribuicao * 2;
                 count += 2;
             } else {
                 // Outros: Passe + Técnica
-                soma += (attrs.getPasse() + attrs.getTecnica()) / 2;
+                soma += (passe + (int) (attrs.getTecnica() * fatorTecnico)) / 2;
                 count++;
             }
         }
@@ -320,7 +544,7 @@ public class MatchEngine {
 
         // Fase 2: Finalização
         Player finalizador = selecionarFinalizador(atacante);
-        Player goleiro = defensor.getGoleiro();
+        Player goleiro = getSetores(defensor).goleiro;
         Player defensorProximo = selecionarMarcador(defensor);
 
         if (finalizador == null || goleiro == null)
@@ -396,8 +620,10 @@ public class MatchEngine {
         } else {
             // Defesa ou fora
             if (random.nextDouble() < attrsGoleiro.getReflexos() / 250.0) {
-                match.addEvento(new MatchEvent(minuto, MatchEvent.TipoEvento.DEFESA_DIFICIL, defensor, goleiro));
+                match.addEvento(minuto, MatchEvent.TipoEvento.DEFESA_DIFICIL, defensor, goleiro, null);
                 notasJogadores.merge(goleiro, 0.3, Double::sum);
+            } else {
+                match.addEvento(minuto, MatchEvent.TipoEvento.CHUTE_PARA_FORA, atacante, finalizador, null);
             }
         }
 
@@ -415,84 +641,34 @@ public class MatchEngine {
     }
 
     private Player selecionarCriador(Team team) {
-        List<Player> candidatos = new ArrayList<>();
-        for (Player p : team.getTitulares()) {
-            if (!p.isGoleiro() && !p.getPosicao().isDefensiva()) {
-                candidatos.add(p);
-            }
-        }
-        if (candidatos.isEmpty()) {
-            candidatos.addAll(team.getTitulares());
-            candidatos.removeIf(Player::isGoleiro);
-        }
-        if (candidatos.isEmpty())
-            return null;
-
         // Pondera por Visão + Passe (ATRIBUTOS!)
-        int total = 0;
-        for (Player p : candidatos) {
-            PlayerAttributes attrs = atributosEfetivos.get(p);
-            total += attrs.getVisao() + attrs.getPasse();
-        }
-
-        int sorteio = random.nextInt(Math.max(1, total));
-        int acumulado = 0;
-
-        for (Player p : candidatos) {
-            PlayerAttributes attrs = atributosEfetivos.get(p);
-            acumulado += attrs.getVisao() + attrs.getPasse();
-            if (sorteio < acumulado)
-                return p;
-        }
-
-        return candidatos.get(0);
+        Setores s = getSetores(team);
+        return sortear(s.criadores, s.acumuladoCriador);
     }
 
     private Player selecionarFinalizador(Team team) {
-        List<Player> candidatos = new ArrayList<>();
-        for (Player p : team.getTitulares()) {
-            if (!p.isGoleiro())
-                candidatos.add(p);
-        }
-        if (candidatos.isEmpty())
-            return null;
-
         // Pondera por Finalização + Sem Bola (ATRIBUTOS!)
-        int total = 0;
-        for (Player p : candidatos) {
-            PlayerAttributes attrs = atributosEfetivos.get(p);
-            int peso = attrs.getFinalizacao() + attrs.getSemBola();
-            if (p.getPosicao().isOfensiva())
-                peso += 40;
-            total += peso;
-        }
+        Setores s = getSetores(team);
+        return sortear(s.linha, s.acumuladoFinalizador);
+    }
 
-        int sorteio = random.nextInt(Math.max(1, total));
-        int acumulado = 0;
+    private Player sortear(Player[] candidatos, int[] acumulado) {
+        if (candidatos.length == 0)
+            return null;
 
-        for (Player p : candidatos) {
-            PlayerAttributes attrs = atributosEfetivos.get(p);
-            int peso = attrs.getFinalizacao() + attrs.getSemBola();
-            if (p.getPosicao().isOfensiva())
-                peso += 40;
-            acumulado += peso;
-            if (sorteio < acumulado)
-                return p;
+        int sorteio = random.nextInt(Math.max(1, acumulado[acumulado.length - 1]));
+        for (int i = 0; i < candidatos.length; i++) {
+            if (sorteio < acumulado[i])
+                return candidatos[i];
         }
-
-        return candidatos.get(0);
+        return candidatos[0];
     }
 
     private Player selecionarMarcador(Team team) {
-        List<Player> defensores = new ArrayList<>();
-        for (Player p : team.getTitulares()) {
-            if (p.getPosicao().isDefensiva() || p.getPosicao() == Position.VOLANTE) {
-                defensores.add(p);
-            }
-        }
-        if (defensores.isEmpty())
+        Player[] defensores = getSetores(team).marcadores;
+        if (defensores.length == 0)
             return null;
-        return defensores.get(random.nextInt(defensores.size()));
+        return defensores[random.nextInt(defensores.length)];
     }
 
     private Player selecionarAssistente(Team team, Player finalizador) {
@@ -551,6 +727,7 @@ public class MatchEngine {
                 notasJogadores.merge(faltoso, -0.5, Double::sum);
             } else {
                 match.registrarCartaoVermelho(time, faltoso);
+                setores.remove(time);
                 notasJogadores.put(faltoso, 2.0);
                 // Toca som de expulsão
                 if (soundSystem != null) {
@@ -618,11 +795,9 @@ public class MatchEngine {
 
     private int calcularAcrescimos() {
         int base = 2;
-        base += match.getEventos().stream()
-                .filter(e -> e.getTipo() == MatchEvent.TipoEvento.GOL ||
-                        e.getTipo() == MatchEvent.TipoEvento.CARTAO_VERMELHO ||
-                        e.getTipo() == MatchEvent.TipoEvento.SUBSTITUICAO)
-                .count() / 2;
+        base += (match.contarEventos(MatchEvent.TipoEvento.GOL)
+                + match.contarEventos(MatchEvent.TipoEvento.CARTAO_VERMELHO)
+                + match.contarEventos(MatchEvent.TipoEvento.SUBSTITUICAO)) / 2;
         return Math.min(7, base + random.nextInt(2));
     }
 
@@ -0,0 +1,325 @@
+package com.brasfm.engine;
+
+import com.brasfm.model.*;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Busca de jogadores parecidos ("encontrar jogadores como X").
+ *
+ * Cada jogador vira um vetor com as habilidades normalizadas para 0-1 e os
+ * vetores são organizados numa árvore k-d implícita (os próprios arrays são
+ * reordenados; o nó de um intervalo é o elemento do meio). A busca dos k mais
+ * próximos descarta subárvores inteiras pela distância ao plano de corte.
+ *
+ * O índice é um retrato: quem monta deve reconstruí-lo quando as habilidades
+ * mudam (o mercado faz isso no início de cada semana).
+ */
+public class PlayerSimilarityIndex {
+
+    /** forca, goleiro, agilidade, passe, armacao, desarme, finalizacao, tecnica */
+    public static final int DIMENSOES = 8;
+
+    private static final int FOLHA = 8;
+
+    private Player[] jogadores = new Player[0];
+    private float[] pontos = new float[0];
+    private byte[] eixos = new byte[0];
+
+    /**
+     * Monta o índice a partir dos jogadores.
+     */
+    public void construir(Collection<Player> todos) {
+        int n = todos.size();
+        jogadores = todos.toArray(new Player[0]);
+        pontos = new float[n * DIMENSOES];
+        eixos = new byte[n];
+        for (int i = 0; i < n; i++) {
+            preencher(jogadores[i], pontos, i * DIMENSOES);
+        }
+        construir(0, n);
+    }
+
+    public int getTamanho() {
+        return jogadores.length;
+    }
+
+    /**
+     * Os k jogadores mais parecidos com o jogador dado, do mais próximo ao
+     * mais distante. O próprio jogador não entra.
+     *
+     * @param filtro null para aceitar todos
+     */
+    public List<Player> buscarSemelhantes(Player jogador, int k, Predicate<Player> filtro) {
+        Predicate<Player> semOProprio = p -> p != jogador && (filtro == null || filtro.test(p));
+        return buscar(vetor(jogador), k, semOProprio);
+    }
+
+    /**
+     * Os k jogadores mais próximos de um perfil de atributos expandidos.
+     */
+    public List<Player> buscarSemelhantes(PlayerAttributes perfil, int k, Predicate<Player> filtro) {
+        return buscar(vetor(perfil), k, filtro);
+    }
+
+    public List<Player> buscar(float[] alvo, int k, Predicate<Player> filtro) {
+        Busca b = new Busca(alvo, k, filtro);
+        if (k > 0) {
+            visitar(0, jogadores.length, b);
+        }
+
+        // Heap sai do mais distante para o mais próximo
+        Player[] ordem = new Player[b.tamanho];
+        for (int i = b.tamanho - 1; i >= 0; i--) {
+            ordem[i] = jogadores[b.removerPior()];
+        }
+        return Arrays.asList(ordem);
+    }
+
+    /**
+     * Filtro que só aceita jogadores que a rede conhece pelo menos no nível dado.
+     */
+    public static Predicate<Player> conhecidos(ScoutingNetwork rede, PlayerKnowledge.NivelConhecimento minimo) {
+        return p -> {
+            PlayerKnowledge pk = rede.getConhecimento(p);
+            return pk != null && pk.getNivel().getNivel() >= minimo.getNivel();
+        };
+    }
+
+    // ==================== VETORES ====================
+
+    public static float[] vetor(Player p) {
+        float[] v = new float[DIMENSOES];
+        preencher(p, v, 0);
+        return v;
+    }
+
+    /**
+     * Projeta os atributos expandidos nas mesmas dimensões do {@link Player}.
+     */
+    public static float[] vetor(PlayerAttributes a) {
+        return new float[] {
+                a.calcularForcaGeral() / 100f,
+                a.getGoleiro() / 100f,
+                a.getAgilidade() / 100f,
+                a.getPasse() / 100f,
+                a.getVisao() / 100f,
+                a.getDesarme() / 100f,
+                a.getFinalizacao() / 100f,
+                a.getTecnica() / 100f
+        };
+    }
+
+    private static void preencher(Player p, float[] destino, int base) {
+        destino[base] = p.getForca() / 100f;
+        destino[base + 1] = p.getGoleiro() / 100f;
+        destino[base + 2] = p.getAgilidade() / 100f;
+        destino[base + 3] = p.getPasse() / 100f;
+        destino[base + 4] = p.getArmacao() / 100f;
+        destino[base + 5] = p.getDesarme() / 100f;
+        destino[base + 6] = p.getFinalizacao() / 100f;
+        destino[base + 7] = p.getTecnica() / 100f;
+    }
+
+    // ==================== ÁRVORE ====================
+
+    private void construir(int lo, int hi) {
+        if (hi - lo <= FOLHA)
+            return;
+
+        int eixo = eixoDeMaiorAmplitude(lo, hi);
+        int meio = (lo + hi) >>> 1;
+        selecionar(lo, hi - 1, meio, eixo);
+        eixos[meio] = (byte) eixo;
+
+        construir(lo, meio);
+        construir(meio + 1, hi);
+    }
+
+    private int eixoDeMaiorAmplitude(int lo, int hi) {
+        int melhor = 0;
+        float maior = -1;
+        for (int d = 0; d < DIMENSOES; d++) {
+            float min = Float.MAX_VALUE;
+            float max = -Float.MAX_VALUE;
+            for (int i = lo; i < hi; i++) {
+                float v = pontos[i * DIMENSOES + d];
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            if (max - min > maior) {
+                maior = max - min;
+                melhor = d;
+            }
+        }
+        return melhor;
+    }
+
+    /**
+     * Quickselect: deixa em k o elemento que estaria lá se [lo, hi] fosse
+     * ordenado pelo eixo, com menores à esquerda e maiores à direita.
+     */
+    private void selecionar(int lo, int hi, int k, int eixo) {
+        while (lo < hi) {
+            float pivo = pontos[((lo + hi) >>> 1) * DIMENSOES + eixo];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (pontos[i * DIMENSOES + eixo] < pivo)
+                    i++;
+                while (pontos[j * DIMENSOES + eixo] > pivo)
+                    j--;
+                if (i <= j) {
+                    trocar(i++, j--);
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void trocar(int a, int b) {
+        Player p = jogadores[a];
+        jogadores[a] = jogadores[b];
+        jogadores[b] = p;
+        int ia = a * DIMENSOES;
+        int ib = b * DIMENSOES;
+        for (int d = 0; d < DIMENSOES; d++) {
+            float t = pontos[ia + d];
+            pontos[ia + d] = pontos[ib + d];
+            pontos[ib + d] = t;
+        }
+    }
+
+    private void visitar(int lo, int hi, Busca b) {
+        if (hi - lo <= FOLHA) {
+            for (int i = lo; i < hi; i++) {
+                b.considerar(i, distancia(b.alvo, i));
+            }
+            return;
+        }
+
+        int meio = (lo + hi) >>> 1;
+        int eixo = eixos[meio];
+        b.considerar(meio, distancia(b.alvo, meio));
+
+        float diferenca = b.alvo[eixo] - pontos[meio * DIMENSOES + eixo];
+        boolean esquerdaPrimeiro = diferenca < 0;
+        if (esquerdaPrimeiro) {
+            visitar(lo, meio, b);
+        } else {
+            visitar(meio + 1, hi, b);
+        }
+
+        // O outro lado só interessa se o plano de corte está mais perto que o pior
+        if (!b.cheia() || diferenca * diferenca < b.pior()) {
+            if (esquerdaPrimeiro) {
+                visitar(meio + 1, hi, b);
+            } else {
+                visitar(lo, meio, b);
+            }
+        }
+    }
+
+    private float distancia(float[] alvo, int i) {
+        int base = i * DIMENSOES;
+        float soma = 0;
+        for (int d = 0; d < DIMENSOES; d++) {
+            float diff = alvo[d] - pontos[base + d];
+            soma += diff * diff;
+        }
+        return soma;
+    }
+
+    /**
+     * Estado de uma consulta: max-heap dos k melhores pela distância.
+     */
+    private class Busca {
+        final float[] alvo;
+        final Predicate<Player> filtro;
+        final int[] itens;
+        final float[] distancias;
+        int tamanho;
+
+        Busca(float[] alvo, int k, Predicate<Player> filtro) {
+            this.alvo = alvo;
+            this.filtro = filtro;
+            this.itens = new int[Math.max(0, k)];
+            this.distancias = new float[Math.max(0, k)];
+        }
+
+        boolean cheia() {
+            return tamanho == itens.length;
+        }
+
+        float pior() {
+            return distancias[0];
+        }
+
+        void considerar(int i, float dist) {
+            if (cheia() && dist >= pior())
+                return;
+            if (filtro != null && !filtro.test(jogadores[i]))
+                return;
+
+            if (cheia()) {
+                itens[0] = i;
+                distancias[0] = dist;
+                descer(0);
+            } else {
+                itens[tamanho] = i;
+                distancias[tamanho] = dist;
+                subir(tamanho++);
+            }
+        }
+
+        int removerPior() {
+            int pior = itens[0];
+            tamanho--;
+            itens[0] = itens[tamanho];
+            distancias[0] = distancias[tamanho];
+            descer(0);
+            return pior;
+        }
+
+        private void subir(int i) {
+            while (i > 0) {
+                int pai = (i - 1) / 2;
+                if (distancias[pai] >= distancias[i])
+                    return;
+                trocar(i, pai);
+                i = pai;
+            }
+        }
+
+        private void descer(int i) {
+            while (true) {
+                int maior = i;
+                int e = 2 * i + 1;
+                int d = e + 1;
+                if (e < tamanho && distancias[e] > distancias[maior])
+                    maior = e;
+                if (d < tamanho && distancias[d] > distancias[maior])
+                    maior = d;
+                if (maior == i)
+                    return;
+                trocar(i, maior);
+                i = maior;
+            }
+        }
+
+        private void trocar(int a, int b) {
+            int t = itens[a];
+            itens[a] = itens[b];
+            itens[b] = t;
+            float f = distancias[a];
+            distancias[a] = distancias[b];
+            distancias[b] = f;
+        }
+    }
+}
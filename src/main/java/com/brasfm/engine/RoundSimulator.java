@@ -0,0 +1,155 @@
+package com.brasfm.engine;
+
+import com.brasfm.model.*;
+import com.brasfm.social.MoraleSystem;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Simula os demais jogos de uma rodada junto com a partida assistida.
+ *
+ * Cada jogo tem o próprio {@link MatchEngine} e é jogado direto na partida
+ * do calendário, então o resultado fica registrado assim que o jogo termina.
+ * A cada minuto da partida assistida, {@link #avancarAte(int)} leva todos os
+ * outros jogos até o mesmo minuto em paralelo num executor próprio. Os jogos
+ * não dividem times nem jogadores, então não há estado compartilhado entre
+ * as tarefas.
+ */
+public class RoundSimulator {
+
+    private static class Jogo {
+        final Match partida;
+        final MatchEngine motor;
+
+        Jogo(Match partida, MatchEngine motor) {
+            this.partida = partida;
+            this.motor = motor;
+        }
+    }
+
+    private final List<Jogo> jogos = new ArrayList<>();
+    private final ExecutorService executor;
+    private Executor despachoUi;
+    private BiConsumer<Match, MatchEvent> onGol;
+    private Consumer<Match> onFim;
+
+    /**
+     * @param partidas jogos a simular; os já finalizados são ignorados
+     * @param moral    sistema de moral do mundo, ou null
+     */
+    public RoundSimulator(List<Match> partidas, MoraleSystem moral) {
+        for (Match m : partidas) {
+            if (m.isFinalizada())
+                continue;
+            MatchEngine motor = new MatchEngine();
+            motor.setMoraleSystem(moral);
+            motor.iniciar(m, false);
+            jogos.add(new Jogo(m, motor));
+        }
+
+        int threads = Math.max(1, Math.min(jogos.size(), Runtime.getRuntime().availableProcessors()));
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "rodada");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Callbacks para o placar ao vivo: cada gol e cada jogo encerrado.
+     */
+    public void setCallbacks(BiConsumer<Match, MatchEvent> onGol, Consumer<Match> onFim) {
+        this.onGol = onGol;
+        this.onFim = onFim;
+    }
+
+    /**
+     * Executor que entrega os callbacks à UI. Null para rodar na thread do jogo.
+     */
+    public void setDespachoUi(Executor despachoUi) {
+        this.despachoUi = despachoUi;
+    }
+
+    /**
+     * Joga todos os jogos até o minuto dado (ou até o fim, se acabarem
+     * antes) e só retorna quando todos chegaram lá.
+     */
+    public void avancarAte(int minuto) {
+        List<Callable<Void>> tarefas = new ArrayList<>();
+        for (Jogo j : jogos) {
+            if (!j.motor.isFinalizada() && j.motor.getMinuto() < minuto) {
+                tarefas.add(() -> {
+                    avancar(j, minuto);
+                    return null;
+                });
+            }
+        }
+        if (tarefas.isEmpty())
+            return;
+
+        try {
+            for (Future<Void> f : executor.invokeAll(tarefas)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao simular jogo da rodada", e.getCause());
+        }
+    }
+
+    /**
+     * Joga todos os jogos até o apito final.
+     */
+    public void terminar() {
+        avancarAte(Integer.MAX_VALUE);
+    }
+
+    private void avancar(Jogo j, int minuto) {
+        while (!j.motor.isFinalizada() && j.motor.getMinuto() < minuto) {
+            for (MatchEvent e : j.motor.avancarMinuto()) {
+                if (onGol != null && (e.getTipo() == MatchEvent.TipoEvento.GOL
+                        || e.getTipo() == MatchEvent.TipoEvento.GOL_CONTRA)) {
+                    despachar(() -> onGol.accept(j.partida, e));
+                }
+            }
+        }
+        if (j.motor.isFinalizada() && onFim != null) {
+            despachar(() -> onFim.accept(j.partida));
+        }
+    }
+
+    private void despachar(Runnable callback) {
+        if (despachoUi != null) {
+            despachoUi.execute(callback);
+        } else {
+            callback.run();
+        }
+    }
+
+    public List<Match> getPartidas() {
+        List<Match> partidas = new ArrayList<>();
+        for (Jogo j : jogos) {
+            partidas.add(j.partida);
+        }
+        return partidas;
+    }
+
+    public boolean isTerminada() {
+        for (Jogo j : jogos) {
+            if (!j.motor.isFinalizada())
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Libera as threads. Jogos não terminados ficam como estão, no meio do
+     * jogo: chame {@link #terminar()} antes se a rodada não acabou.
+     */
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+}
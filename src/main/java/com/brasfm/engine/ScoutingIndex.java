@@ -0,0 +1,236 @@
+package com.brasfm.engine;
+
+import com.brasfm.model.*;
+import com.brasfm.model.enums.Position;
+import java.util.*;
+
+/**
+ * Índice do conhecimento de scouting por região, posição e idade.
+ *
+ * Cada balde guarda os jogadores ordenados pelo teto estimado de força, então
+ * a busca por força mínima é uma busca binária no balde seguida da cópia do
+ * sufixo. Jogadores sem estimativa ficam com teto máximo e sempre aparecem,
+ * como na busca linear que o índice substitui.
+ *
+ * O índice é atualizado a cada observação pela {@link ScoutingNetwork}, e
+ * toda semana a rede reposiciona quem mudou de versão (idade, posição) com
+ * {@link #revalidar()}. Entre uma coisa e outra um jogador pode estar no
+ * balde da idade antiga: a busca olha também as idades vizinhas da faixa
+ * pedida e filtra pela idade atual.
+ */
+public class ScoutingIndex {
+
+    /** Região dos jogadores conhecidos sem olheiro (ex.: elenco próprio). */
+    public static final String SEM_REGIAO = "";
+
+    private static final int IDADE_MIN = 14;
+    private static final int IDADE_MAX = 45;
+    private static final int FAIXAS_IDADE = IDADE_MAX - IDADE_MIN + 1;
+
+    private final Map<String, Map<Position, Balde[]>> baldes = new HashMap<>();
+    private final Map<PlayerKnowledge, Entrada> entradas = new IdentityHashMap<>();
+
+    /**
+     * Insere ou reposiciona o conhecimento depois de uma observação.
+     */
+    public void atualizar(PlayerKnowledge pk) {
+        Player p = pk.getJogador();
+        Balde balde = balde(regiao(pk), p.getPosicaoOriginal(), p.getIdade());
+        int chave = pk.getForcaMaxEstimada();
+
+        Entrada atual = entradas.get(pk);
+        if (atual != null) {
+            atual.versao = p.getVersao();
+            if (atual.balde == balde && atual.chave == chave)
+                return;
+            atual.balde.remover(atual.chave, pk);
+        } else {
+            atual = new Entrada();
+            atual.versao = p.getVersao();
+            entradas.put(pk, atual);
+        }
+
+        balde.inserir(chave, pk);
+        atual.balde = balde;
+        atual.chave = chave;
+    }
+
+    public void remover(PlayerKnowledge pk) {
+        Entrada e = entradas.remove(pk);
+        if (e != null) {
+            e.balde.remover(e.chave, pk);
+        }
+    }
+
+    /**
+     * Reposiciona os jogadores que mudaram desde que entraram no índice. Só
+     * compara a versão de cada jogador, então é uma passada barata.
+     */
+    public void revalidar() {
+        List<PlayerKnowledge> mudaram = new ArrayList<>();
+        for (Map.Entry<PlayerKnowledge, Entrada> e : entradas.entrySet()) {
+            if (e.getKey().getJogador().getVersao() != e.getValue().versao) {
+                mudaram.add(e.getKey());
+            }
+        }
+        for (PlayerKnowledge pk : mudaram) {
+            atualizar(pk);
+        }
+    }
+
+    /**
+     * Refaz o índice do zero (virada de temporada, carga de save).
+     */
+    public void reconstruir(Collection<PlayerKnowledge> conhecimento) {
+        baldes.clear();
+        entradas.clear();
+        for (PlayerKnowledge pk : conhecimento) {
+            atualizar(pk);
+        }
+    }
+
+    /**
+     * Jogadores da região (mais os sem região) que atendem aos filtros, pela
+     * idade atual de cada um.
+     *
+     * @param regiao  null para todas
+     * @param posicao null para todas
+     */
+    public List<PlayerKnowledge> buscar(String regiao, Position posicao, int idadeMin, int idadeMax,
+            int forcaMinEstimada) {
+        List<PlayerKnowledge> resultado = new ArrayList<>();
+        if (idadeMin > idadeMax)
+            return resultado;
+        // Um balde a mais de cada lado: quem fez aniversário desde a última revalidação
+        Filtro filtro = new Filtro(idadeMin, idadeMax, forcaMinEstimada);
+        int de = Math.max(IDADE_MIN, Math.min(IDADE_MAX, idadeMin - 1)) - IDADE_MIN;
+        int ate = Math.min(IDADE_MAX, Math.max(IDADE_MIN, idadeMax + 1)) - IDADE_MIN;
+
+        if (regiao == null) {
+            for (Map<Position, Balde[]> porPosicao : baldes.values()) {
+                coletar(porPosicao, posicao, de, ate, filtro, resultado);
+            }
+            return resultado;
+        }
+        coletar(baldes.get(regiao.toLowerCase()), posicao, de, ate, filtro, resultado);
+        if (!regiao.isEmpty()) {
+            coletar(baldes.get(SEM_REGIAO), posicao, de, ate, filtro, resultado);
+        }
+        return resultado;
+    }
+
+    public int getTamanho() {
+        return entradas.size();
+    }
+
+    private void coletar(Map<Position, Balde[]> porPosicao, Position posicao, int de, int ate, Filtro filtro,
+            List<PlayerKnowledge> destino) {
+        if (porPosicao == null)
+            return;
+
+        if (posicao != null) {
+            coletar(porPosicao.get(posicao), de, ate, filtro, destino);
+            return;
+        }
+        for (Balde[] porIdade : porPosicao.values()) {
+            coletar(porIdade, de, ate, filtro, destino);
+        }
+    }
+
+    private void coletar(Balde[] porIdade, int de, int ate, Filtro filtro, List<PlayerKnowledge> destino) {
+        if (porIdade == null)
+            return;
+
+        for (int i = de; i <= ate; i++) {
+            Balde b = porIdade[i];
+            if (b == null)
+                continue;
+            for (int j = b.inicio(filtro.forcaMin); j < b.tamanho; j++) {
+                int idade = b.itens[j].getJogador().getIdade();
+                if (idade >= filtro.idadeMin && idade <= filtro.idadeMax) {
+                    destino.add(b.itens[j]);
+                }
+            }
+        }
+    }
+
+    private Balde balde(String regiao, Position posicao, int idade) {
+        Balde[] porIdade = baldes.computeIfAbsent(regiao, k -> new EnumMap<>(Position.class))
+                .computeIfAbsent(posicao, k -> new Balde[FAIXAS_IDADE]);
+        int i = Math.max(IDADE_MIN, Math.min(IDADE_MAX, idade)) - IDADE_MIN;
+        if (porIdade[i] == null) {
+            porIdade[i] = new Balde();
+        }
+        return porIdade[i];
+    }
+
+    private static String regiao(PlayerKnowledge pk) {
+        return pk.getRegiao() != null ? pk.getRegiao() : SEM_REGIAO;
+    }
+
+    private static class Entrada {
+        Balde balde;
+        int chave;
+        int versao; // do jogador quando foi posto no balde
+    }
+
+    private static class Filtro {
+        final int idadeMin;
+        final int idadeMax;
+        final int forcaMin;
+
+        Filtro(int idadeMin, int idadeMax, int forcaMin) {
+            this.idadeMin = idadeMin;
+            this.idadeMax = idadeMax;
+            this.forcaMin = forcaMin;
+        }
+    }
+
+    /**
+     * Conhecimentos ordenados pelo teto estimado de força.
+     */
+    private static class Balde {
+        int[] chaves = new int[8];
+        PlayerKnowledge[] itens = new PlayerKnowledge[8];
+        int tamanho;
+
+        /** Primeira posição com chave >= forcaMin. */
+        int inicio(int forcaMin) {
+            int lo = 0;
+            int hi = tamanho;
+            while (lo < hi) {
+                int meio = (lo + hi) >>> 1;
+                if (chaves[meio] < forcaMin) {
+                    lo = meio + 1;
+                } else {
+                    hi = meio;
+                }
+            }
+            return lo;
+        }
+
+        void inserir(int chave, PlayerKnowledge pk) {
+            if (tamanho == chaves.length) {
+                chaves = Arrays.copyOf(chaves, tamanho * 2);
+                itens = Arrays.copyOf(itens, tamanho * 2);
+            }
+            int pos = inicio(chave + 1); // depois dos iguais: mantém ordem de chegada
+            System.arraycopy(chaves, pos, chaves, pos + 1, tamanho - pos);
+            System.arraycopy(itens, pos, itens, pos + 1, tamanho - pos);
+            chaves[pos] = chave;
+            itens[pos] = pk;
+            tamanho++;
+        }
+
+        void remover(int chave, PlayerKnowledge pk) {
+            for (int i = inicio(chave); i < tamanho && chaves[i] == chave; i++) {
+                if (itens[i] == pk) {
+                    System.arraycopy(chaves, i + 1, chaves, i, tamanho - i - 1);
+                    System.arraycopy(itens, i + 1, itens, i, tamanho - i - 1);
+                    itens[--tamanho] = null;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -2,16 +2,31 @@ package com.brasfm.engine;
 
 import com.brasfm.model.*;
 import java.util.*;
+import java.util.stream.IntStream;
 
 /**
  * Gerencia a rede de olheiros e o conhecimento do clube sobre jogadores
  * externos.
+ *
+ * A semana é processada em três passos: os olheiros em missão são agrupados
+ * por alvo; cada grupo observa com um Random próprio por olheiro e semana
+ * da rede (em paralelo quando há grupos suficientes, já que grupos não
+ * compartilham conhecimento); por fim o
+ * estado dos olheiros e o índice são atualizados em ordem. O resultado não
+ * depende de quantas threads participaram.
  */
 public class ScoutingNetwork {
 
+    /** Abaixo disso o custo de dividir o trabalho não compensa. */
+    private static final int MINIMO_PARALELO = 64;
+
     private List<Scout> olheiros = new ArrayList<>();
     private Map<Player, PlayerKnowledge> conhecimento = new HashMap<>();
     private Map<Player, PlayerStats> estatisticas = new HashMap<>();
+    private ScoutingIndex indice = new ScoutingIndex();
+
+    // Semanas já processadas pela rede; entra na semente e na data das observações
+    private int semanasProcessadas;
 
     // Orçamento de scouting
     private long orcamentoAnual;
@@ -84,12 +99,83 @@ public class ScoutingNetwork {
      * Processa passagem de semana para todos os olheiros.
      */
     public List<PlayerKnowledge> passarSemana() {
-        List<PlayerKnowledge> relatoriosCompletos = new ArrayList<>();
+        List<Grupo> grupos = prepararSemana(semanasProcessadas++);
+        observar(grupos);
+        return concluirSemana(grupos);
+    }
+
+    /**
+     * Processa a semana de várias redes (ex.: todos os clubes da IA) numa
+     * única passada paralela sobre os grupos de observação.
+     */
+    public static void processarSemana(List<ScoutingNetwork> redes) {
+        List<Grupo> grupos = new ArrayList<>();
+        List<List<Grupo>> porRede = new ArrayList<>(redes.size());
+        for (ScoutingNetwork rede : redes) {
+            List<Grupo> g = rede.prepararSemana(rede.semanasProcessadas++);
+            porRede.add(g);
+            grupos.addAll(g);
+        }
+
+        observar(grupos);
+
+        for (int i = 0; i < redes.size(); i++) {
+            redes.get(i).concluirSemana(porRede.get(i));
+        }
+    }
+
+    /**
+     * Olheiros que observam o mesmo jogador, na ordem da rede.
+     */
+    private static class Grupo {
+        final PlayerKnowledge conhecimento;
+        final List<Scout> olheiros = new ArrayList<>(1);
+        final int semana;
+
+        Grupo(PlayerKnowledge conhecimento, int semana) {
+            this.conhecimento = conhecimento;
+            this.semana = semana;
+        }
+
+        void observar() {
+            for (Scout s : olheiros) {
+                s.observar(conhecimento, new Random(sementeSemana(s.getSemente(), semana)), semana);
+            }
+        }
+    }
+
+    private List<Grupo> prepararSemana(int semana) {
+        Map<Player, Grupo> porAlvo = new LinkedHashMap<>();
+        for (Scout s : olheiros) {
+            if (!s.isObservandoNestaSemana())
+                continue;
+            Player alvo = s.getAlvoAtual();
+            porAlvo.computeIfAbsent(alvo,
+                    p -> new Grupo(conhecimento.computeIfAbsent(p, PlayerKnowledge::new), semana))
+                    .olheiros.add(s);
+        }
+        return new ArrayList<>(porAlvo.values());
+    }
+
+    private static void observar(List<Grupo> grupos) {
+        IntStream indices = IntStream.range(0, grupos.size());
+        if (grupos.size() >= MINIMO_PARALELO) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> grupos.get(i).observar());
+    }
+
+    private List<PlayerKnowledge> concluirSemana(List<Grupo> grupos) {
+        for (Grupo g : grupos) {
+            indice.atualizar(g.conhecimento);
+        }
+        indice.revalidar();
 
+        List<PlayerKnowledge> relatoriosCompletos = new ArrayList<>();
         for (Scout s : olheiros) {
-            PlayerKnowledge pk = s.passarSemana(conhecimento);
-            if (pk != null) {
-                relatoriosCompletos.add(pk);
+            Player concluido = s.passarSemana();
+            if (concluido != null && conhecimento.containsKey(concluido)) {
+                relatoriosCompletos.add(conhecimento.get(concluido));
             }
         }
 
@@ -99,6 +185,16 @@ public class ScoutingNetwork {
         return relatoriosCompletos;
     }
 
+    /**
+     * Semente do stream de um olheiro numa semana (mistura splitmix64).
+     */
+    private static long sementeSemana(long semente, int semana) {
+        long x = semente + 0x9E3779B97F4A7C15L * (semana + 1L);
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
+    }
+
     /**
      * Retorna nível de conhecimento sobre um jogador.
      */
@@ -119,6 +215,14 @@ public class ScoutingNetwork {
     public void registrarConhecimentoTotal(Player jogador) {
         PlayerKnowledge pk = conhecimento.computeIfAbsent(jogador, PlayerKnowledge::new);
         pk.setNivel(PlayerKnowledge.NivelConhecimento.TOTAL);
+        indice.atualizar(pk);
+    }
+
+    /**
+     * Virada de temporada: as idades mudaram, então o índice é refeito.
+     */
+    public void novaTemporada() {
+        indice.reconstruir(conhecimento.values());
     }
 
     /**
@@ -139,6 +243,8 @@ public class ScoutingNetwork {
 
     /**
      * Busca jogadores por critérios (limitado pelo conhecimento).
+     * A região só decide se a busca é possível (precisa ter olheiros nela);
+     * o resultado inclui todo jogador conhecido, observado onde for.
      */
     public List<Player> buscarJogadores(
             String regiao,
@@ -153,36 +259,15 @@ public class ScoutingNetwork {
             return resultados; // Nenhum resultado - sem cobertura
         }
 
-        // Filtra baseado no que sabemos
-        for (Map.Entry<Player, PlayerKnowledge> entry : conhecimento.entrySet()) {
-            Player p = entry.getKey();
-            PlayerKnowledge pk = entry.getValue();
+        List<PlayerKnowledge> encontrados = indice.buscar(null, posicao, idadeMin, idadeMax, forcaMinEstimada);
 
-            // Filtros básicos (sempre conhecidos)
-            if (posicao != null && p.getPosicaoOriginal() != posicao)
-                continue;
-            if (p.getIdade() < idadeMin || p.getIdade() > idadeMax)
-                continue;
-
-            // Força só pode ser filtrada se temos conhecimento
-            if (pk.getNivel().getNivel() >= 1) {
-                int[] forca = pk.getAtributosEstimados().get("forca");
-                if (forca != null && forca[1] < forcaMinEstimada)
-                    continue;
-            }
+        // Ordena por nível de conhecimento
+        encontrados.sort(Comparator.comparingInt((PlayerKnowledge pk) -> pk.getNivel().getNivel()).reversed());
 
-            resultados.add(p);
+        for (PlayerKnowledge pk : encontrados) {
+            resultados.add(pk.getJogador());
         }
 
-        // Ordena por nível de conhecimento
-        resultados.sort((a, b) -> {
-            PlayerKnowledge pkA = conhecimento.get(a);
-            PlayerKnowledge pkB = conhecimento.get(b);
-            return Integer.compare(
-                    pkB != null ? pkB.getNivel().getNivel() : 0,
-                    pkA != null ? pkA.getNivel().getNivel() : 0);
-        });
-
         return resultados;
     }
 
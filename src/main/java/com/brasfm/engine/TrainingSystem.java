@@ -2,13 +2,22 @@ package com.brasfm.engine;
 
 import com.brasfm.model.*;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 /**
  * Sistema de treino e desenvolvimento de jogadores.
  * Substitui o conceito de "loja de equipamentos" por desenvolvimento orgânico.
+ *
+ * Cada ponto de XP tem {@link #CHANCE_GANHO} de virar um ponto de atributo,
+ * então os ganhos de uma sessão seguem uma binomial. Em vez de sortear ponto a
+ * ponto, a binomial é amostrada por inversão com um único sorteio.
  */
 public class TrainingSystem {
 
+    /** Chance de cada ponto de XP virar um ponto de atributo. */
+    public static final double CHANCE_GANHO = 0.10;
+
     public enum TipoTreino {
         TATICO("Tático", "Melhora trabalho de equipa e posicionamento"),
         FISICO("Físico", "Melhora resistência, velocidade e força"),
@@ -80,29 +89,11 @@ public class TrainingSystem {
             IntensidadeTreino intensidade,
             ClubFacilities facilities,
             StaffMember treinadorRelevante) {
-        // XP base por sessão
-        double xpBase = 10;
-
-        // Modificador de intensidade
-        xpBase *= intensidade.getFatorEvolucao();
-
-        // Modificador de idade (jovens evoluem mais)
-        double fatorIdade = calcularFatorIdade(jogador.getIdade());
-        xpBase *= fatorIdade;
-
-        // Modificador de personalidade (profissionalismo)
-        xpBase *= personality.getModificadorTreino();
-
-        // Modificador de instalações
-        xpBase *= facilities.getBonusTreino();
-
-        // Modificador do treinador específico
-        if (treinadorRelevante != null) {
-            xpBase *= treinadorRelevante.getBonusDesenvolvimento();
-        }
+        double xpClube = calcularXpClube(intensidade, facilities.getBonusTreino(), treinadorRelevante);
+        double xpBase = calcularXp(xpClube, jogador.getIdade(), personality);
 
         // Aplica evolução nos atributos relevantes
-        aplicarEvolucao(attrs, tipo, xpBase);
+        aplicarEvolucao(attrs, tipo, sortearGanhos(xpBase, random));
 
         // Aplica fadiga
         double fadigaBase = 10 * intensidade.getFatorFadiga();
@@ -125,11 +116,141 @@ public class TrainingSystem {
         return xpBase;
     }
 
+    /**
+     * Treina o elenco inteiro numa passada. Mesma conta de
+     * {@link #processarTreino}, aplicada às habilidades do próprio
+     * {@link Player}; o que depende só do clube é calculado uma vez.
+     * Jogadores contundidos não treinam.
+     *
+     * @return pontos de atributo ganhos pelo elenco
+     */
+    public int treinarElenco(Team time, TipoTreino tipo, IntensidadeTreino intensidade, Random random) {
+        ClubFacilities instalacoes = time.getInstalacoes();
+        StaffMember treinador = getTreinadorParaTreino(instalacoes, tipo);
+        double xpClube = calcularXpClube(intensidade, instalacoes.getBonusTreino(), treinador);
+        int fadiga = (int) (10 * intensidade.getFatorFadiga());
+        double chanceLesaoClube = intensidade == IntensidadeTreino.DUPLO
+                ? 0.02 * (1 - instalacoes.getReducaoChanceLesao())
+                : 0;
+
+        List<Player> jogadores = time.getJogadores();
+        int total = 0;
+        for (int i = 0, n = jogadores.size(); i < n; i++) {
+            Player p = jogadores.get(i);
+            if (p.isContundido())
+                continue;
+
+            PlayerPersonality pers = p.getPersonality();
+            int ganhos = sortearGanhos(calcularXp(xpClube, p.getIdade(), pers), random);
+            aplicarEvolucao(p, tipo, ganhos);
+            total += ganhos;
+
+            p.gastarEnergia(fadiga);
+
+            if (chanceLesaoClube > 0) {
+                double chance = chanceLesaoClube;
+                if (pers != null) {
+                    chance *= (1 - pers.getResistenciaLesao() / 40.0);
+                }
+                if (random.nextDouble() < chance) {
+                    p.setContundido(true);
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Treino semanal de todos os clubes, em paralelo por clube. Cada clube
+     * usa um Random derivado da semente e do seu índice, então o resultado
+     * não depende da ordem de execução.
+     *
+     * @return pontos de atributo ganhos no mundo
+     */
+    public int treinarClubes(List<Team> clubes, Function<Team, TipoTreino> plano, IntensidadeTreino intensidade,
+            long semente) {
+        return IntStream.range(0, clubes.size())
+                .parallel()
+                .map(i -> {
+                    Team t = clubes.get(i);
+                    return treinarElenco(t, plano.apply(t), intensidade, new Random(sementeClube(semente, i)));
+                })
+                .sum();
+    }
+
+    private static long sementeClube(long semente, int indice) {
+        long x = semente + 0x9E3779B97F4A7C15L * (indice + 1L);
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
+    }
+
+    /**
+     * Parte do XP de uma sessão que só depende do clube.
+     */
+    private double calcularXpClube(IntensidadeTreino intensidade, double bonusInstalacoes,
+            StaffMember treinadorRelevante) {
+        // XP base por sessão
+        double xpBase = 10;
+
+        // Modificador de intensidade
+        xpBase *= intensidade.getFatorEvolucao();
+
+        // Modificador de instalações
+        xpBase *= bonusInstalacoes;
+
+        // Modificador do treinador específico
+        if (treinadorRelevante != null) {
+            xpBase *= treinadorRelevante.getBonusDesenvolvimento();
+        }
+
+        return xpBase;
+    }
+
+    /**
+     * XP de uma sessão para o jogador.
+     *
+     * @param personality null para deixar o modificador de fora
+     */
+    private double calcularXp(double xpClube, int idade, PlayerPersonality personality) {
+        // Modificador de idade (jovens evoluem mais)
+        double xp = xpClube * calcularFatorIdade(idade);
+
+        // Modificador de personalidade (profissionalismo)
+        if (personality != null) {
+            xp *= personality.getModificadorTreino();
+        }
+        return xp;
+    }
+
+    /**
+     * Quantos dos (int) xp pontos viram atributo: amostra de
+     * Binomial((int) xp, CHANCE_GANHO) por inversão da distribuição
+     * acumulada. Um sorteio só, e o laço anda em média xp * 0.1 passos.
+     */
+    static int sortearGanhos(double xp, Random random) {
+        int n = (int) xp;
+        if (n <= 0)
+            return 0;
+
+        double razao = CHANCE_GANHO / (1 - CHANCE_GANHO);
+        double prob = Math.pow(1 - CHANCE_GANHO, n); // P(0)
+        double acumulada = prob;
+        double u = random.nextDouble();
+        int k = 0;
+        while (u >= acumulada && k < n) {
+            prob *= razao * (n - k) / (k + 1);
+            k++;
+            acumulada += prob;
+        }
+        return k;
+    }
+
     /**
      * Calcula o fator de evolução por idade.
      * Jogadores jovens evoluem mais, veteranos chegam ao platô.
      */
-    private double calcularFatorIdade(int idade) {
+    static double calcularFatorIdade(int idade) {
         if (idade <= 18) {
             return 1.5; // Potencial máximo
         } else if (idade <= 21) {
@@ -148,15 +269,7 @@ public class TrainingSystem {
     /**
      * Aplica evolução nos atributos baseado no tipo de treino.
      */
-    private void aplicarEvolucao(PlayerAttributes attrs, TipoTreino tipo, double xp) {
-        // Cada ponto de XP tem 10% de chance de aumentar um atributo em 1
-        int ganhos = 0;
-        for (int i = 0; i < (int) xp; i++) {
-            if (random.nextDouble() < 0.10) {
-                ganhos++;
-            }
-        }
-
+    private void aplicarEvolucao(PlayerAttributes attrs, TipoTreino tipo, int ganhos) {
         if (ganhos == 0)
             return;
 
@@ -208,6 +321,53 @@ public class TrainingSystem {
         }
     }
 
+    /**
+     * Versão para as habilidades do {@link Player}, que são menos detalhadas
+     * que os atributos expandidos.
+     */
+    private void aplicarEvolucao(Player p, TipoTreino tipo, int ganhos) {
+        if (ganhos == 0)
+            return;
+
+        switch (tipo) {
+            case TATICO:
+                p.setArmacao(Math.min(100, p.getArmacao() + ganhos));
+                p.setDesarme(Math.min(100, p.getDesarme() + ganhos / 2));
+                break;
+
+            case FISICO:
+                p.setAgilidade(Math.min(100, p.getAgilidade() + ganhos));
+                break;
+
+            case TECNICO:
+                p.setTecnica(Math.min(100, p.getTecnica() + ganhos));
+                p.setPasse(Math.min(100, p.getPasse() + ganhos / 2));
+                break;
+
+            case FINALIZACAO:
+                p.setFinalizacao(Math.min(100, p.getFinalizacao() + ganhos));
+                p.setTecnica(Math.min(100, p.getTecnica() + ganhos / 2));
+                break;
+
+            case DEFENSIVO:
+                p.setDesarme(Math.min(100, p.getDesarme() + ganhos));
+                break;
+
+            case GOLEIRO:
+                p.setGoleiro(Math.min(100, p.getGoleiro() + ganhos));
+                p.setAgilidade(Math.min(100, p.getAgilidade() + ganhos / 2));
+                break;
+
+            case RECUPERACAO:
+                // Não melhora atributos, apenas recupera energia
+                break;
+
+            case TATICO_ESPECIFICO:
+                p.setArmacao(Math.min(100, p.getArmacao() + ganhos));
+                break;
+        }
+    }
+
     /**
      * Processa treino de recuperação.
      */
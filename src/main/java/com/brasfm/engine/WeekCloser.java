@@ -0,0 +1,50 @@
+package com.brasfm.engine;
+
+import com.brasfm.economy.ContractScheduler;
+import com.brasfm.economy.FinanceSystem;
+import com.brasfm.model.*;
+import com.brasfm.social.MoraleSystem;
+import java.util.List;
+
+/**
+ * Fechamento da semana depois de cada rodada, o mesmo em qualquer janela
+ * que jogue o campeonato: moral, despesas fixas e fechamento do livro de
+ * cada clube, obras e estádio e, por último, o Calendario anda uma semana e
+ * a agenda dispara os contratos vencidos.
+ */
+public class WeekCloser {
+
+    private final List<Team> clubes;
+    private final MoraleSystem moral;
+    private final ContractScheduler agendaContratos;
+
+    /**
+     * A agenda começa com o contrato atual de todos os clubes; num save
+     * carregado isso a remonta a partir da semana de término de cada
+     * contrato, então ela não precisa ir para o save.
+     */
+    public WeekCloser(List<Team> clubes, MoraleSystem moral) {
+        this.clubes = clubes;
+        this.moral = moral;
+        this.agendaContratos = new ContractScheduler();
+        for (Team t : clubes) {
+            agendaContratos.registrarElenco(t);
+        }
+    }
+
+    /**
+     * Fecha a semana e devolve os eventos de contrato que venceram nela.
+     */
+    public List<ContractScheduler.Evento> fecharSemana() {
+        moral.processarSemana();
+        FinanceSystem.processarSemana(clubes);
+        for (Team t : clubes) {
+            t.passarSemana();
+        }
+        return agendaContratos.avancarSemana();
+    }
+
+    public ContractScheduler getAgendaContratos() {
+        return agendaContratos;
+    }
+}
@@ -0,0 +1,29 @@
+package com.brasfm.model;
+
+/**
+ * Relógio de semanas do jogo.
+ * Contratos guardam a semana em que terminam, então avançar o relógio não
+ * exige tocar em cada jogador.
+ */
+public final class Calendario {
+
+    private static volatile int semanaAtual;
+
+    private Calendario() {
+    }
+
+    public static int getSemanaAtual() {
+        return semanaAtual;
+    }
+
+    /**
+     * Usado ao carregar um save.
+     */
+    public static void setSemanaAtual(int semana) {
+        semanaAtual = semana;
+    }
+
+    public static int avancarSemana() {
+        return ++semanaAtual;
+    }
+}
@@ -51,6 +51,7 @@ public class ClubFacilities {
     private String upgradeEmAndamento = null;
     private int semanasParaConclusao = 0;
     private long custoUpgrade = 0;
+    private int duracaoUpgrade = 0;
 
     public ClubFacilities() {
     }
@@ -160,6 +161,7 @@ public class ClubFacilities {
 
         upgradeEmAndamento = instalacao;
         semanasParaConclusao = 4 + nivelAtual; // 4-24 semanas
+        duracaoUpgrade = semanasParaConclusao;
         custoUpgrade = custo;
 
         return true;
@@ -211,6 +213,7 @@ public class ClubFacilities {
 
         upgradeEmAndamento = null;
         custoUpgrade = 0;
+        duracaoUpgrade = 0;
     }
 
     private int getNivelInstalacao(String instalacao) {
@@ -268,6 +271,17 @@ public class ClubFacilities {
         return staff.stream().mapToInt(StaffMember::getSalarioSemanal).sum();
     }
 
+    /**
+     * Parcela semanal do upgrade em andamento; o custo é pago ao longo da obra.
+     */
+    public long getParcelaUpgradeSemanal() {
+        if (upgradeEmAndamento == null || duracaoUpgrade <= 0 || semanasParaConclusao <= 0)
+            return 0;
+        // A última parcela leva o resto da divisão
+        long parcela = custoUpgrade / duracaoUpgrade;
+        return semanasParaConclusao == 1 ? custoUpgrade - parcela * (duracaoUpgrade - 1) : parcela;
+    }
+
     // Getters e Setters
     public int getCentroTreino() {
         return centroTreino;
@@ -0,0 +1,104 @@
+package com.brasfm.model;
+
+import com.brasfm.model.enums.TipoLancamento;
+import java.util.Arrays;
+
+/**
+ * Livro financeiro de um clube.
+ *
+ * Os lançamentos da semana são somados por tipo; no fechamento da semana o
+ * saldo, as receitas e as despesas entram em buffers circulares de uma
+ * temporada. A tela de finanças lê os buffers direto, sem recalcular nada.
+ */
+public class FinanceLedger {
+
+    public static final int SEMANAS_HISTORICO = 52;
+
+    private static final int TIPOS = TipoLancamento.values().length;
+
+    // Semana em aberto e acumulado da temporada, por tipo
+    private final long[] semana = new long[TIPOS];
+    private final long[] temporada = new long[TIPOS];
+
+    // Buffers circulares das semanas fechadas
+    private final long[] saldos = new long[SEMANAS_HISTORICO];
+    private final long[] receitas = new long[SEMANAS_HISTORICO];
+    private final long[] despesas = new long[SEMANAS_HISTORICO];
+    private int proximo;
+    private int semanasRegistradas;
+
+    /**
+     * Registra um lançamento. Receitas positivas, despesas negativas.
+     */
+    public void registrar(TipoLancamento tipo, long valor) {
+        semana[tipo.ordinal()] += valor;
+        temporada[tipo.ordinal()] += valor;
+    }
+
+    /**
+     * Fecha a semana em aberto gravando o saldo final do clube.
+     */
+    public void fecharSemana(long saldoFinal) {
+        long entrada = 0;
+        long saida = 0;
+        for (int i = 0; i < TIPOS; i++) {
+            if (semana[i] >= 0) {
+                entrada += semana[i];
+            } else {
+                saida -= semana[i];
+            }
+            semana[i] = 0;
+        }
+
+        saldos[proximo] = saldoFinal;
+        receitas[proximo] = entrada;
+        despesas[proximo] = saida;
+        proximo = (proximo + 1) % SEMANAS_HISTORICO;
+        if (semanasRegistradas < SEMANAS_HISTORICO) {
+            semanasRegistradas++;
+        }
+    }
+
+    /**
+     * Zera os acumulados da temporada. O histórico semanal continua.
+     */
+    public void novaTemporada() {
+        Arrays.fill(temporada, 0);
+    }
+
+    public long getTotalTemporada(TipoLancamento tipo) {
+        return temporada[tipo.ordinal()];
+    }
+
+    public long getTotalSemana(TipoLancamento tipo) {
+        return semana[tipo.ordinal()];
+    }
+
+    public int getSemanasRegistradas() {
+        return semanasRegistradas;
+    }
+
+    /**
+     * Saldos ao fim de cada semana, da mais antiga à mais recente.
+     */
+    public long[] getHistoricoSaldo() {
+        return emOrdem(saldos);
+    }
+
+    public long[] getHistoricoReceitas() {
+        return emOrdem(receitas);
+    }
+
+    public long[] getHistoricoDespesas() {
+        return emOrdem(despesas);
+    }
+
+    private long[] emOrdem(long[] buffer) {
+        long[] resultado = new long[semanasRegistradas];
+        int inicio = (proximo - semanasRegistradas + SEMANAS_HISTORICO) % SEMANAS_HISTORICO;
+        for (int i = 0; i < semanasRegistradas; i++) {
+            resultado[i] = buffer[(inicio + i) % SEMANAS_HISTORICO];
+        }
+        return resultado;
+    }
+}
@@ -1,6 +1,7 @@
 package com.brasfm.model;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -21,8 +22,20 @@ public class Match {
     private boolean finalizada;
     private boolean intervalo;
 
-    // Eventos
-    private List<MatchEvent> eventos;
+    // Eventos, um long por evento (ver codificar). O log fica guardado em
+    // League.jogos a temporada toda, então não guarda objetos: os
+    // MatchEvent só são criados quando alguém pede (relatório, UI).
+    private long[] log;
+    private int totalEventos;
+    private int[] contagemEventos; // por TipoEvento.ordinal()
+    private transient Player[] participantes; // resolve os ids sem procurar no elenco
+    private transient int totalParticipantes;
+    // Id -> nome de quem aparece no log, gravado com a partida: o histórico
+    // continua legível depois que o jogador deixa o clube
+    private int[] idsNomes;
+    private String[] nomes;
+    private int totalNomes;
+    private List<MatchEvent> eventos; // só em saves antigos; convertido no primeiro acesso
 
     // Estatísticas
     private int posseMandante; // porcentagem 0-100
@@ -33,6 +46,9 @@ public class Match {
     private int escanteiosMandante;
     private int escanteiosVisitante;
 
+    // Replay gravado (só partidas marcadas para gravação)
+    private Replay replay;
+
     // Público
     private int publico;
     private int renda;
@@ -42,11 +58,25 @@ public class Match {
     private String fase;
     private boolean decisivo; // mata-mata
 
+    private static final MatchEvent.TipoEvento[] TIPOS_EVENTO = MatchEvent.TipoEvento.values();
+    private static final int CAPACIDADE_LOG = 16;
+
+    // Layout de um evento no log: minuto (8 bits), tipo (5), lado (2: 0 sem
+    // time, 1 mandante, 2 visitante) e os ids + 1 dos dois jogadores (24
+    // bits cada, 0 = nenhum)
+    private static final int BITS_ID = 24;
+    private static final int DESLOC_TIPO = 8;
+    private static final int DESLOC_LADO = 13;
+    private static final int DESLOC_PRINCIPAL = 15;
+    private static final int DESLOC_SECUNDARIO = DESLOC_PRINCIPAL + BITS_ID;
+    private static final long MASCARA_ID = (1L << BITS_ID) - 1;
+
     public Match(Team mandante, Team visitante) {
         this.mandante = mandante;
         this.visitante = visitante;
         this.estadio = mandante.getEstadio();
-        this.eventos = new ArrayList<>();
+        this.log = new long[CAPACIDADE_LOG];
+        this.contagemEventos = new int[TIPOS_EVENTO.length];
         this.posseMandante = 50;
     }
 
@@ -56,14 +86,141 @@ public class Match {
     public void iniciar() {
         this.emAndamento = true;
         this.minutoAtual = 0;
-        addEvento(new MatchEvent(0, MatchEvent.TipoEvento.INICIO_PRIMEIRO_TEMPO, null));
+        addEvento(0, MatchEvent.TipoEvento.INICIO_PRIMEIRO_TEMPO, null, null, null);
     }
 
     /**
-     * Adiciona um evento à partida.
+     * Adiciona um evento à partida. O log só guarda minuto, tipo, time e
+     * jogadores, então um evento com descrição livre é recusado em vez de
+     * perder o texto.
+     *
+     * @throws IllegalArgumentException se o evento tiver descrição
      */
     public void addEvento(MatchEvent evento) {
-        eventos.add(evento);
+        if (evento.getDescricao() != null && !evento.getDescricao().isEmpty()) {
+            throw new IllegalArgumentException("O log de eventos não guarda descrição: " + evento.getDescricao());
+        }
+        adicionar(evento);
+    }
+
+    private void adicionar(MatchEvent evento) {
+        addEvento(evento.getMinuto(), evento.getTipo(), evento.getTime(),
+                evento.getJogadorPrincipal(), evento.getJogadorSecundario());
+    }
+
+    public void addEvento(int minuto, MatchEvent.TipoEvento tipo, Team time, Player principal,
+            Player secundario) {
+        migrarEventosAntigos();
+        if (totalEventos == log.length) {
+            log = Arrays.copyOf(log, Math.max(CAPACIDADE_LOG, log.length * 2));
+        }
+        log[totalEventos++] = codificar(minuto, tipo, lado(time), registrarParticipante(principal),
+                registrarParticipante(secundario));
+        contagemEventos[tipo.ordinal()]++;
+    }
+
+    private static long codificar(int minuto, MatchEvent.TipoEvento tipo, int lado, long principal, long secundario) {
+        return Math.min(minuto, 0xFF)
+                | (long) tipo.ordinal() << DESLOC_TIPO
+                | (long) lado << DESLOC_LADO
+                | principal << DESLOC_PRINCIPAL
+                | secundario << DESLOC_SECUNDARIO;
+    }
+
+    private int lado(Team time) {
+        if (time == null)
+            return 0;
+        if (time == mandante)
+            return 1;
+        if (time == visitante)
+            return 2;
+        // Eventos de saves antigos trazem cópias dos times
+        return time.getNome() != null && time.getNome().equals(mandante.getNome()) ? 1 : 2;
+    }
+
+    private Team timeDoLado(int lado) {
+        return lado == 0 ? null : lado == 1 ? mandante : visitante;
+    }
+
+    /** @return o id + 1 do jogador, ou 0 */
+    private long registrarParticipante(Player jogador) {
+        if (jogador == null)
+            return 0;
+        long codigo = jogador.getId() + 1L;
+        if (codigo > MASCARA_ID) {
+            throw new IllegalStateException("Id de jogador fora do log de eventos: " + jogador.getId());
+        }
+        if (participantes == null) {
+            participantes = new Player[8];
+        }
+        for (int i = 0; i < totalParticipantes; i++) {
+            if (participantes[i] == jogador)
+                return codigo;
+        }
+        if (totalParticipantes == participantes.length) {
+            participantes = Arrays.copyOf(participantes, Math.max(8, totalParticipantes * 2));
+        }
+        participantes[totalParticipantes++] = jogador;
+        nomear(jogador);
+        return codigo;
+    }
+
+    private void nomear(Player jogador) {
+        if (nomeArquivado(jogador.getId()) != null)
+            return; // Partida carregada: já estava na tabela
+        if (idsNomes == null) {
+            idsNomes = new int[8];
+            nomes = new String[8];
+        } else if (totalNomes == idsNomes.length) {
+            idsNomes = Arrays.copyOf(idsNomes, totalNomes * 2);
+            nomes = Arrays.copyOf(nomes, totalNomes * 2);
+        }
+        idsNomes[totalNomes] = jogador.getId();
+        nomes[totalNomes++] = jogador.getNome();
+    }
+
+    private String nomeArquivado(int id) {
+        for (int i = 0; i < totalNomes; i++) {
+            if (idsNomes[i] == id)
+                return nomes[i];
+        }
+        return null;
+    }
+
+    private Player resolverParticipante(long codigo) {
+        if (codigo == 0)
+            return null;
+        int id = (int) (codigo - 1);
+        for (int i = 0; i < totalParticipantes; i++) {
+            if (participantes[i].getId() == id)
+                return participantes[i];
+        }
+        // Partida carregada de um save: procura nos elencos gravados com ela
+        for (Team time : new Team[] { mandante, visitante }) {
+            for (Player p : time.getJogadores()) {
+                if (p.getId() == id)
+                    return p;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Saves antigos gravavam a lista de MatchEvent; passa para o log.
+     */
+    private void migrarEventosAntigos() {
+        if (log == null) {
+            log = new long[CAPACIDADE_LOG];
+            contagemEventos = new int[TIPOS_EVENTO.length];
+            totalEventos = 0;
+        }
+        if (eventos != null) {
+            List<MatchEvent> antigos = eventos;
+            eventos = null;
+            for (MatchEvent e : antigos) {
+                adicionar(e);
+            }
+        }
     }
 
     /**
@@ -76,8 +233,7 @@ public class Match {
             golsVisitante++;
         }
 
-        MatchEvent evento = new MatchEvent(minutoAtual, MatchEvent.TipoEvento.GOL, time, marcador, assistente);
-        addEvento(evento);
+        addEvento(minutoAtual, MatchEvent.TipoEvento.GOL, time, marcador, assistente);
 
         if (marcador != null) {
             marcador.addGol();
@@ -113,7 +269,7 @@ public class Match {
      * Registra um cartão amarelo.
      */
     public void registrarCartaoAmarelo(Team time, Player jogador) {
-        addEvento(new MatchEvent(minutoAtual, MatchEvent.TipoEvento.CARTAO_AMARELO, time, jogador));
+        addEvento(minutoAtual, MatchEvent.TipoEvento.CARTAO_AMARELO, time, jogador, null);
         jogador.addCartaoAmarelo();
     }
 
@@ -121,7 +277,7 @@ public class Match {
      * Registra um cartão vermelho.
      */
     public void registrarCartaoVermelho(Team time, Player jogador) {
-        addEvento(new MatchEvent(minutoAtual, MatchEvent.TipoEvento.CARTAO_VERMELHO, time, jogador));
+        addEvento(minutoAtual, MatchEvent.TipoEvento.CARTAO_VERMELHO, time, jogador, null);
         jogador.setSuspenso(true);
 
         // Remove o jogador do campo
@@ -141,7 +297,7 @@ public class Match {
         time.getTitulares().add(entra);
         entra.setPosicao(sai.getPosicao());
 
-        addEvento(new MatchEvent(minutoAtual, MatchEvent.TipoEvento.SUBSTITUICAO, time, entra, sai));
+        addEvento(minutoAtual, MatchEvent.TipoEvento.SUBSTITUICAO, time, entra, sai);
         return true;
     }
 
@@ -153,12 +309,12 @@ public class Match {
 
         if (minutoAtual >= 45 && !intervalo && minutoAtual < 46) {
             intervalo = true;
-            addEvento(new MatchEvent(45, MatchEvent.TipoEvento.FIM_PRIMEIRO_TEMPO, null));
+            addEvento(45, MatchEvent.TipoEvento.FIM_PRIMEIRO_TEMPO, null, null, null);
         }
 
         if (intervalo && minutoAtual >= 46) {
             intervalo = false;
-            addEvento(new MatchEvent(46, MatchEvent.TipoEvento.INICIO_SEGUNDO_TEMPO, null));
+            addEvento(46, MatchEvent.TipoEvento.INICIO_SEGUNDO_TEMPO, null, null, null);
         }
     }
 
@@ -168,7 +324,17 @@ public class Match {
     public void finalizar() {
         this.emAndamento = false;
         this.finalizada = true;
-        addEvento(new MatchEvent(90, MatchEvent.TipoEvento.FIM_JOGO, null));
+        addEvento(90, MatchEvent.TipoEvento.FIM_JOGO, null, null, null);
+
+        // A partida vai para o arquivo da temporada: só o necessário
+        log = Arrays.copyOf(log, totalEventos);
+        if (participantes != null) {
+            participantes = Arrays.copyOf(participantes, totalParticipantes);
+        }
+        if (idsNomes != null) {
+            idsNomes = Arrays.copyOf(idsNomes, totalNomes);
+            nomes = Arrays.copyOf(nomes, totalNomes);
+        }
 
         // Registra resultados nos times
         mandante.registrarResultado(golsMandante, golsVisitante);
@@ -248,8 +414,115 @@ public class Match {
         return intervalo;
     }
 
+    public int getTotalEventos() {
+        migrarEventosAntigos();
+        return totalEventos;
+    }
+
+    /**
+     * Quantos eventos do tipo a partida já teve, sem percorrer o log.
+     */
+    public int contarEventos(MatchEvent.TipoEvento tipo) {
+        migrarEventosAntigos();
+        return contagemEventos[tipo.ordinal()];
+    }
+
+    public MatchEvent.TipoEvento getTipoEvento(int indice) {
+        return tipoDoRegistro(evento(indice));
+    }
+
+    public Team getTimeEvento(int indice) {
+        return timeDoLado(ladoDoRegistro(evento(indice)));
+    }
+
+    /**
+     * Cria o MatchEvent do índice dado. Cada chamada devolve um objeto novo.
+     */
+    public MatchEvent getEvento(int indice) {
+        return decodificarEvento(evento(indice));
+    }
+
+    // Acesso ao formato do log para o Replay, que grava os mesmos registros
+
+    long getRegistroEvento(int indice) {
+        return evento(indice);
+    }
+
+    MatchEvent decodificarEvento(long e) {
+        long principal = (e >>> DESLOC_PRINCIPAL) & MASCARA_ID;
+        long secundario = (e >>> DESLOC_SECUNDARIO) & MASCARA_ID;
+        MatchEvent evento = new MatchEvent((int) (e & 0xFF), tipoDoRegistro(e), timeDoLado(ladoDoRegistro(e)),
+                resolverParticipante(principal), resolverParticipante(secundario));
+        // Quem saiu do elenco desde a partida volta só com o nome
+        if (evento.getJogadorPrincipal() == null && principal != 0
+                || evento.getJogadorSecundario() == null && secundario != 0) {
+            evento.setNomesArquivados(nomeDoCodigo(principal), nomeDoCodigo(secundario));
+        }
+        return evento;
+    }
+
+    private String nomeDoCodigo(long codigo) {
+        return codigo == 0 ? null : nomeArquivado((int) (codigo - 1));
+    }
+
+    static MatchEvent.TipoEvento tipoDoRegistro(long e) {
+        return TIPOS_EVENTO[(int) (e >>> DESLOC_TIPO) & 0x1F];
+    }
+
+    /** 0 sem time, 1 mandante, 2 visitante. */
+    static int ladoDoRegistro(long e) {
+        return (int) (e >>> DESLOC_LADO) & 0x3;
+    }
+
+    private long evento(int indice) {
+        migrarEventosAntigos();
+        if (indice < 0 || indice >= totalEventos) {
+            throw new IndexOutOfBoundsException("Evento " + indice + " de " + totalEventos);
+        }
+        return log[indice];
+    }
+
+    /**
+     * Eventos da partida, criados sob demanda a partir do log. A lista é só
+     * de leitura.
+     */
     public List<MatchEvent> getEventos() {
-        return eventos;
+        return getEventos(0);
+    }
+
+    /**
+     * Eventos a partir do índice dado (ex.: os do último minuto).
+     */
+    public List<MatchEvent> getEventos(int inicio) {
+        int fim = getTotalEventos();
+        return new AbstractList<MatchEvent>() {
+            @Override
+            public MatchEvent get(int i) {
+                if (i < 0 || inicio + i >= fim) {
+                    throw new IndexOutOfBoundsException("Evento " + i + " de " + size());
+                }
+                return getEvento(inicio + i);
+            }
+
+            @Override
+            public int size() {
+                return Math.max(0, fim - inicio);
+            }
+        };
+    }
+
+    /**
+     * Replay da partida, ou null se ela não foi gravada.
+     */
+    public Replay getReplay() {
+        if (replay != null) {
+            replay.setPartida(this);
+        }
+        return replay;
+    }
+
+    public void setReplay(Replay replay) {
+        this.replay = replay;
     }
 
     public int getPosseMandante() {
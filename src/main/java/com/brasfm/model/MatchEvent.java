@@ -40,6 +40,9 @@ public class MatchEvent {
     private Player jogadorPrincipal;
     private Player jogadorSecundario; // assistência ou substituído
     private String descricao;
+    // Só em eventos arquivados de jogadores que não estão mais nos elencos
+    private String nomePrincipal;
+    private String nomeSecundario;
 
     public MatchEvent(int minuto, TipoEvento tipo, Team time) {
         this.minuto = minuto;
@@ -65,14 +68,16 @@ public class MatchEvent {
             sb.append(" (").append(time.getSigla()).append(")");
         }
 
-        if (jogadorPrincipal != null) {
-            sb.append(" - ").append(jogadorPrincipal.getNome());
+        String principal = getNomeJogadorPrincipal();
+        if (principal != null) {
+            sb.append(" - ").append(principal);
 
-            if (jogadorSecundario != null) {
+            String secundario = getNomeJogadorSecundario();
+            if (secundario != null) {
                 if (tipo == TipoEvento.GOL) {
-                    sb.append(" (Assist: ").append(jogadorSecundario.getNome()).append(")");
+                    sb.append(" (Assist: ").append(secundario).append(")");
                 } else if (tipo == TipoEvento.SUBSTITUICAO) {
-                    sb.append(" entra, sai ").append(jogadorSecundario.getNome());
+                    sb.append(" entra, sai ").append(secundario);
                 }
             }
         }
@@ -105,6 +110,23 @@ public class MatchEvent {
         return jogadorSecundario;
     }
 
+    /**
+     * Nome do jogador principal, também quando o evento vem do arquivo e o
+     * jogador já saiu do elenco.
+     */
+    public String getNomeJogadorPrincipal() {
+        return jogadorPrincipal != null ? jogadorPrincipal.getNome() : nomePrincipal;
+    }
+
+    public String getNomeJogadorSecundario() {
+        return jogadorSecundario != null ? jogadorSecundario.getNome() : nomeSecundario;
+    }
+
+    void setNomesArquivados(String principal, String secundario) {
+        this.nomePrincipal = principal;
+        this.nomeSecundario = secundario;
+    }
+
     public String getDescricao() {
         return descricao;
     }
@@ -4,12 +4,16 @@ import com.brasfm.model.enums.Caracteristica;
 import com.brasfm.model.enums.Position;
 import java.util.EnumSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Representa um jogador de futebol com todas as suas habilidades e
  * características.
  */
 public class Player {
+    private static final AtomicInteger PROXIMO_ID = new AtomicInteger(1);
+
+    private int id;
     private String nome;
     private int idade;
     private Position posicao;
@@ -40,7 +44,8 @@ public class Player {
 
     // Contrato
     private int salario;
-    private int semanasContrato;
+    private int semanaFimContrato; // semana do Calendario em que o contrato termina
+    private Integer semanasContrato; // só em saves antigos; ver converterContratoLegado
 
     // Estatísticas da temporada
     private int jogos;
@@ -59,7 +64,11 @@ public class Player {
     // Personalidade e atributos ocultos
     private PlayerPersonality personality;
 
+    // Incrementada quando muda algo que afeta o valor de mercado
+    private transient int versao;
+
     public Player(String nome, int idade, Position posicao) {
+        this.id = PROXIMO_ID.getAndIncrement();
         this.personality = new PlayerPersonality();
         this.nome = nome;
         this.idade = idade;
@@ -68,7 +77,7 @@ public class Player {
         this.caracteristicas = EnumSet.noneOf(Caracteristica.class);
         this.energia = 100;
         this.moral = 75;
-        this.semanasContrato = 52; // 1 ano
+        this.semanaFimContrato = Calendario.getSemanaAtual() + 52; // 1 ano
         this.prefereDireita = true;
         this.prefereEsquerda = true;
     }
@@ -113,6 +122,9 @@ public class Player {
         int ganho = (int) (fator * dificuldade);
 
         this.forca = Math.max(1, Math.min(100, this.forca + ganho));
+        if (ganho != 0) {
+            versao++;
+        }
     }
 
     /**
@@ -137,7 +149,7 @@ public class Player {
      * Verifica se pode ser escalado.
      */
     public boolean podeJogar() {
-        return !contundido && !suspenso && semanasContrato > 0;
+        return !contundido && !suspenso && getSemanasContrato() > 0;
     }
 
     /**
@@ -202,27 +214,47 @@ public class Player {
         return posicaoOriginal == Position.GOLEIRO;
     }
 
-    /**
-     * Passa uma semana (reduz contrato, envelhece no aniversário).
-     */
-    public void passarSemana() {
-        if (semanasContrato > 0) {
-            semanasContrato--;
-        }
-    }
-
     /**
      * Renova contrato.
      */
     public void renovarContrato(int semanas, int novoSalario) {
-        this.semanasContrato = semanas;
+        this.semanaFimContrato = Calendario.getSemanaAtual() + semanas;
         this.salario = novoSalario;
+        versao++;
         if (moral < 70) {
             this.moral = 70;
         }
     }
 
+    /**
+     * Após carregar um save: reserva o id gravado ou atribui um novo se o
+     * save for anterior aos ids.
+     */
+    public void restaurarId() {
+        if (id <= 0) {
+            id = PROXIMO_ID.getAndIncrement();
+        } else {
+            PROXIMO_ID.accumulateAndGet(id + 1, Math::max);
+        }
+    }
+
+    /**
+     * Após carregar um save anterior ao Calendario, que guardava as semanas
+     * restantes de contrato: vira a semana de término a partir da semana já
+     * restaurada.
+     */
+    public void converterContratoLegado() {
+        if (semanasContrato != null) {
+            semanaFimContrato = Calendario.getSemanaAtual() + semanasContrato;
+            semanasContrato = null;
+        }
+    }
+
     // Getters e Setters
+    public int getId() {
+        return id;
+    }
+
     public String getNome() {
         return nome;
     }
@@ -237,6 +269,7 @@ public class Player {
 
     public void setIdade(int idade) {
         this.idade = idade;
+        versao++;
     }
 
     public Position getPosicao() {
@@ -257,6 +290,7 @@ public class Player {
 
     public void setForca(int forca) {
         this.forca = Math.max(1, Math.min(100, forca));
+        versao++;
     }
 
     public int getGoleiro() {
@@ -372,8 +406,15 @@ public class Player {
         this.salario = salario;
     }
 
+    /**
+     * Semanas restantes de contrato, a partir do Calendario.
+     */
     public int getSemanasContrato() {
-        return semanasContrato;
+        return Math.max(0, semanaFimContrato - Calendario.getSemanaAtual());
+    }
+
+    public int getSemanaFimContrato() {
+        return semanaFimContrato;
     }
 
     public int getJogos() {
@@ -410,6 +451,7 @@ public class Player {
         } else {
             this.mediaNota = ((mediaNota * (jogos - 1)) + nota) / jogos;
         }
+        versao++;
     }
 
     public boolean isPrefereDireita() {
@@ -434,6 +476,7 @@ public class Player {
 
     public void setPotencial(int potencial) {
         this.potencial = potencial;
+        versao++;
     }
 
     public boolean isEstrela() {
@@ -444,6 +487,14 @@ public class Player {
         this.estrela = estrela;
     }
 
+    /**
+     * Versão dos dados que entram na valoração (força, idade, contrato,
+     * potencial e forma). Usada para invalidar caches.
+     */
+    public int getVersao() {
+        return versao;
+    }
+
     public PlayerPersonality getPersonality() {
         return personality;
     }
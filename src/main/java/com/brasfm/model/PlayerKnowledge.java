@@ -43,23 +43,93 @@ public class PlayerKnowledge {
         }
     }
 
+    /**
+     * Atributos que os olheiros estimam. A margem de erro do nível é
+     * multiplicada pelo fator do grupo (físico é mais fácil de ver, mental
+     * mais difícil).
+     */
+    public enum Atributo {
+        VELOCIDADE("velocidade", "Velocidade", 0.7),
+        FORCA("forca", "Força", 0.7),
+        RESISTENCIA("resistencia", "Resistência", 0.7),
+        FINALIZACAO("finalizacao", "Finalização", 1.0),
+        PASSE("passe", "Passe", 1.0),
+        TECNICA("tecnica", "Técnica", 1.0),
+        DECISOES("decisoes", "Decisões", 1.3),
+        COMPOSTURA("compostura", "Compostura", 1.3);
+
+        private final String chave;
+        private final String nome;
+        private final double fatorMargem;
+
+        Atributo(String chave, String nome, double fatorMargem) {
+            this.chave = chave;
+            this.nome = nome;
+            this.fatorMargem = fatorMargem;
+        }
+
+        public String getChave() {
+            return chave;
+        }
+
+        public String getNome() {
+            return nome;
+        }
+
+        public static Atributo porChave(String chave) {
+            for (Atributo a : values()) {
+                if (a.chave.equals(chave))
+                    return a;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Fatos do relatório do olheiro. Guardados como bits; o texto só é
+     * montado quando o relatório é lido.
+     */
+    private enum Nota {
+        FORTE("Jogador muito forte fisicamente."),
+        FINALIZADOR("Excelente finalizador."),
+        PASSADOR("Ótima qualidade de passe."),
+        INCONSISTENTE("⚠️ Parece inconsistente - oscila muito."),
+        SOME_JOGOS_GRANDES("⚠️ Desaparece em jogos grandes."),
+        CRESCE_JOGOS_GRANDES("✅ Cresce em jogos importantes."),
+        EXTRA_CAMPO("⚠️ Ouvir rumores de problemas extra-campo."),
+        LIDER("✅ Líder nato no vestiário."),
+        TEMPERAMENTO("⚠️ Temperamento explosivo - muitos cartões."),
+        OLHEIRO_FISICO("(Olheiro valoriza: bom porte físico)"),
+        OLHEIRO_TECNICO("(Olheiro valoriza: refinado tecnicamente)");
+
+        private final String texto;
+
+        Nota(String texto) {
+            this.texto = texto;
+        }
+    }
+
+    private static final Atributo[] ATRIBUTOS = Atributo.values();
+    private static final Nota[] NOTAS = Nota.values();
+
+    /** Teto de força de quem ainda não tem estimativa: passa em qualquer filtro. */
+    public static final int FORCA_DESCONHECIDA = Short.MAX_VALUE;
+
     private Player jogador;
+    private String regiao; // onde foi observado pela primeira vez
     private NivelConhecimento nivel = NivelConhecimento.DESCONHECIDO;
-    private int observacoes = 0;
-    private Date ultimaObservacao;
+    private short observacoes;
+    private int semanaUltimaObservacao = -1;
 
-    // Valores estimados (com margem de erro)
-    private Map<String, int[]> atributosEstimados = new HashMap<>();
+    // Faixas estimadas [min, max] por atributo, na ordem de Atributo; 0 = sem estimativa
+    private short[] faixas;
 
-    // Relatório qualitativo do olheiro
-    private List<String> relatorioOlheiro = new ArrayList<>();
+    // Relatório qualitativo do olheiro (bits de Nota)
+    private int notas;
 
-    // Dados estatísticos (se disponíveis)
-    private PlayerStats estatisticas;
-
-    // Potencial estimado (1-5 estrelas) com margem de erro
-    private double potencialEstimado = 0;
-    private double margemPotencial = 2.5; // Inicialmente totalmente incerto
+    // Potencial estimado (1-5 estrelas) e margem, em décimos
+    private short potencialDecimos = 0;
+    private short margemPotencialDecimos = 25; // Inicialmente totalmente incerto
 
     public PlayerKnowledge(Player jogador) {
         this.jogador = jogador;
@@ -67,10 +137,17 @@ public class PlayerKnowledge {
 
     /**
      * Processa uma observação do jogador (jogo assistido ou olheiro).
+     *
+     * @param semana semana da rede de olheiros em que a observação foi feita
      */
-    public void processarObservacao(Scout olheiro, boolean jogoCompleto) {
-        observacoes++;
-        ultimaObservacao = new Date();
+    public void processarObservacao(Scout olheiro, boolean jogoCompleto, Random random, int semana) {
+        if (observacoes < Short.MAX_VALUE) {
+            observacoes++;
+        }
+        semanaUltimaObservacao = semana;
+        if (regiao == null && olheiro != null && olheiro.getRegiaoAtual() != null) {
+            regiao = olheiro.getRegiaoAtual().toLowerCase().intern();
+        }
 
         // Avança nível de conhecimento
         if (observacoes >= 10 && nivel.getNivel() < 3) {
@@ -82,56 +159,60 @@ public class PlayerKnowledge {
         }
 
         // Atualiza estimativas
-        atualizarEstimativas(olheiro);
+        atualizarEstimativas(olheiro, random);
 
         // Gera relatório qualitativo
         if (olheiro != null && jogoCompleto) {
-            gerarRelatorioOlheiro(olheiro);
+            gerarRelatorioOlheiro(olheiro, random);
         }
     }
 
     /**
      * Atualiza as estimativas de atributos baseado no nível de conhecimento.
      */
-    private void atualizarEstimativas(Scout olheiro) {
-        Random r = new Random();
+    private void atualizarEstimativas(Scout olheiro, Random r) {
         int margem = nivel.getMargemErro();
 
         // Viés do olheiro afeta a estimativa
-        double viesTolheiro = olheiro != null ? olheiro.getVies() : 0;
-
-        // Atributos físicos são mais fáceis de ver
-        int margemFisico = (int) (margem * 0.7);
-        int margemTecnico = margem;
-        int margemMental = (int) (margem * 1.3); // Mais difícil de avaliar
-
-        // Gera estimativas com erro
-        // Formato: [min, max] estimado
-
-        // Físicos
-        atributosEstimados.put("velocidade", gerarEstimativa(70, margemFisico, viesTolheiro, r));
-        atributosEstimados.put("forca", gerarEstimativa(70, margemFisico, viesTolheiro, r));
-        atributosEstimados.put("resistencia", gerarEstimativa(70, margemFisico, viesTolheiro, r));
+        double viesOlheiro = olheiro != null ? olheiro.getVies(r) : 0;
 
-        // Técnicos
-        atributosEstimados.put("finalizacao",
-                gerarEstimativa(jogador.getFinalizacao(), margemTecnico, viesTolheiro, r));
-        atributosEstimados.put("passe", gerarEstimativa(jogador.getPasse(), margemTecnico, viesTolheiro, r));
-        atributosEstimados.put("tecnica", gerarEstimativa(jogador.getTecnica(), margemTecnico, viesTolheiro, r));
-
-        // Mentais (mais difíceis de ver)
-        atributosEstimados.put("decisoes", gerarEstimativa(60, margemMental, viesTolheiro, r));
-        atributosEstimados.put("compostura", gerarEstimativa(60, margemMental, viesTolheiro, r));
+        if (faixas == null) {
+            faixas = new short[ATRIBUTOS.length * 2];
+        }
+        for (Atributo a : ATRIBUTOS) {
+            gerarEstimativa(a, valorObservado(a), (int) (margem * a.fatorMargem), viesOlheiro, r);
+        }
 
         // Potencial
         double potencialReal = jogador.getCpe() / 20.0; // 1-5 estrelas
         int variacaoPotencial = r.nextInt(margem / 3 + 1);
-        potencialEstimado = potencialReal + (r.nextDouble() - 0.5) * variacaoPotencial * 0.5;
-        potencialEstimado = Math.max(1, Math.min(5, potencialEstimado));
-        margemPotencial = margem / 6.0;
+        double potencial = potencialReal + (r.nextDouble() - 0.5) * variacaoPotencial * 0.5;
+        potencial = Math.max(1, Math.min(5, potencial));
+        potencialDecimos = (short) (potencial * 10); // truncado: preserva a meia estrela
+        margemPotencialDecimos = (short) Math.round(margem / 6.0 * 10);
+    }
+
+    /**
+     * Valor de referência que o olheiro observa. Físicos e mentais ainda não
+     * têm atributo próprio no jogador.
+     */
+    private int valorObservado(Atributo a) {
+        switch (a) {
+            case FINALIZACAO:
+                return jogador.getFinalizacao();
+            case PASSE:
+                return jogador.getPasse();
+            case TECNICA:
+                return jogador.getTecnica();
+            case DECISOES:
+            case COMPOSTURA:
+                return 60;
+            default:
+                return 70;
+        }
     }
 
-    private int[] gerarEstimativa(int valorReal, int margem, double vies, Random r) {
+    private void gerarEstimativa(Atributo a, int valorReal, int margem, double vies, Random r) {
         // Aplica viés do olheiro (-0.3 a 0.3)
         int ajusteVies = (int) (vies * margem);
 
@@ -139,88 +220,94 @@ public class PlayerKnowledge {
         int erro = r.nextInt(margem + 1) - margem / 2;
         int estimativa = valorReal + erro + ajusteVies;
 
-        int min = Math.max(1, estimativa - margem);
-        int max = Math.min(100, estimativa + margem);
-
-        return new int[] { min, max };
+        faixas[a.ordinal() * 2] = (short) Math.max(1, estimativa - margem);
+        faixas[a.ordinal() * 2 + 1] = (short) Math.min(100, estimativa + margem);
     }
 
     /**
-     * Gera relatório qualitativo do olheiro.
+     * Registra os fatos do relatório qualitativo do olheiro.
      */
-    private void gerarRelatorioOlheiro(Scout olheiro) {
-        relatorioOlheiro.clear();
-        Random r = new Random();
+    private void gerarRelatorioOlheiro(Scout olheiro, Random r) {
+        notas = 0;
         PlayerPersonality pers = jogador.getPersonality();
 
         // Comentários sobre pontos fortes
         if (jogador.getForca() > 75) {
-            relatorioOlheiro.add("Jogador muito forte fisicamente.");
+            anotar(Nota.FORTE);
         }
         if (jogador.getFinalizacao() > 75) {
-            relatorioOlheiro.add("Excelente finalizador.");
+            anotar(Nota.FINALIZADOR);
         }
         if (jogador.getPasse() > 75) {
-            relatorioOlheiro.add("Ótima qualidade de passe.");
+            anotar(Nota.PASSADOR);
         }
 
         // Comentários sobre personalidade (parcialmente visíveis)
         if (pers != null) {
             if (pers.getConsistencia() < 10 && r.nextBoolean()) {
-                relatorioOlheiro.add("⚠️ Parece inconsistente - oscila muito.");
+                anotar(Nota.INCONSISTENTE);
             }
             if (pers.getJogosImportantes() < 8 && r.nextBoolean()) {
-                relatorioOlheiro.add("⚠️ Desaparece em jogos grandes.");
+                anotar(Nota.SOME_JOGOS_GRANDES);
             }
             if (pers.getJogosImportantes() > 15 && r.nextBoolean()) {
-                relatorioOlheiro.add("✅ Cresce em jogos importantes.");
+                anotar(Nota.CRESCE_JOGOS_GRANDES);
             }
             if (pers.getProfissionalismo() < 10 && r.nextBoolean()) {
-                relatorioOlheiro.add("⚠️ Ouvir rumores de problemas extra-campo.");
+                anotar(Nota.EXTRA_CAMPO);
             }
             if (pers.getLideranca() > 15) {
-                relatorioOlheiro.add("✅ Líder nato no vestiário.");
+                anotar(Nota.LIDER);
             }
             if (pers.getTemperamento() < 8) {
-                relatorioOlheiro.add("⚠️ Temperamento explosivo - muitos cartões.");
+                anotar(Nota.TEMPERAMENTO);
             }
         }
 
         // Viés do olheiro afeta relatório
         if (olheiro.getPreferenciaTatica() == Scout.PreferenciaTatica.FISICO) {
             if (jogador.getForca() > 60) {
-                relatorioOlheiro.add("(Olheiro valoriza: bom porte físico)");
+                anotar(Nota.OLHEIRO_FISICO);
             }
         } else if (olheiro.getPreferenciaTatica() == Scout.PreferenciaTatica.TECNICO) {
             if (jogador.getTecnica() > 60) {
-                relatorioOlheiro.add("(Olheiro valoriza: refinado tecnicamente)");
+                anotar(Nota.OLHEIRO_TECNICO);
             }
         }
     }
 
+    private void anotar(Nota nota) {
+        notas |= 1 << nota.ordinal();
+    }
+
     /**
      * Retorna string formatada para display de atributo estimado.
      */
     public String getAtributoDisplay(String atributo) {
+        Atributo a = Atributo.porChave(atributo);
+        if (a == null) {
+            return nivel == NivelConhecimento.DESCONHECIDO ? "???" : "---";
+        }
+        return getAtributoDisplay(a);
+    }
+
+    public String getAtributoDisplay(Atributo atributo) {
         if (nivel == NivelConhecimento.DESCONHECIDO) {
             return "???";
         }
 
-        int[] faixa = atributosEstimados.get(atributo);
-        if (faixa == null) {
+        if (!temEstimativa(atributo)) {
             return "---";
         }
 
-        if (nivel == NivelConhecimento.TOTAL) {
+        int min = getMinimo(atributo);
+        int max = getMaximo(atributo);
+        if (nivel == NivelConhecimento.TOTAL || max - min <= 3) {
             // Mostra valor real
-            return String.valueOf((faixa[0] + faixa[1]) / 2);
-        }
-
-        if (faixa[1] - faixa[0] <= 3) {
-            return String.valueOf((faixa[0] + faixa[1]) / 2);
+            return String.valueOf((min + max) / 2);
         }
 
-        return faixa[0] + "-" + faixa[1];
+        return min + "-" + max;
     }
 
     /**
@@ -232,8 +319,8 @@ public class PlayerKnowledge {
         }
 
         StringBuilder sb = new StringBuilder();
-        int cheias = (int) potencialEstimado;
-        boolean meia = (potencialEstimado - cheias) >= 0.5;
+        int cheias = potencialDecimos / 10;
+        boolean meia = potencialDecimos % 10 >= 5;
 
         for (int i = 0; i < cheias; i++)
             sb.append("★");
@@ -242,18 +329,46 @@ public class PlayerKnowledge {
         while (sb.length() < 5)
             sb.append("☆");
 
-        if (margemPotencial > 0.5) {
-            sb.append(" ±").append(String.format("%.1f", margemPotencial));
+        if (margemPotencialDecimos > 5) {
+            sb.append(" ±").append(String.format("%.1f", margemPotencialDecimos / 10.0));
         }
 
         return sb.toString();
     }
 
+    /**
+     * Limite superior estimado da força, usado nos filtros de busca.
+     */
+    public int getForcaMaxEstimada() {
+        if (nivel.getNivel() < 1 || !temEstimativa(Atributo.FORCA))
+            return FORCA_DESCONHECIDA;
+        return getMaximo(Atributo.FORCA);
+    }
+
+    public boolean temEstimativa(Atributo atributo) {
+        return faixas != null && faixas[atributo.ordinal() * 2 + 1] > 0;
+    }
+
+    public int getMinimo(Atributo atributo) {
+        return faixas == null ? 0 : faixas[atributo.ordinal() * 2];
+    }
+
+    public int getMaximo(Atributo atributo) {
+        return faixas == null ? 0 : faixas[atributo.ordinal() * 2 + 1];
+    }
+
     // Getters
     public Player getJogador() {
         return jogador;
     }
 
+    /**
+     * Região em que o jogador foi observado, ou null (ex.: elenco próprio).
+     */
+    public String getRegiao() {
+        return regiao;
+    }
+
     public NivelConhecimento getNivel() {
         return nivel;
     }
@@ -262,16 +377,24 @@ public class PlayerKnowledge {
         return observacoes;
     }
 
-    public Date getUltimaObservacao() {
-        return ultimaObservacao;
+    /**
+     * Semana da rede de olheiros da última observação, ou -1.
+     */
+    public int getSemanaUltimaObservacao() {
+        return semanaUltimaObservacao;
     }
 
+    /**
+     * Linhas do relatório do olheiro, montadas na hora.
+     */
     public List<String> getRelatorioOlheiro() {
-        return relatorioOlheiro;
-    }
-
-    public Map<String, int[]> getAtributosEstimados() {
-        return atributosEstimados;
+        List<String> linhas = new ArrayList<>(Integer.bitCount(notas));
+        for (Nota n : NOTAS) {
+            if ((notas & (1 << n.ordinal())) != 0) {
+                linhas.add(n.texto);
+            }
+        }
+        return linhas;
     }
 
     public void setNivel(NivelConhecimento nivel) {
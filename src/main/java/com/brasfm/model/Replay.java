@@ -0,0 +1,322 @@
+package com.brasfm.model;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Replay binário compacto de uma partida.
+ *
+ * Guarda a semente do gerador da partida e, para cada minuto, a posse do
+ * minuto, o que mudou em chutes e faltas e os eventos no mesmo formato do
+ * log de {@link Match}. A cada {@link #INTERVALO_QUADRO_CHAVE} minutos há um
+ * quadro-chave com o estado acumulado, então ir para qualquer minuto custa
+ * no máximo esse número de minutos lidos.
+ *
+ * No save vai só o texto em Base64; os bytes e os quadros-chave são lidos
+ * na primeira vez que alguém abre o replay.
+ *
+ * Formato: versão (1 byte), semente (8), último minuto (1), número de
+ * quadros-chave (1), quadros-chave ({@code CAMPOS_QUADRO} shorts cada) e um
+ * bloco por minuto a partir do 0: posse do mandante (1), variações de
+ * chutes e faltas (1, 2 bits cada), número de eventos (1) e os eventos (8
+ * cada).
+ */
+public class Replay {
+
+    public static final int INTERVALO_QUADRO_CHAVE = 15;
+
+    private static final byte VERSAO = 1;
+    private static final int TAMANHO_CABECALHO = 11;
+
+    // Campos de um quadro-chave: estado antes do bloco do minuto
+    private static final int OFFSET = 0;
+    private static final int GOLS_MANDANTE = 1;
+    private static final int GOLS_VISITANTE = 2;
+    private static final int CHUTES_MANDANTE = 3;
+    private static final int CHUTES_VISITANTE = 4;
+    private static final int FALTAS_MANDANTE = 5;
+    private static final int FALTAS_VISITANTE = 6;
+    private static final int SOMA_POSSE = 7;
+    private static final int CAMPOS_QUADRO = 8;
+
+    private final String dados;
+    private transient byte[] bytes;
+    private transient int[] quadros;
+    private transient Match partida;
+
+    Replay(byte[] bytes) {
+        this.dados = Base64.getEncoder().encodeToString(bytes);
+        this.bytes = bytes;
+    }
+
+    void setPartida(Match partida) {
+        this.partida = partida;
+    }
+
+    /**
+     * Estado da partida ao fim de um minuto.
+     */
+    public static class Quadro {
+        private final int minuto;
+        private final int[] estado;
+
+        Quadro(int minuto, int[] estado) {
+            this.minuto = minuto;
+            this.estado = estado;
+        }
+
+        public int getMinuto() {
+            return minuto;
+        }
+
+        public int getGolsMandante() {
+            return estado[GOLS_MANDANTE];
+        }
+
+        public int getGolsVisitante() {
+            return estado[GOLS_VISITANTE];
+        }
+
+        public int getChutesMandante() {
+            return estado[CHUTES_MANDANTE];
+        }
+
+        public int getChutesVisitante() {
+            return estado[CHUTES_VISITANTE];
+        }
+
+        public int getFaltasMandante() {
+            return estado[FALTAS_MANDANTE];
+        }
+
+        public int getFaltasVisitante() {
+            return estado[FALTAS_VISITANTE];
+        }
+
+        /** Posse média do mandante até este minuto. */
+        public int getPosseMandante() {
+            return minuto > 0 ? estado[SOMA_POSSE] / minuto : 50;
+        }
+    }
+
+    public long getSemente() {
+        return ByteBuffer.wrap(getBytes()).getLong(1);
+    }
+
+    /** Último minuto jogado (passa de 90 com os acréscimos). */
+    public int getUltimoMinuto() {
+        return getBytes()[9] & 0xFF;
+    }
+
+    /** Tamanho do replay em bytes. */
+    public int getTamanho() {
+        return getBytes().length;
+    }
+
+    /**
+     * Estado ao fim do minuto dado, partindo do quadro-chave anterior.
+     */
+    public Quadro getQuadro(int minuto) {
+        minuto = Math.max(0, Math.min(minuto, getUltimoMinuto()));
+        int[] estado = quadroChave(minuto);
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        buf.position(estado[OFFSET]);
+        for (int m = minuto - minuto % INTERVALO_QUADRO_CHAVE; m <= minuto; m++) {
+            aplicarBloco(buf, m, estado, null);
+        }
+        return new Quadro(minuto, estado);
+    }
+
+    /**
+     * Eventos do início até o fim do minuto dado.
+     */
+    public List<MatchEvent> getEventosAte(int minuto) {
+        return getEventos(0, minuto);
+    }
+
+    /**
+     * Eventos entre os dois minutos, inclusive.
+     */
+    public List<MatchEvent> getEventos(int deMinuto, int ateMinuto) {
+        List<MatchEvent> eventos = new ArrayList<>();
+        deMinuto = Math.max(0, deMinuto);
+        ateMinuto = Math.min(ateMinuto, getUltimoMinuto());
+        if (deMinuto > ateMinuto)
+            return eventos;
+
+        int[] estado = quadroChave(deMinuto);
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        buf.position(estado[OFFSET]);
+        for (int m = deMinuto - deMinuto % INTERVALO_QUADRO_CHAVE; m <= ateMinuto; m++) {
+            aplicarBloco(buf, m, estado, m >= deMinuto ? eventos : null);
+        }
+        return eventos;
+    }
+
+    private void aplicarBloco(ByteBuffer buf, int minuto, int[] estado, List<MatchEvent> eventos) {
+        int posse = buf.get() & 0xFF;
+        int variacoes = buf.get() & 0xFF;
+        int total = buf.get() & 0xFF;
+        if (minuto > 0) {
+            estado[SOMA_POSSE] += posse;
+        }
+        estado[CHUTES_MANDANTE] += variacoes & 0x3;
+        estado[CHUTES_VISITANTE] += (variacoes >>> 2) & 0x3;
+        estado[FALTAS_MANDANTE] += (variacoes >>> 4) & 0x3;
+        estado[FALTAS_VISITANTE] += (variacoes >>> 6) & 0x3;
+        for (int i = 0; i < total; i++) {
+            long registro = buf.getLong();
+            contarGol(registro, estado);
+            if (eventos != null && partida != null) {
+                eventos.add(partida.decodificarEvento(registro));
+            }
+        }
+    }
+
+    private static void contarGol(long registro, int[] estado) {
+        MatchEvent.TipoEvento tipo = Match.tipoDoRegistro(registro);
+        if (tipo == MatchEvent.TipoEvento.GOL || tipo == MatchEvent.TipoEvento.GOL_CONTRA) {
+            int lado = Match.ladoDoRegistro(registro);
+            if (lado == 1) {
+                estado[GOLS_MANDANTE]++;
+            } else if (lado == 2) {
+                estado[GOLS_VISITANTE]++;
+            }
+        }
+    }
+
+    private int[] quadroChave(int minuto) {
+        getBytes();
+        int i = minuto / INTERVALO_QUADRO_CHAVE;
+        return Arrays.copyOfRange(quadros, i * CAMPOS_QUADRO, (i + 1) * CAMPOS_QUADRO);
+    }
+
+    private byte[] getBytes() {
+        if (bytes == null) {
+            bytes = Base64.getDecoder().decode(dados);
+        }
+        if (quadros == null) {
+            if (bytes[0] != VERSAO) {
+                throw new IllegalStateException("Versão de replay desconhecida: " + bytes[0]);
+            }
+            ByteBuffer buf = ByteBuffer.wrap(bytes);
+            int n = bytes[10] & 0xFF;
+            int[] lidos = new int[n * CAMPOS_QUADRO];
+            buf.position(TAMANHO_CABECALHO);
+            for (int i = 0; i < lidos.length; i++) {
+                lidos[i] = buf.getShort() & 0xFFFF;
+            }
+            quadros = lidos;
+        }
+        return bytes;
+    }
+
+    // ==================== GRAVAÇÃO ====================
+
+    /**
+     * Grava uma partida minuto a minuto. Cada minuto custa alguns bytes
+     * copiados do log da partida; nada é gravado para partidas sem gravador.
+     */
+    public static class Gravador {
+        private final Match partida;
+        private final long semente;
+        private byte[] blocos = new byte[512];
+        private int tamanho;
+        private int[] quadros = new int[8 * CAMPOS_QUADRO];
+        private int totalQuadros;
+        private final int[] estado = new int[CAMPOS_QUADRO];
+        private int proximoMinuto;
+        private int eventosGravados;
+
+        /**
+         * Deve ser criado antes de {@link Match#iniciar()}, para gravar o
+         * evento de início.
+         */
+        public Gravador(Match partida, long semente) {
+            this.partida = partida;
+            this.semente = semente;
+            this.eventosGravados = partida.getTotalEventos();
+        }
+
+        /**
+         * Grava o minuto que acabou de ser jogado (o 0 é o apito inicial).
+         *
+         * @param posseMandante posse do mandante no minuto, 0 a 100
+         */
+        public void gravarMinuto(int minuto, int posseMandante) {
+            if (minuto != proximoMinuto) {
+                throw new IllegalStateException("Replay esperava o minuto " + proximoMinuto + ", veio " + minuto);
+            }
+            proximoMinuto++;
+
+            if (minuto % INTERVALO_QUADRO_CHAVE == 0) {
+                if ((totalQuadros + 1) * CAMPOS_QUADRO > quadros.length) {
+                    quadros = Arrays.copyOf(quadros, quadros.length * 2);
+                }
+                estado[OFFSET] = tamanho; // relativo aos blocos; corrigido em concluir
+                System.arraycopy(estado, 0, quadros, totalQuadros * CAMPOS_QUADRO, CAMPOS_QUADRO);
+                totalQuadros++;
+            }
+
+            int chutesM = partida.getChutesMandante() - estado[CHUTES_MANDANTE];
+            int chutesV = partida.getChutesVisitante() - estado[CHUTES_VISITANTE];
+            int faltasM = partida.getFaltasMandante() - estado[FALTAS_MANDANTE];
+            int faltasV = partida.getFaltasVisitante() - estado[FALTAS_VISITANTE];
+            int total = partida.getTotalEventos() - eventosGravados;
+
+            garantir(3 + total * 8);
+            blocos[tamanho++] = (byte) Math.max(0, Math.min(100, posseMandante));
+            blocos[tamanho++] = (byte) (Math.min(3, chutesM) | Math.min(3, chutesV) << 2
+                    | Math.min(3, faltasM) << 4 | Math.min(3, faltasV) << 6);
+            blocos[tamanho++] = (byte) total;
+            for (int i = 0; i < total; i++) {
+                long registro = partida.getRegistroEvento(eventosGravados + i);
+                for (int b = 56; b >= 0; b -= 8) {
+                    blocos[tamanho++] = (byte) (registro >>> b);
+                }
+                contarGol(registro, estado);
+            }
+            eventosGravados += total;
+
+            if (minuto > 0) {
+                estado[SOMA_POSSE] += posseMandante;
+            }
+            estado[CHUTES_MANDANTE] += Math.min(3, chutesM);
+            estado[CHUTES_VISITANTE] += Math.min(3, chutesV);
+            estado[FALTAS_MANDANTE] += Math.min(3, faltasM);
+            estado[FALTAS_VISITANTE] += Math.min(3, faltasV);
+        }
+
+        private void garantir(int extra) {
+            if (tamanho + extra > blocos.length) {
+                blocos = Arrays.copyOf(blocos, Math.max(blocos.length * 2, tamanho + extra));
+            }
+        }
+
+        /**
+         * Fecha o replay e o guarda na partida.
+         */
+        public Replay concluir() {
+            int inicioBlocos = TAMANHO_CABECALHO + totalQuadros * CAMPOS_QUADRO * 2;
+            ByteBuffer buf = ByteBuffer.allocate(inicioBlocos + tamanho);
+            buf.put(VERSAO);
+            buf.putLong(semente);
+            buf.put((byte) Math.max(0, proximoMinuto - 1));
+            buf.put((byte) totalQuadros);
+            for (int q = 0; q < totalQuadros; q++) {
+                for (int c = 0; c < CAMPOS_QUADRO; c++) {
+                    int valor = quadros[q * CAMPOS_QUADRO + c];
+                    buf.putShort((short) (c == OFFSET ? valor + inicioBlocos : valor));
+                }
+            }
+            buf.put(blocos, 0, tamanho);
+
+            Replay replay = new Replay(buf.array());
+            partida.setReplay(replay);
+            return replay;
+        }
+    }
+}
@@ -31,6 +31,7 @@ public class Scout {
     }
 
     private String nome;
+    private long semente; // origem dos streams de Random das observações
     private int habilidade; // 1-20, precisão das avaliações
     private int adaptabilidade; // 1-20, velocidade de adaptação a novas regiões
     private int julgamentoJovens; // 1-20, precisão em avaliar potencial
@@ -52,12 +53,21 @@ public class Scout {
     private int semanasRestantesMissao = 0;
 
     public Scout(String nome, int habilidade) {
+        this(nome, habilidade, new Random().nextLong());
+    }
+
+    /**
+     * Olheiro reproduzível: atributos e observações derivam da semente.
+     */
+    public Scout(String nome, int habilidade, long semente) {
+        Random r = new Random(semente);
         this.nome = nome;
+        this.semente = semente;
         this.habilidade = Math.max(1, Math.min(20, habilidade));
-        this.adaptabilidade = 10 + new Random().nextInt(8);
-        this.julgamentoJovens = 8 + new Random().nextInt(10);
-        this.julgamentoMentais = 8 + new Random().nextInt(10);
-        this.preferencia = PreferenciaTatica.values()[new Random().nextInt(4)];
+        this.adaptabilidade = 10 + r.nextInt(8);
+        this.julgamentoJovens = 8 + r.nextInt(10);
+        this.julgamentoMentais = 8 + r.nextInt(10);
+        this.preferencia = PreferenciaTatica.values()[r.nextInt(4)];
         this.regioesDominio = new HashSet<>();
         this.salarioSemanal = habilidade * 300;
         this.semanasContrato = 52;
@@ -110,9 +120,9 @@ public class Scout {
      * 
      * @return -0.3 a 0.3 (negativo = subestima, positivo = superestima)
      */
-    public double getVies() {
+    public double getVies(Random random) {
         // Viés baseado na preferência
-        return (new Random().nextDouble() - 0.5) * 0.3 * (1 - habilidade / 40.0);
+        return (random.nextDouble() - 0.5) * 0.3 * (1 - habilidade / 40.0);
     }
 
     /**
@@ -128,27 +138,39 @@ public class Scout {
         return true;
     }
 
+    /**
+     * Se o olheiro observa alguém nesta semana.
+     */
+    public boolean isObservandoNestaSemana() {
+        return emMissao && semanasRestantesMissao > 0 && alvoAtual != null;
+    }
+
+    /**
+     * Observação da semana sobre o alvo. Não mexe no estado do olheiro, então
+     * olheiros com alvos diferentes podem observar em paralelo.
+     */
+    public void observar(PlayerKnowledge conhecimento, Random random, int semana) {
+        // Semanas pares (contando a atual) assistem o jogo inteiro
+        conhecimento.processarObservacao(this, (semanasRestantesMissao - 1) % 2 == 0, random, semana);
+    }
+
     /**
      * Processa passagem de semana.
+     *
+     * @return o alvo, se a missão terminou nesta semana
      */
-    public PlayerKnowledge passarSemana(Map<Player, PlayerKnowledge> conhecimento) {
+    public Player passarSemana() {
         semanasContrato--;
         semanasNaRegiao++;
 
         if (emMissao && semanasRestantesMissao > 0) {
             semanasRestantesMissao--;
 
-            // Cada semana gera uma observação
-            if (alvoAtual != null) {
-                PlayerKnowledge pk = conhecimento.computeIfAbsent(alvoAtual, PlayerKnowledge::new);
-                pk.processarObservacao(this, semanasRestantesMissao % 2 == 0);
-
-                if (semanasRestantesMissao == 0) {
-                    emMissao = false;
-                    Player temp = alvoAtual;
-                    alvoAtual = null;
-                    return conhecimento.get(temp);
-                }
+            if (semanasRestantesMissao == 0) {
+                emMissao = false;
+                Player temp = alvoAtual;
+                alvoAtual = null;
+                return temp;
             }
         }
 
@@ -176,11 +198,14 @@ public class Scout {
         sb.append("Observações: ").append(conhecimento.getObservacoes()).append("\n\n");
 
         sb.append("───────── ATRIBUTOS ─────────\n");
-        sb.append("Finalização: ").append(conhecimento.getAtributoDisplay("finalizacao")).append("\n");
-        sb.append("Passe: ").append(conhecimento.getAtributoDisplay("passe")).append("\n");
-        sb.append("Técnica: ").append(conhecimento.getAtributoDisplay("tecnica")).append("\n");
-        sb.append("Força: ").append(conhecimento.getAtributoDisplay("forca")).append("\n");
-        sb.append("Velocidade: ").append(conhecimento.getAtributoDisplay("velocidade")).append("\n\n");
+        PlayerKnowledge.Atributo[] exibidos = {
+                PlayerKnowledge.Atributo.FINALIZACAO, PlayerKnowledge.Atributo.PASSE,
+                PlayerKnowledge.Atributo.TECNICA, PlayerKnowledge.Atributo.FORCA,
+                PlayerKnowledge.Atributo.VELOCIDADE };
+        for (PlayerKnowledge.Atributo a : exibidos) {
+            sb.append(a.getNome()).append(": ").append(conhecimento.getAtributoDisplay(a)).append("\n");
+        }
+        sb.append("\n");
 
         sb.append("Potencial: ").append(conhecimento.getPotencialDisplay()).append("\n\n");
 
@@ -223,6 +248,10 @@ public class Scout {
         return nome;
     }
 
+    public long getSemente() {
+        return semente;
+    }
+
     public int getHabilidade() {
         return habilidade;
     }
@@ -1,14 +1,19 @@
 package com.brasfm.model;
 
 import com.brasfm.model.enums.Position;
+import com.brasfm.model.enums.TipoLancamento;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
  * Representa um time de futebol completo.
  */
 public class Team {
+    private static final AtomicInteger PROXIMO_ID = new AtomicInteger(1);
+
+    private int id;
     private String nome;
     private String sigla;
     private String pais;
@@ -25,10 +30,12 @@ public class Team {
     // Infraestrutura
     private Stadium estadio;
     private Tatica tatica;
+    private ClubFacilities instalacoes;
 
     // Finanças
     private long saldo;
     private int patrocinioAnual;
+    private FinanceLedger financas;
 
     // Estatísticas da temporada
     private int pontos;
@@ -47,6 +54,7 @@ public class Team {
     private int moralTorcida; // 0-100
 
     public Team(String nome, String sigla) {
+        this.id = PROXIMO_ID.getAndIncrement();
         this.nome = nome;
         this.sigla = sigla;
         this.jogadores = new ArrayList<>();
@@ -54,6 +62,8 @@ public class Team {
         this.reservas = new ArrayList<>();
         this.juniores = new ArrayList<>();
         this.tatica = new Tatica();
+        this.instalacoes = new ClubFacilities();
+        this.financas = new FinanceLedger();
         this.divisao = 1;
         this.moralTorcida = 50;
     }
@@ -202,42 +212,60 @@ public class Team {
         return goleiros == 1;
     }
 
+    /**
+     * Lança uma receita ou despesa no saldo e no livro financeiro.
+     * O valor é sempre positivo; o tipo define o sinal.
+     */
+    public void lancar(TipoLancamento tipo, long valor) {
+        long movimento = tipo.isReceita() ? valor : -valor;
+        saldo += movimento;
+        getFinancas().registrar(tipo, movimento);
+    }
+
+    /**
+     * Soma dos salários semanais do elenco.
+     */
+    public long getFolhaSalarial() {
+        long total = 0;
+        for (int i = 0, n = jogadores.size(); i < n; i++) {
+            total += jogadores.get(i).getSalario();
+        }
+        return total;
+    }
+
     /**
      * Paga salários de todos os jogadores.
      */
     public void pagarSalarios() {
-        int totalSalarios = jogadores.stream()
-                .mapToInt(Player::getSalario)
-                .sum();
-        saldo -= totalSalarios;
+        lancar(TipoLancamento.SALARIOS, getFolhaSalarial());
     }
 
     /**
      * Recebe patrocínio (normalmente no início da temporada).
      */
     public void receberPatrocinio() {
-        saldo += patrocinioAnual;
+        lancar(TipoLancamento.PATROCINIO, patrocinioAnual);
     }
 
     /**
      * Recebe renda de um jogo.
      */
     public void receberRenda(int renda) {
-        saldo += renda;
+        lancar(TipoLancamento.BILHETERIA, renda);
     }
 
     /**
      * Recebe valor específico (transferência, prêmio, etc.)
      */
     public void receberPatrocinio(int valor) {
-        saldo += valor;
+        lancar(TipoLancamento.OUTRAS_RECEITAS, valor);
     }
 
     /**
      * Paga uma despesa.
      */
     public void pagarDespesa(int valor) {
-        saldo -= valor;
+        lancar(TipoLancamento.OUTRAS_DESPESAS, valor);
     }
 
     /**
@@ -307,15 +335,13 @@ public class Team {
     }
 
     /**
-     * Passa uma semana.
+     * Passa uma semana. Contratos dos jogadores correm pelo Calendario.
      */
     public void passarSemana() {
-        for (Player p : jogadores) {
-            p.passarSemana();
-        }
         if (estadio != null) {
             estadio.passarSemana();
         }
+        getInstalacoes().passarSemana();
     }
 
     /**
@@ -328,9 +354,33 @@ public class Team {
         derrotas = 0;
         golsPro = 0;
         golsContra = 0;
+        getFinancas().novaTemporada();
+    }
+
+    /**
+     * Após carregar um save: reserva os ids gravados do time e do elenco.
+     */
+    public void restaurarIds() {
+        if (id <= 0) {
+            id = PROXIMO_ID.getAndIncrement();
+        } else {
+            PROXIMO_ID.accumulateAndGet(id + 1, Math::max);
+        }
+        for (Player p : jogadores) {
+            p.restaurarId();
+        }
+        if (juniores != null) {
+            for (Player p : juniores) {
+                p.restaurarId();
+            }
+        }
     }
 
     // Getters e Setters
+    public int getId() {
+        return id;
+    }
+
     public String getNome() {
         return nome;
     }
@@ -411,6 +461,23 @@ public class Team {
         this.saldo = saldo;
     }
 
+    /**
+     * Livro financeiro. Saves antigos não têm o campo; cria vazio.
+     */
+    public FinanceLedger getFinancas() {
+        if (financas == null) {
+            financas = new FinanceLedger();
+        }
+        return financas;
+    }
+
+    public ClubFacilities getInstalacoes() {
+        if (instalacoes == null) {
+            instalacoes = new ClubFacilities();
+        }
+        return instalacoes;
+    }
+
     public int getPatrocinioAnual() {
         return patrocinioAnual;
     }
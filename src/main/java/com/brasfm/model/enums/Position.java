@@ -1,29 +1,52 @@
 package com.brasfm.model.enums;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Posições dos jogadores no campo.
  */
 public enum Position {
-    GOLEIRO("Goleiro", "GOL", true),
-    ZAGUEIRO("Zagueiro", "ZAG", false),
-    LATERAL_DIREITO("Lateral Direito", "LD", false),
-    LATERAL_ESQUERDO("Lateral Esquerdo", "LE", false),
-    VOLANTE("Volante", "VOL", false),
-    MEIA("Meia", "MEI", false),
-    MEIA_ATACANTE("Meia Atacante", "MA", false),
-    PONTA_DIREITA("Ponta Direita", "PD", false),
-    PONTA_ESQUERDA("Ponta Esquerda", "PE", false),
-    CENTROAVANTE("Centroavante", "CA", false),
-    ATACANTE("Atacante", "ATA", false);
+    GOLEIRO("Goleiro", "GOL", true, Setor.GOL),
+    ZAGUEIRO("Zagueiro", "ZAG", false, Setor.DEFESA),
+    LATERAL_DIREITO("Lateral Direito", "LD", false, Setor.DEFESA),
+    LATERAL_ESQUERDO("Lateral Esquerdo", "LE", false, Setor.DEFESA),
+    VOLANTE("Volante", "VOL", false, Setor.DEFESA, Setor.MEIO),
+    MEIA("Meia", "MEI", false, Setor.MEIO),
+    MEIA_ATACANTE("Meia Atacante", "MA", false, Setor.MEIO, Setor.ATAQUE),
+    PONTA_DIREITA("Ponta Direita", "PD", false, Setor.ATAQUE),
+    PONTA_ESQUERDA("Ponta Esquerda", "PE", false, Setor.ATAQUE),
+    CENTROAVANTE("Centroavante", "CA", false, Setor.ATAQUE),
+    ATACANTE("Atacante", "ATA", false, Setor.ATAQUE);
+
+    /**
+     * Setores do campo. Volantes e meias atacantes pertencem a dois.
+     */
+    public enum Setor {
+        GOL, DEFESA, MEIO, ATAQUE;
+
+        final int bit = 1 << ordinal();
+    }
 
     private final String nome;
     private final String sigla;
     private final boolean isGoleiro;
+    private final int setores; // bits de Setor
+    private final Set<Setor> conjuntoSetores;
 
-    Position(String nome, String sigla, boolean isGoleiro) {
+    Position(String nome, String sigla, boolean isGoleiro, Setor... setores) {
         this.nome = nome;
         this.sigla = sigla;
         this.isGoleiro = isGoleiro;
+        int bits = 0;
+        for (Setor s : setores) {
+            bits |= s.bit;
+        }
+        this.setores = bits;
+        EnumSet<Setor> conjunto = EnumSet.noneOf(Setor.class);
+        Collections.addAll(conjunto, setores);
+        this.conjuntoSetores = Collections.unmodifiableSet(conjunto);
     }
 
     public String getNome() {
@@ -38,12 +61,23 @@ public enum Position {
         return isGoleiro;
     }
 
+    public boolean isSetor(Setor setor) {
+        return (setores & setor.bit) != 0;
+    }
+
+    public Set<Setor> getSetores() {
+        return conjuntoSetores;
+    }
+
     public boolean isDefensiva() {
-        return this == ZAGUEIRO || this == LATERAL_DIREITO || this == LATERAL_ESQUERDO || this == VOLANTE;
+        return isSetor(Setor.DEFESA);
+    }
+
+    public boolean isMeioCampo() {
+        return isSetor(Setor.MEIO);
     }
 
     public boolean isOfensiva() {
-        return this == MEIA_ATACANTE || this == PONTA_DIREITA || this == PONTA_ESQUERDA ||
-                this == CENTROAVANTE || this == ATACANTE;
+        return isSetor(Setor.ATAQUE);
     }
 }
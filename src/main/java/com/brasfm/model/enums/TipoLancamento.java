@@ -0,0 +1,32 @@
+package com.brasfm.model.enums;
+
+/**
+ * Tipos de lançamento no livro financeiro de um clube.
+ */
+public enum TipoLancamento {
+    SALARIOS("Salários", false),
+    STAFF("Staff", false),
+    INSTALACOES("Instalações", false),
+    COMPRA_JOGADORES("Compra de jogadores", false),
+    OUTRAS_DESPESAS("Outras despesas", false),
+    BILHETERIA("Bilheteria", true),
+    PATROCINIO("Patrocínio", true),
+    VENDA_JOGADORES("Venda de jogadores", true),
+    OUTRAS_RECEITAS("Outras receitas", true);
+
+    private final String nome;
+    private final boolean receita;
+
+    TipoLancamento(String nome, boolean receita) {
+        this.nome = nome;
+        this.receita = receita;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public boolean isReceita() {
+        return receita;
+    }
+}
@@ -1,5 +1,8 @@
 package com.brasfm.persistence;
 
+import com.brasfm.model.Calendario;
+import com.brasfm.model.Player;
+import com.brasfm.model.Team;
 import com.google.gson.*;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
@@ -58,6 +61,10 @@ public class GameSaveManager {
         saveGame.setNomeArquivo(nomeSeguro);
         saveGame.setDataSave(LocalDateTime.now());
         saveGame.atualizarPreview();
+        saveGame.setSemanaAtual(Calendario.getSemanaAtual());
+        if (saveGame.getTransferencias() != null) {
+            saveGame.getTransferencias().compactar();
+        }
 
         Path arquivo = savesPath.resolve(nomeSeguro);
 
@@ -104,6 +111,7 @@ public class GameSaveManager {
 
         try (Reader reader = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
             SaveGame saveGame = gson.fromJson(reader, SaveGame.class);
+            restaurarEstado(saveGame);
             System.out.println("✅ Jogo carregado: " + nomeArquivo);
             return saveGame;
         } catch (Exception e) {
@@ -122,6 +130,7 @@ public class GameSaveManager {
 
         try (Reader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
             SaveGame saveGame = gson.fromJson(reader, SaveGame.class);
+            restaurarEstado(saveGame);
             System.out.println("✅ Jogo carregado: " + file.getName());
             return saveGame;
         } catch (Exception e) {
@@ -130,6 +139,39 @@ public class GameSaveManager {
         }
     }
 
+    /**
+     * Restaura o Calendario (contratos guardam a semana de término) e reserva
+     * os ids gravados para que jogadores e times criados depois não colidam
+     * com eles (o histórico de transferências referencia por id). O
+     * Calendario vem primeiro: os contratos de saves antigos são convertidos
+     * a partir dele.
+     */
+    private void restaurarEstado(SaveGame saveGame) {
+        if (saveGame == null)
+            return;
+        Calendario.setSemanaAtual(saveGame.getSemanaAtual());
+        if (saveGame.getLiga() != null) {
+            for (Team t : saveGame.getLiga().getTimes()) {
+                restaurarTime(t);
+            }
+        }
+        if (saveGame.getTimeJogador() != null) {
+            restaurarTime(saveGame.getTimeJogador());
+        }
+    }
+
+    private void restaurarTime(Team time) {
+        time.restaurarIds();
+        for (Player p : time.getJogadores()) {
+            p.converterContratoLegado();
+        }
+        if (time.getJuniores() != null) {
+            for (Player p : time.getJuniores()) {
+                p.converterContratoLegado();
+            }
+        }
+    }
+
     /**
      * Lista todos os saves disponíveis.
      */
@@ -142,8 +184,9 @@ public class GameSaveManager {
 
         try (DirectoryStream<Path> stream = Files.newDirectoryStream(savesPath, "*" + FILE_EXTENSION)) {
             for (Path arquivo : stream) {
-                try {
-                    SaveGame save = load(arquivo.getFileName().toString());
+                // Só lê o preview: não mexe no Calendario do jogo em andamento
+                try (Reader reader = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+                    SaveGame save = gson.fromJson(reader, SaveGame.class);
                     if (save != null) {
                         saves.add(save);
                     }
@@ -2,6 +2,7 @@ package com.brasfm.persistence;
 
 import com.brasfm.model.Team;
 import com.brasfm.championship.League;
+import com.brasfm.economy.TransferLedger;
 import java.time.LocalDateTime;
 
 /**
@@ -19,6 +20,7 @@ public class SaveGame {
     private League liga;
     private int rodadaAtual;
     private int semanaAtual;
+    private TransferLedger transferencias;
 
     // Preview para lista de saves
     private String previewTexto;
@@ -124,6 +126,14 @@ public class SaveGame {
         this.semanaAtual = semanaAtual;
     }
 
+    public TransferLedger getTransferencias() {
+        return transferencias;
+    }
+
+    public void setTransferencias(TransferLedger transferencias) {
+        this.transferencias = transferencias;
+    }
+
     public String getPreviewTexto() {
         return previewTexto;
     }
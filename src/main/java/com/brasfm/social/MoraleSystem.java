@@ -2,9 +2,19 @@ package com.brasfm.social;
 
 import com.brasfm.model.*;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Sistema de Moral com "Sweet Spot" - evita extremos de euforia e depressão.
+ *
+ * Uma única instância guarda o moral do mundo inteiro em arrays primitivos
+ * indexados pelo id do jogador. Quem nunca recebeu um evento está no moral
+ * padrão e não precisa de processamento semanal; a semana é uma passada
+ * linear pelos arrays. O modificador de performance sai de tabelas por
+ * valor de moral, então o motor de partida pode consultá-lo a cada lance.
+ *
+ * Escritas (eventos e semana) vêm de uma thread só; leituras podem vir de
+ * vários motores de partida ao mesmo tempo.
  */
 public class MoraleSystem {
 
@@ -98,100 +108,191 @@ public class MoraleSystem {
         }
     }
 
-    private Map<Player, Integer> moralJogadores = new HashMap<>();
-    private Map<Player, Integer> semanasNoEstado = new HashMap<>(); // Para complacência
+    public static final int MORAL_PADRAO = 50;
+
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    // Perfil de personalidade relevante para o moral, em bits
+    private static final byte RESILIENTE = 1; // pressão > 15
+    private static final byte AMBICIOSO = 2; // ambição > 15
+    private static final byte NERVOSO = 4; // jogos importantes < 10
+
+    // Modificadores por valor de moral (0-100)
+    private static final double[] MODIFICADOR = new double[101];
+    private static final double[] MODIFICADOR_ANSIOSO = new double[101];
+    private static final boolean[] EUFORICO = new boolean[101];
+
+    static {
+        for (int m = 0; m <= 100; m++) {
+            EstadoMoral estado = EstadoMoral.fromValor(m);
+            MODIFICADOR[m] = estado.getModificador();
+            MODIFICADOR_ANSIOSO[m] = estado.ordinal() < EstadoMoral.MOTIVADO.ordinal()
+                    ? estado.getModificador() - 0.10
+                    : estado.getModificador();
+            EUFORICO[m] = estado == EstadoMoral.EUFORICO;
+        }
+    }
+
+    /**
+     * Arrays por id de jogador, todos do mesmo tamanho. Ao crescer a tabela
+     * inteira é trocada de uma vez, então quem lê sem trava nunca vê arrays
+     * de tamanhos diferentes.
+     */
+    private static final class Tabela {
+        final Player[] jogadores;
+        final byte[] moral;
+        final byte[] semanasNoEstado; // Para complacência
+        final byte[] perfil;
+
+        Tabela(int tamanho) {
+            jogadores = new Player[tamanho];
+            moral = new byte[tamanho];
+            semanasNoEstado = new byte[tamanho];
+            perfil = new byte[tamanho];
+            Arrays.fill(moral, (byte) MORAL_PADRAO);
+        }
+
+        Tabela(Tabela antiga, int tamanho) {
+            jogadores = Arrays.copyOf(antiga.jogadores, tamanho);
+            moral = Arrays.copyOf(antiga.moral, tamanho);
+            semanasNoEstado = Arrays.copyOf(antiga.semanasNoEstado, tamanho);
+            perfil = Arrays.copyOf(antiga.perfil, tamanho);
+            Arrays.fill(moral, antiga.moral.length, tamanho, (byte) MORAL_PADRAO);
+        }
+    }
+
+    private volatile Tabela tabela = new Tabela(CAPACIDADE_INICIAL);
+    private int maiorId;
+
     private Random random = new Random();
 
     /**
      * Aplica evento de moral a um jogador.
      */
     public void aplicarEvento(Player jogador, TipoEvento evento) {
-        int moralAtual = moralJogadores.getOrDefault(jogador, 50);
+        aplicar(registrar(jogador), evento.getImpacto());
+    }
+
+    /**
+     * Aplica o mesmo evento a vários jogadores (ex.: elenco após o jogo).
+     */
+    public void aplicarEvento(Collection<Player> afetados, TipoEvento evento) {
         int impacto = evento.getImpacto();
+        for (Player p : afetados) {
+            aplicar(registrar(p), impacto);
+        }
+    }
 
+    /**
+     * Aplica eventos diferentes de uma vez, par a par.
+     */
+    public void aplicarEventos(List<Player> afetados, List<TipoEvento> eventos) {
+        for (int i = 0; i < afetados.size(); i++) {
+            aplicar(registrar(afetados.get(i)), eventos.get(i).getImpacto());
+        }
+    }
+
+    private void aplicar(int id, int impacto) {
+        Tabela t = tabela;
         // Personalidade afeta impacto
-        PlayerPersonality pers = jogador.getPersonality();
-        if (pers != null) {
-            // Jogadores com alta determinação lidam melhor com negativos
-            if (impacto < 0 && pers.getPressao() > 15) {
-                impacto = (int) (impacto * 0.6);
-            }
-            // Jogadores ambiciosos reagem mais a positivos
-            if (impacto > 0 && pers.getAmbicao() > 15) {
-                impacto = (int) (impacto * 1.3);
-            }
+        // Jogadores com alta determinação lidam melhor com negativos
+        if (impacto < 0 && (t.perfil[id] & RESILIENTE) != 0) {
+            impacto = (int) (impacto * 0.6);
+        }
+        // Jogadores ambiciosos reagem mais a positivos
+        if (impacto > 0 && (t.perfil[id] & AMBICIOSO) != 0) {
+            impacto = (int) (impacto * 1.3);
         }
 
-        int novaMoral = Math.max(0, Math.min(100, moralAtual + impacto));
-        moralJogadores.put(jogador, novaMoral);
+        t.moral[id] = (byte) Math.max(0, Math.min(100, t.moral[id] + impacto));
 
         // Reset contador de estado
-        semanasNoEstado.put(jogador, 0);
+        t.semanasNoEstado[id] = 0;
     }
 
     /**
-     * Processa passagem de semana - verifica complacência.
+     * Passa a semana de todos os jogadores conhecidos - verifica complacência.
+     * Aproveita a passada para atualizar o perfil de quem mudou de
+     * personalidade.
      */
-    public List<String> processarSemana(List<Player> elenco) {
+    public List<String> processarSemana() {
+        Tabela t = tabela;
         List<String> eventos = new ArrayList<>();
+        for (int id = 1; id <= maiorId; id++) {
+            Player p = t.jogadores[id];
+            if (p == null)
+                continue;
+            t.perfil[id] = calcularPerfil(p);
+            if (passarSemana(id)) {
+                eventos.add("⚠️ " + p.getNome() + " mostra sinais de complacência");
+            }
+        }
+        return eventos;
+    }
 
+    /**
+     * Passa a semana só dos jogadores de um elenco.
+     */
+    public List<String> processarSemana(List<Player> elenco) {
+        List<String> eventos = new ArrayList<>();
         for (Player p : elenco) {
-            int moral = moralJogadores.getOrDefault(p, 50);
-            int semanas = semanasNoEstado.getOrDefault(p, 0) + 1;
-            semanasNoEstado.put(p, semanas);
-
-            EstadoMoral estado = EstadoMoral.fromValor(moral);
-
-            // Complacência após 4+ semanas em euforia
-            if (estado == EstadoMoral.EUFORICO && semanas >= 4) {
-                // Risco de complacência
-                if (random.nextDouble() < 0.3) {
-                    moral -= 10;
-                    moralJogadores.put(p, moral);
-                    eventos.add("⚠️ " + p.getNome() + " mostra sinais de complacência");
-                }
+            if (passarSemana(registrar(p))) {
+                eventos.add("⚠️ " + p.getNome() + " mostra sinais de complacência");
             }
+        }
+        return eventos;
+    }
 
-            // Recuperação natural de estados extremos
-            if (estado == EstadoMoral.DEPRIMIDO && semanas >= 2) {
-                moral += 5;
-                moralJogadores.put(p, moral);
-            }
+    /**
+     * @return true se o jogador ficou complacente
+     */
+    private boolean passarSemana(int id) {
+        Tabela t = tabela;
+        int semanas = Math.min(Byte.MAX_VALUE, t.semanasNoEstado[id] + 1);
+        t.semanasNoEstado[id] = (byte) semanas;
+        int valor = t.moral[id];
+        boolean complacente = false;
+
+        // Complacência após 4+ semanas em euforia
+        if (EUFORICO[valor] && semanas >= 4 && random.nextDouble() < 0.3) {
+            valor -= 10;
+            complacente = true;
+        }
 
-            // Decaimento natural da euforia
-            if (moral > 80) {
-                moral -= 2;
-                moralJogadores.put(p, moral);
-            }
+        // Recuperação natural de estados extremos
+        if (t.moral[id] <= EstadoMoral.DEPRIMIDO.max && semanas >= 2) {
+            valor += 5;
         }
 
-        return eventos;
+        // Decaimento natural da euforia
+        if (valor > 80) {
+            valor -= 2;
+        }
+        t.moral[id] = (byte) valor;
+        return complacente;
     }
 
     /**
-     * Calcula modificador de performance baseado no moral.
+     * Calcula modificador de performance baseado no moral. Só lê a tabela
+     * publicada; pode ser chamado por vários motores de partida ao mesmo
+     * tempo, inclusive enquanto outra thread registra jogadores.
      */
     public double getModificadorPerformance(Player jogador, boolean jogoGrande) {
-        int moral = moralJogadores.getOrDefault(jogador, 50);
-        EstadoMoral estado = EstadoMoral.fromValor(moral);
-        double mod = estado.getModificador();
+        Tabela t = tabela;
+        int id = jogador.getId();
+        boolean conhecido = id < t.moral.length && t.jogadores[id] == jogador;
+        int valor = conhecido ? t.moral[id] : MORAL_PADRAO;
+        if (!jogoGrande)
+            return MODIFICADOR[valor];
 
         // Eufóricos podem falhar em jogos grandes (excesso de confiança)
-        if (estado == EstadoMoral.EUFORICO && jogoGrande) {
-            if (random.nextDouble() < 0.25) {
-                mod = -0.08;
-            }
+        if (EUFORICO[valor] && ThreadLocalRandom.current().nextDouble() < 0.25) {
+            return -0.08;
         }
 
         // Jogadores nervosos sofrem mais em jogos grandes
-        PlayerPersonality pers = jogador.getPersonality();
-        if (jogoGrande && pers != null && pers.getJogosImportantes() < 10) {
-            if (estado.ordinal() < EstadoMoral.MOTIVADO.ordinal()) {
-                mod -= 0.10; // Ansiedade
-            }
-        }
-
-        return mod;
+        byte p = conhecido ? t.perfil[id] : calcularPerfil(jogador);
+        return (p & NERVOSO) != 0 ? MODIFICADOR_ANSIOSO[valor] : MODIFICADOR[valor];
     }
 
     /**
@@ -199,11 +300,11 @@ public class MoraleSystem {
      */
     public int getMoralMedio(List<Player> elenco) {
         if (elenco.isEmpty())
-            return 50;
+            return MORAL_PADRAO;
 
         int soma = 0;
         for (Player p : elenco) {
-            soma += moralJogadores.getOrDefault(p, 50);
+            soma += getMoral(p);
         }
         return soma / elenco.size();
     }
@@ -214,7 +315,7 @@ public class MoraleSystem {
     public boolean noSweetSpot(List<Player> titulares) {
         int count = 0;
         for (Player p : titulares) {
-            EstadoMoral estado = EstadoMoral.fromValor(moralJogadores.getOrDefault(p, 50));
+            EstadoMoral estado = getEstado(p);
             if (estado == EstadoMoral.FOCADO || estado == EstadoMoral.MOTIVADO) {
                 count++;
             }
@@ -222,13 +323,50 @@ public class MoraleSystem {
         return count >= titulares.size() * 0.7; // 70% no ideal
     }
 
+    /**
+     * Garante espaço para o jogador, atualiza o perfil dele e devolve o
+     * índice. A tabela nova só é publicada depois de copiada.
+     */
+    private int registrar(Player p) {
+        int id = p.getId();
+        Tabela t = tabela;
+        if (id >= t.moral.length) {
+            t = new Tabela(t, Math.max(id + 1, t.moral.length * 2));
+            tabela = t;
+        }
+        t.perfil[id] = calcularPerfil(p);
+        if (t.jogadores[id] != p) {
+            t.jogadores[id] = p;
+            maiorId = Math.max(maiorId, id);
+        }
+        return id;
+    }
+
+    private static byte calcularPerfil(Player p) {
+        PlayerPersonality pers = p.getPersonality();
+        if (pers == null)
+            return 0;
+
+        byte bits = 0;
+        if (pers.getPressao() > 15)
+            bits |= RESILIENTE;
+        if (pers.getAmbicao() > 15)
+            bits |= AMBICIOSO;
+        if (pers.getJogosImportantes() < 10)
+            bits |= NERVOSO;
+        return bits;
+    }
+
     // Getters
     public int getMoral(Player p) {
-        return moralJogadores.getOrDefault(p, 50);
+        Tabela t = tabela;
+        int id = p.getId();
+        return id < t.moral.length && t.jogadores[id] == p ? t.moral[id] : MORAL_PADRAO;
     }
 
     public void setMoral(Player p, int v) {
-        moralJogadores.put(p, Math.max(0, Math.min(100, v)));
+        int id = registrar(p);
+        tabela.moral[id] = (byte) Math.max(0, Math.min(100, v));
     }
 
     public EstadoMoral getEstado(Player p) {
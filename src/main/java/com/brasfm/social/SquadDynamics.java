@@ -2,9 +2,17 @@ package com.brasfm.social;
 
 import com.brasfm.model.*;
 import java.util.*;
+import java.util.stream.IntStream;
 
 /**
  * Sistema de grupos sociais e hierarquias no vestiário.
+ *
+ * O estado é mantido por eventos (chegada, saída, idade, papel e a passagem
+ * das semanas) em vez de ser recalculado a partir do elenco. Cada líder tem o
+ * seu conjunto de seguidores indexado, atualizado quando alguém entra ou sai
+ * de um grupo que ele lidera. As mudanças de grupo pelo tempo de clube ficam
+ * em filas pela semana em que vencem, então uma semana sem mudanças não visita
+ * o elenco. Isso deixa barato rodar o vestiário de todos os clubes da IA.
  */
 public class SquadDynamics {
 
@@ -50,88 +58,179 @@ public class SquadDynamics {
         }
     }
 
+    /** Semanas até o recém-chegado se integrar. */
+    public static final int SEMANAS_INTEGRACAO = 12;
+
+    /** Semanas até virar veterano (3 anos). */
+    public static final int SEMANAS_VETERANO = 156;
+
+    /** Idade a partir da qual o jogador sai do grupo dos jovens. */
+    public static final int IDADE_JOVEM = 23;
+
+    /** Influência a partir da qual o papel tem seguidores indexados. */
+    public static final int INFLUENCIA_LIDER = 10;
+
+    /** Grupos que geram seguidores: quem divide um deles com o líder o segue. */
+    private static final Set<TipoGrupo> GRUPOS_SEGUIDORES = EnumSet.of(TipoGrupo.VETERANOS);
+
+    private static final int MINIMO_PARALELO = 64;
+
+    /**
+     * Situação de um jogador no vestiário.
+     */
+    private static class Membro {
+        final Player jogador;
+        final int entrada; // semana interna da chegada
+        final EnumSet<TipoGrupo> grupos = EnumSet.noneOf(TipoGrupo.class);
+        PapelVestiario papel;
+
+        Membro(Player jogador, int entrada) {
+            this.jogador = jogador;
+            this.entrada = entrada;
+        }
+    }
+
+    private final Map<Player, Membro> membros = new HashMap<>();
+
     // Grupos sociais
-    private Map<String, List<Player>> gruposPorNacionalidade = new HashMap<>();
-    private List<Player> veteranos = new ArrayList<>();
-    private List<Player> jovens = new ArrayList<>();
-    private List<Player> contratacoes = new ArrayList<>();
+    private final Map<TipoGrupo, Set<Player>> grupos = new EnumMap<>(TipoGrupo.class);
 
     // Hierarquia
-    private Map<Player, PapelVestiario> papeis = new HashMap<>();
     private Player capitao;
-    private List<Player> lideresEquipa = new ArrayList<>();
+    private final List<Player> lideresEquipa = new ArrayList<>();
+    private final Map<Player, Set<Player>> seguidores = new HashMap<>(); // só líderes
+
+    // Mudanças agendadas pelo tempo de clube
+    private final PriorityQueue<Membro> aIntegrar = new PriorityQueue<>(
+            Comparator.comparingInt(m -> m.entrada));
+    private final PriorityQueue<Membro> aVeteranos = new PriorityQueue<>(
+            Comparator.comparingInt(m -> m.entrada));
+    private int semana;
 
     // Coesão tática (0-100)
     private int coesaoTatica = 50;
 
     // Conflitos ativos
-    private Map<Player, List<Player>> conflitos = new HashMap<>();
+    private final Map<Player, List<Player>> conflitos = new HashMap<>();
+
+    public SquadDynamics() {
+        for (TipoGrupo tipo : TipoGrupo.values()) {
+            grupos.put(tipo, new LinkedHashSet<>());
+        }
+    }
 
-    // Semanas no clube
-    private Map<Player, Integer> semanasNoClube = new HashMap<>();
+    // ==================== EVENTOS ====================
 
     /**
-     * Atualiza os grupos sociais baseado no elenco.
+     * Sincroniza com o elenco: registra quem chegou sem passar por
+     * {@link #processarContratacao} e esquece quem saiu sem
+     * {@link #processarSaida}. Quem já está registrado não é recalculado.
      */
     public void atualizarGrupos(List<Player> elenco) {
-        // Limpa
-        gruposPorNacionalidade.clear();
-        veteranos.clear();
-        jovens.clear();
-
-        for (Player p : elenco) {
-            int semanas = semanasNoClube.getOrDefault(p, 0);
+        Set<Player> atuais = Collections.newSetFromMap(new IdentityHashMap<>());
+        atuais.addAll(elenco);
 
-            // Veteranos: 3+ anos (156 semanas)
-            if (semanas >= 156) {
-                veteranos.add(p);
+        List<Player> ausentes = new ArrayList<>();
+        for (Player p : membros.keySet()) {
+            if (!atuais.contains(p)) {
+                ausentes.add(p);
             }
+        }
+        for (Player p : ausentes) {
+            remover(p);
+        }
 
-            // Jovens: sub-23
-            if (p.getIdade() < 23) {
-                jovens.add(p);
+        for (Player p : elenco) {
+            if (!membros.containsKey(p)) {
+                registrarJogador(p);
             }
+        }
+    }
 
-            // Contratações recentes: < 12 semanas
-            if (semanas < 12) {
-                if (!contratacoes.contains(p)) {
-                    contratacoes.add(p);
-                }
-            } else {
-                contratacoes.remove(p);
-            }
+    /**
+     * Registra um jogador que acabou de chegar, sem impacto na coesão.
+     */
+    public void registrarJogador(Player p) {
+        registrarJogador(p, 0);
+    }
 
-            // Atribui papel se não tiver
-            if (!papeis.containsKey(p)) {
-                atribuirPapelInicial(p);
-            }
+    /**
+     * Registra um jogador que já está no clube há algumas semanas (ex.:
+     * elenco inicial de um clube da IA).
+     */
+    public void registrarJogador(Player p, int semanasNoClube) {
+        if (membros.containsKey(p))
+            return;
+
+        Membro m = new Membro(p, semana - Math.max(0, semanasNoClube));
+        membros.put(p, m);
+
+        int semanas = semana - m.entrada;
+        if (semanas < SEMANAS_INTEGRACAO) {
+            entrarGrupo(m, TipoGrupo.CONTRATACOES);
+            aIntegrar.add(m);
         }
+        if (semanas >= SEMANAS_VETERANO) {
+            entrarGrupo(m, TipoGrupo.VETERANOS);
+        } else {
+            aVeteranos.add(m);
+        }
+        atualizarIdade(p);
+        definirPapel(m, papelInicial(m));
     }
 
-    private void atribuirPapelInicial(Player p) {
-        int semanas = semanasNoClube.getOrDefault(p, 0);
-        PlayerPersonality pers = p.getPersonality();
+    private PapelVestiario papelInicial(Membro m) {
+        int semanas = semana - m.entrada;
+        PlayerPersonality pers = m.jogador.getPersonality();
 
-        if (semanas < 12) {
-            papeis.put(p, PapelVestiario.NOVATO);
-        } else if (semanas >= 156 && pers != null && pers.getLideranca() > 12) {
-            papeis.put(p, PapelVestiario.VETERANO);
+        if (semanas < SEMANAS_INTEGRACAO) {
+            return PapelVestiario.NOVATO;
+        } else if (semanas >= SEMANAS_VETERANO && pers != null && pers.getLideranca() > 12) {
+            return PapelVestiario.VETERANO;
         } else if (pers != null && pers.getLideranca() > 15) {
-            papeis.put(p, PapelVestiario.INFLUENTE);
+            return PapelVestiario.INFLUENTE;
+        }
+        return PapelVestiario.REGULAR;
+    }
+
+    /**
+     * Reavalia os grupos que dependem da idade. A idade só muda na virada de
+     * temporada; veja {@link #novaTemporada()}.
+     */
+    public void atualizarIdade(Player p) {
+        Membro m = membros.get(p);
+        if (m == null)
+            return;
+
+        if (p.getIdade() < IDADE_JOVEM) {
+            entrarGrupo(m, TipoGrupo.JOVENS);
         } else {
-            papeis.put(p, PapelVestiario.REGULAR);
+            sairGrupo(m, TipoGrupo.JOVENS);
         }
     }
 
     /**
-     * Define o capitão do time.
+     * Virada de temporada: todos fizeram aniversário.
+     */
+    public void novaTemporada() {
+        for (Player p : membros.keySet()) {
+            atualizarIdade(p);
+        }
+    }
+
+    /**
+     * Define o capitão do time. Só vale para quem já é do elenco; um jogador
+     * que não foi registrado é ignorado, como em {@link #definirPapel}.
      */
     public void definirCapitao(Player novoCapitao) {
+        if (!membros.containsKey(novoCapitao))
+            return;
+
         Player antigoCapitao = this.capitao;
 
         // Remove papel antigo
         if (antigoCapitao != null) {
-            papeis.put(antigoCapitao, PapelVestiario.VETERANO);
+            definirPapel(antigoCapitao, PapelVestiario.VETERANO);
 
             // Alienar capitão pode causar problema
             PlayerPersonality pers = antigoCapitao.getPersonality();
@@ -144,48 +243,112 @@ public class SquadDynamics {
         }
 
         this.capitao = novoCapitao;
-        papeis.put(novoCapitao, PapelVestiario.CAPITAO);
+        definirPapel(novoCapitao, PapelVestiario.CAPITAO);
 
         if (!lideresEquipa.contains(novoCapitao)) {
             lideresEquipa.add(novoCapitao);
         }
     }
 
+    /**
+     * Muda o papel de um jogador no vestiário.
+     */
+    public void definirPapel(Player p, PapelVestiario papel) {
+        Membro m = membros.get(p);
+        if (m != null) {
+            definirPapel(m, papel);
+        }
+    }
+
+    private void definirPapel(Membro m, PapelVestiario papel) {
+        boolean eraLider = m.papel != null && m.papel.getInfluencia() >= INFLUENCIA_LIDER;
+        boolean ehLider = papel.getInfluencia() >= INFLUENCIA_LIDER;
+        m.papel = papel;
+
+        if (ehLider && !eraLider) {
+            seguidores.put(m.jogador, calcularSeguidores(m));
+        } else if (!ehLider && eraLider) {
+            seguidores.remove(m.jogador);
+        }
+    }
+
     /**
      * Retorna seguidores de um líder (mesmo grupo social).
      */
     public List<Player> getSeguidores(Player lider) {
-        List<Player> seguidores = new ArrayList<>();
+        Set<Player> indexados = seguidores.get(lider);
+        if (indexados != null) {
+            return new ArrayList<>(indexados);
+        }
+        Membro m = membros.get(lider);
+        return m != null ? new ArrayList<>(calcularSeguidores(m)) : new ArrayList<>();
+    }
 
-        // Adiciona do mesmo grupo de nacionalidade
-        for (List<Player> grupo : gruposPorNacionalidade.values()) {
-            if (grupo.contains(lider)) {
-                seguidores.addAll(grupo);
+    private Set<Player> calcularSeguidores(Membro lider) {
+        Set<Player> resultado = new LinkedHashSet<>();
+        for (TipoGrupo tipo : lider.grupos) {
+            if (GRUPOS_SEGUIDORES.contains(tipo)) {
+                resultado.addAll(grupos.get(tipo));
             }
         }
+        resultado.remove(lider.jogador);
+        return resultado;
+    }
 
-        // Veteranos seguem veteranos
-        if (veteranos.contains(lider)) {
-            seguidores.addAll(veteranos);
+    private void entrarGrupo(Membro m, TipoGrupo tipo) {
+        if (!m.grupos.add(tipo))
+            return;
+        grupos.get(tipo).add(m.jogador);
+        if (!GRUPOS_SEGUIDORES.contains(tipo))
+            return;
+
+        for (Map.Entry<Player, Set<Player>> e : seguidores.entrySet()) {
+            Membro lider = membros.get(e.getKey());
+            if (lider == m) {
+                e.setValue(calcularSeguidores(m));
+            } else if (lider.grupos.contains(tipo)) {
+                e.getValue().add(m.jogador);
+            }
         }
+    }
 
-        seguidores.remove(lider);
-        return seguidores;
+    private void sairGrupo(Membro m, TipoGrupo tipo) {
+        if (!m.grupos.remove(tipo))
+            return;
+        grupos.get(tipo).remove(m.jogador);
+        if (!GRUPOS_SEGUIDORES.contains(tipo))
+            return;
+
+        for (Map.Entry<Player, Set<Player>> e : seguidores.entrySet()) {
+            Membro lider = membros.get(e.getKey());
+            if (lider == m) {
+                e.setValue(calcularSeguidores(m));
+            } else if (lider.grupos.contains(tipo) && !compartilhaGrupoSeguidor(lider, m)) {
+                e.getValue().remove(m.jogador);
+            }
+        }
+    }
+
+    private static boolean compartilhaGrupoSeguidor(Membro a, Membro b) {
+        for (TipoGrupo tipo : a.grupos) {
+            if (GRUPOS_SEGUIDORES.contains(tipo) && b.grupos.contains(tipo))
+                return true;
+        }
+        return false;
     }
 
     /**
      * Processa contratação de novo jogador.
      */
     public String processarContratacao(Player novoJogador) {
-        semanasNoClube.put(novoJogador, 0);
-        contratacoes.add(novoJogador);
-        papeis.put(novoJogador, PapelVestiario.NOVATO);
+        remover(novoJogador); // volta ao clube conta como chegada nova
+        registrarJogador(novoJogador, 0);
 
         // Impacto na coesão
         int impacto = -3;
 
         // Muitas contratações = problema maior
-        if (contratacoes.size() > 5) {
+        if (grupos.get(TipoGrupo.CONTRATACOES).size() > 5) {
             impacto = -8;
         }
 
@@ -202,14 +365,14 @@ public class SquadDynamics {
         List<String> eventos = new ArrayList<>();
 
         // Se era líder, pode causar revolta
-        PapelVestiario papel = papeis.getOrDefault(jogador, PapelVestiario.REGULAR);
+        PapelVestiario papel = getPapel(jogador);
 
-        if (vendaForcada && papel.getInfluencia() >= 10) {
-            List<Player> seguidores = getSeguidores(jogador);
+        if (vendaForcada && papel.getInfluencia() >= INFLUENCIA_LIDER) {
+            List<Player> afetados = getSeguidores(jogador);
             eventos.add("⚠️ " + jogador.getNome() + " era um líder! " +
-                    seguidores.size() + " jogadores afetados.");
+                    afetados.size() + " jogadores afetados.");
 
-            for (Player s : seguidores) {
+            for (Player s : afetados) {
                 // Seguidores ficam chateados
                 conflitos.computeIfAbsent(s, k -> new ArrayList<>());
             }
@@ -217,42 +380,76 @@ public class SquadDynamics {
             coesaoTatica = Math.max(10, coesaoTatica - 15);
         }
 
-        // Limpa
-        papeis.remove(jogador);
-        semanasNoClube.remove(jogador);
-        contratacoes.remove(jogador);
+        remover(jogador);
+        return eventos;
+    }
+
+    private void remover(Player jogador) {
+        Membro m = membros.get(jogador);
+        if (m == null)
+            return;
+
+        definirPapel(m, PapelVestiario.ISOLADO);
+        for (TipoGrupo tipo : EnumSet.copyOf(m.grupos)) {
+            sairGrupo(m, tipo);
+        }
+        membros.remove(jogador);
+        aIntegrar.remove(m);
+        aVeteranos.remove(m);
+
         lideresEquipa.remove(jogador);
         if (capitao == jogador)
             capitao = null;
 
-        return eventos;
+        conflitos.remove(jogador);
+        for (List<Player> alvos : conflitos.values()) {
+            alvos.remove(jogador);
+        }
     }
 
     /**
      * Processa passagem de semana.
      */
     public void processarSemana() {
-        // Incrementa tempo no clube
-        for (Player p : semanasNoClube.keySet()) {
-            semanasNoClube.merge(p, 1, Integer::sum);
-        }
+        semana++;
 
         // Coesão melhora naturalmente
-        if (contratacoes.size() <= 2) {
+        if (grupos.get(TipoGrupo.CONTRATACOES).size() <= 2) {
             coesaoTatica = Math.min(100, coesaoTatica + 1);
         }
 
         // Novatos se integram após 12 semanas
-        Iterator<Player> it = contratacoes.iterator();
-        while (it.hasNext()) {
-            Player p = it.next();
-            if (semanasNoClube.getOrDefault(p, 0) >= 12) {
-                it.remove();
-                papeis.put(p, PapelVestiario.REGULAR);
+        while (!aIntegrar.isEmpty() && semana - aIntegrar.peek().entrada >= SEMANAS_INTEGRACAO) {
+            Membro m = aIntegrar.poll();
+            sairGrupo(m, TipoGrupo.CONTRATACOES);
+            if (m.papel == PapelVestiario.NOVATO) {
+                definirPapel(m, PapelVestiario.REGULAR);
+            }
+        }
+
+        // Após 3 anos vira veterano; os de liderança ganham a voz no grupo
+        while (!aVeteranos.isEmpty() && semana - aVeteranos.peek().entrada >= SEMANAS_VETERANO) {
+            Membro m = aVeteranos.poll();
+            entrarGrupo(m, TipoGrupo.VETERANOS);
+            PlayerPersonality pers = m.jogador.getPersonality();
+            if (m.papel == PapelVestiario.REGULAR && pers != null && pers.getLideranca() > 12) {
+                definirPapel(m, PapelVestiario.VETERANO);
             }
         }
     }
 
+    /**
+     * Passa a semana de vários vestiários (ex.: todos os clubes da IA). Cada
+     * vestiário só mexe no próprio estado, então rodam em paralelo.
+     */
+    public static void processarSemana(List<SquadDynamics> vestiarios) {
+        IntStream indices = IntStream.range(0, vestiarios.size());
+        if (vestiarios.size() >= MINIMO_PARALELO) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> vestiarios.get(i).processarSemana());
+    }
+
     /**
      * Calcula modificador de coesão para partidas.
      */
@@ -290,22 +487,24 @@ public class SquadDynamics {
     }
 
     public List<Player> getVeteranos() {
-        return veteranos;
+        return new ArrayList<>(grupos.get(TipoGrupo.VETERANOS));
+    }
+
+    public List<Player> getJovens() {
+        return new ArrayList<>(grupos.get(TipoGrupo.JOVENS));
     }
 
     public List<Player> getContratacoes() {
-        return contratacoes;
+        return new ArrayList<>(grupos.get(TipoGrupo.CONTRATACOES));
     }
 
     public PapelVestiario getPapel(Player p) {
-        return papeis.getOrDefault(p, PapelVestiario.REGULAR);
+        Membro m = membros.get(p);
+        return m != null ? m.papel : PapelVestiario.REGULAR;
     }
 
     public int getSemanasNoClube(Player p) {
-        return semanasNoClube.getOrDefault(p, 0);
-    }
-
-    public void registrarJogador(Player p) {
-        semanasNoClube.putIfAbsent(p, 0);
+        Membro m = membros.get(p);
+        return m != null ? semana - m.entrada : 0;
     }
 }
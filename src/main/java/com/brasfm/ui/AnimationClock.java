@@ -0,0 +1,198 @@
+package com.brasfm.ui;
+
+import javax.swing.Timer;
+import java.awt.Component;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+/**
+ * Relógio de animação único da aplicação.
+ *
+ * Cada animação se inscreve com o próprio intervalo e é chamada com o
+ * instante do quadro ({@link System#nanoTime()}); devolve false quando
+ * parou de se mexer e sai do relógio. Um só {@link Timer} na EDT dorme até
+ * o próximo vencimento, então uma animação de 5 s não acorda a EDT 60 vezes
+ * por segundo, e sem nada para fazer o timer fica parado.
+ *
+ * Uma animação com dono fica suspensa enquanto o dono não está na tela e
+ * volta sozinha quando ele reaparece.
+ *
+ * Uso só pela EDT.
+ */
+public final class AnimationClock {
+
+    public static final int QUADROS_POR_SEGUNDO = 60;
+
+    /** Folga para o arredondamento em milissegundos do timer. */
+    private static final long TOLERANCIA_NANOS = 1_000_000L;
+
+    private static final AnimationClock INSTANCIA = new AnimationClock();
+
+    private static class Assinatura {
+        final LongPredicate animacao;
+        long intervalo;
+        long proximo;
+        Component dono;
+
+        Assinatura(LongPredicate animacao) {
+            this.animacao = animacao;
+        }
+
+        boolean isAtiva() {
+            return dono == null || dono.isShowing();
+        }
+    }
+
+    private final Timer timer;
+    private final List<Assinatura> assinaturas = new ArrayList<>();
+    private Assinatura[] rodando = new Assinatura[8];
+    private final HierarchyListener visibilidade = e -> {
+        if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) {
+            agendar();
+        }
+    };
+
+    private AnimationClock() {
+        timer = new Timer(1000 / QUADROS_POR_SEGUNDO, e -> bater());
+        timer.setRepeats(false);
+        // O timer é rearmado de dentro do próprio disparo; com coalesce um
+        // vencimento imediato cairia enquanto o disparo anterior não termina
+        timer.setCoalesce(false);
+    }
+
+    public static AnimationClock getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Chama a animação a {@link #QUADROS_POR_SEGUNDO} até ela devolver
+     * false.
+     */
+    public void acordar(LongPredicate animacao) {
+        acordar(animacao, 1000 / QUADROS_POR_SEGUNDO, null);
+    }
+
+    /**
+     * Chama a animação a cada {@code intervaloMs}, a primeira vez um
+     * intervalo depois de agora, até ela devolver false. Com a animação já
+     * inscrita só troca o intervalo e o dono.
+     *
+     * @param dono enquanto não estiver na tela a animação fica suspensa;
+     *             null para rodar sempre
+     */
+    public void acordar(LongPredicate animacao, int intervaloMs, Component dono) {
+        Assinatura a = buscar(animacao);
+        if (a == null) {
+            a = new Assinatura(animacao);
+            a.proximo = System.nanoTime() + intervaloMs * 1_000_000L;
+            assinaturas.add(a);
+        }
+        a.intervalo = intervaloMs * 1_000_000L;
+        if (a.dono != dono) {
+            Component antigo = a.dono;
+            a.dono = dono;
+            soltar(antigo);
+            if (dono != null && !observando(dono)) {
+                dono.addHierarchyListener(visibilidade);
+            }
+        }
+        agendar();
+    }
+
+    /** Tira a animação do relógio antes de ela terminar sozinha. */
+    public void cancelar(LongPredicate animacao) {
+        Assinatura a = buscar(animacao);
+        if (a != null) {
+            remover(a);
+            agendar();
+        }
+    }
+
+    /** Se o timer está esperando algum vencimento. */
+    public boolean isRodando() {
+        return timer.isRunning();
+    }
+
+    private void bater() {
+        long agora = System.nanoTime();
+        // Cópia: uma animação pode acordar ou cancelar outra durante o quadro
+        rodando = assinaturas.toArray(rodando);
+        int n = assinaturas.size();
+        try {
+            for (int i = 0; i < n; i++) {
+                Assinatura a = rodando[i];
+                if (a.proximo - agora > TOLERANCIA_NANOS || !a.isAtiva() || !assinaturas.contains(a))
+                    continue;
+
+                a.proximo += a.intervalo;
+                if (a.proximo - agora <= 0) {
+                    // Atrasou (EDT ocupada ou dono estava escondido): não recupera os perdidos
+                    a.proximo = agora + a.intervalo;
+                }
+                if (!a.animacao.test(agora) && assinaturas.contains(a)) {
+                    remover(a);
+                }
+            }
+        } finally {
+            // Uma animação com erro não pode deixar as outras sem relógio
+            Arrays.fill(rodando, null);
+            agendar();
+        }
+    }
+
+    /**
+     * Arma o timer para o vencimento mais próximo entre as animações
+     * ativas, ou o para se não houver nenhuma.
+     */
+    private void agendar() {
+        Assinatura primeira = null;
+        for (Assinatura a : assinaturas) {
+            if (a.isAtiva() && (primeira == null || a.proximo - primeira.proximo < 0)) {
+                primeira = a;
+            }
+        }
+        if (primeira == null) {
+            timer.stop();
+            return;
+        }
+        long espera = Math.max(0, primeira.proximo - System.nanoTime());
+        timer.setInitialDelay((int) (espera / 1_000_000L));
+        timer.restart();
+    }
+
+    private Assinatura buscar(LongPredicate animacao) {
+        for (Assinatura a : assinaturas) {
+            if (a.animacao == animacao)
+                return a;
+        }
+        return null;
+    }
+
+    private void remover(Assinatura a) {
+        assinaturas.remove(a);
+        soltar(a.dono);
+    }
+
+    /** Para de observar o componente se nenhuma animação depende mais dele. */
+    private void soltar(Component dono) {
+        if (dono == null)
+            return;
+        for (Assinatura a : assinaturas) {
+            if (a.dono == dono)
+                return;
+        }
+        dono.removeHierarchyListener(visibilidade);
+    }
+
+    private boolean observando(Component dono) {
+        for (HierarchyListener l : dono.getHierarchyListeners()) {
+            if (l == visibilidade)
+                return true;
+        }
+        return false;
+    }
+}
@@ -8,10 +8,14 @@ import java.util.*;
 import java.util.List;
 import com.brasfm.model.*;
 import com.brasfm.model.enums.Position;
+import com.brasfm.ui.panels.FundoCache;
 
 /**
  * Painel visual do campo tático com posições dos jogadores.
  * Permite visualizar a formação e arrastar jogadores.
+ *
+ * O gramado e as linhas ficam numa {@link FundoCache}. Ao arrastar, só as
+ * áreas do jogador na posição anterior e na nova são redesenhadas.
  */
 public class CampoTaticoPanel extends JPanel {
 
@@ -24,6 +28,18 @@ public class CampoTaticoPanel extends JPanel {
     private static final Color JOGADOR_RESERVA = new Color(241, 196, 15);
     private static final Color JOGADOR_SELECIONADO = new Color(52, 152, 219);
     private static final Color GOLEIRO_COR = new Color(155, 89, 182);
+    private static final Color SOMBRA = new Color(0, 0, 0, 80);
+    private static final BasicStroke LINHA_CAMPO = new BasicStroke(3);
+    private static final BasicStroke BORDA_JOGADOR = new BasicStroke(2);
+    private static final Font FONTE_NUMERO = new Font("Segoe UI", Font.BOLD, 14);
+    private static final Font FONTE_NOME = new Font("Segoe UI", Font.PLAIN, 9);
+    private static final Font FONTE_LEGENDA = new Font("Segoe UI", Font.PLAIN, 10);
+
+    // Raio do jogador e folga para sombra e nome (que fica abaixo)
+    private static final int RAIO = 20;
+    private static final int MEIA_LARGURA_DESENHO = 45;
+    private static final int ALTURA_ACIMA = RAIO + 2;
+    private static final int ALTURA_ABAIXO = RAIO + 18;
 
     private Team time;
     private List<JogadorVisual> jogadoresVisuais;
@@ -31,6 +47,8 @@ public class CampoTaticoPanel extends JPanel {
     private JogadorVisual jogadorArrastando;
     private Point pontoArraste;
 
+    private final FundoCache gramado = new FundoCache(CampoTaticoPanel::desenharGramado);
+
     // Posições no campo para cada formação
     private Map<Position, Point2D.Double> posicoesFormacao;
 
@@ -79,8 +97,9 @@ public class CampoTaticoPanel extends JPanel {
             @Override
             public void mouseDragged(MouseEvent e) {
                 if (jogadorArrastando != null) {
+                    repaint(areaDesenho(pontoArraste.x, pontoArraste.y));
                     pontoArraste = e.getPoint();
-                    repaint();
+                    repaint(areaDesenho(pontoArraste.x, pontoArraste.y));
                 }
             }
 
@@ -226,15 +245,53 @@ public class CampoTaticoPanel extends JPanel {
         }
     }
 
+    /**
+     * Área ocupada pelo desenho de um jogador centrado em (x, y).
+     */
+    private static Rectangle areaDesenho(int x, int y) {
+        return new Rectangle(x - MEIA_LARGURA_DESENHO, y - ALTURA_ACIMA, MEIA_LARGURA_DESENHO * 2,
+                ALTURA_ACIMA + ALTURA_ABAIXO);
+    }
+
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
         Graphics2D g2 = (Graphics2D) g;
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
         int w = getWidth();
         int h = getHeight();
 
+        // O gramado cobre todo o painel, então não precisa do fundo do JPanel
+        gramado.desenhar(g2, w, h);
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        // Desenha jogadores
+        Rectangle recorte = g2.getClipBounds();
+        for (JogadorVisual jv : jogadoresVisuais) {
+            if (jv != jogadorArrastando
+                    && (recorte == null || recorte.intersects(areaDesenho(jv.x, jv.y)))) {
+                desenharJogador(g2, jv);
+            }
+        }
+
+        // Desenha jogador sendo arrastado por último
+        if (jogadorArrastando != null && pontoArraste != null) {
+            JogadorVisual temp = new JogadorVisual(
+                    jogadorArrastando.jogador,
+                    pontoArraste.x,
+                    pontoArraste.y,
+                    jogadorArrastando.titular);
+            desenharJogador(g2, temp);
+        }
+
+        // Legenda
+        g2.setFont(FONTE_LEGENDA);
+        g2.setColor(Color.WHITE);
+        g2.drawString("⬅ Arrastar para trocar | Duplo clique: Titular ↔ Reserva", 25, h - 5);
+    }
+
+    private static void desenharGramado(Graphics2D g2, Dimension tamanho) {
+        int w = tamanho.width;
+        int h = tamanho.height;
+
         // Desenha gramado com listras
         g2.setColor(GRAMADO);
         g2.fillRect(0, 0, w, h);
@@ -248,7 +305,7 @@ public class CampoTaticoPanel extends JPanel {
 
         // Borda do campo
         g2.setColor(LINHA_BRANCA);
-        g2.setStroke(new BasicStroke(3));
+        g2.setStroke(LINHA_CAMPO);
         g2.drawRect(20, 20, w - 40, h - 40);
 
         // Linha do meio
@@ -276,37 +333,15 @@ public class CampoTaticoPanel extends JPanel {
         // Meia-lua da área
         g2.drawArc(w / 2 - 40, h - 20 - areaH - 25, 80, 50, 0, 180);
         g2.drawArc(w / 2 - 40, 20 + areaH - 25, 80, 50, 180, 180);
-
-        // Desenha jogadores
-        for (JogadorVisual jv : jogadoresVisuais) {
-            if (jv != jogadorArrastando) {
-                desenharJogador(g2, jv);
-            }
-        }
-
-        // Desenha jogador sendo arrastado por último
-        if (jogadorArrastando != null && pontoArraste != null) {
-            JogadorVisual temp = new JogadorVisual(
-                    jogadorArrastando.jogador,
-                    pontoArraste.x,
-                    pontoArraste.y,
-                    jogadorArrastando.titular);
-            desenharJogador(g2, temp);
-        }
-
-        // Legenda
-        g2.setFont(new Font("Segoe UI", Font.PLAIN, 10));
-        g2.setColor(Color.WHITE);
-        g2.drawString("⬅ Arrastar para trocar | Duplo clique: Titular ↔ Reserva", 25, h - 5);
     }
 
     private void desenharJogador(Graphics2D g2, JogadorVisual jv) {
         int x = jv.x;
         int y = jv.y;
-        int raio = 20;
+        int raio = RAIO;
 
         // Sombra
-        g2.setColor(new Color(0, 0, 0, 80));
+        g2.setColor(SOMBRA);
         g2.fillOval(x - raio + 3, y - raio + 3, raio * 2, raio * 2);
 
         // Círculo do jogador
@@ -326,18 +361,18 @@ public class CampoTaticoPanel extends JPanel {
 
         // Borda
         g2.setColor(Color.WHITE);
-        g2.setStroke(new BasicStroke(2));
+        g2.setStroke(BORDA_JOGADOR);
         g2.drawOval(x - raio, y - raio, raio * 2, raio * 2);
 
         // Número da camisa (baseado na posição na lista)
         g2.setColor(Color.WHITE);
-        g2.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        g2.setFont(FONTE_NUMERO);
         String numero = jv.jogador.getPosicao() != null ? String.valueOf(jv.jogador.getPosicao().ordinal() + 1) : "?";
         FontMetrics fm = g2.getFontMetrics();
         g2.drawString(numero, x - fm.stringWidth(numero) / 2, y + 5);
 
         // Nome abaixo
-        g2.setFont(new Font("Segoe UI", Font.PLAIN, 9));
+        g2.setFont(FONTE_NOME);
         g2.setColor(JOGADOR_BG);
         String nome = jv.jogador.getNome().length() > 10 ? jv.jogador.getNome().substring(0, 10) : jv.jogador.getNome();
         fm = g2.getFontMetrics();
@@ -6,10 +6,15 @@ import java.awt.event.*;
 import com.brasfm.model.*;
 import com.brasfm.engine.*;
 import com.brasfm.championship.*;
+import com.brasfm.social.MoraleSystem;
 import com.brasfm.audio.SoundSystem;
 import com.brasfm.ui.panels.*;
 import com.formdev.flatlaf.FlatDarkLaf;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
 
 /**
  * Interface principal do BrasFM - Refatorada com CardLayout.
@@ -24,10 +29,15 @@ public class GameWindow extends JFrame {
     private static final Color TEXT_WHITE = new Color(236, 240, 241);
     private static final Color TEXT_GRAY = new Color(149, 165, 166);
 
+    /** Intervalo entre dois quadros da partida ao vivo (~30 fps). */
+    private static final int INTERVALO_QUADRO_MS = 33;
+
     // Componentes principais
     private Team timeAtual;
     private List<Team> todosOsTimes;
     private League campeonato;
+    private MoraleSystem moral;
+    private WeekCloser semana;
     private SoundSystem soundSystem;
     private TeamGenerator teamGenerator;
 
@@ -61,6 +71,7 @@ public class GameWindow extends JFrame {
         // Inicializa
         teamGenerator = new TeamGenerator();
         todosOsTimes = teamGenerator.gerarTimesBrasileiros();
+        moral = new MoraleSystem();
 
         // Inicia sistema de som
         soundSystem = new SoundSystem();
@@ -191,6 +202,7 @@ public class GameWindow extends JFrame {
         // Cria campeonato
         campeonato = new League("Brasileirão Série A", todosOsTimes);
         campeonato.gerarCalendario();
+        semana = new WeekCloser(campeonato.getTimes(), moral);
 
         // Inicializa interface principal com CardLayout
         initMainInterface();
@@ -551,6 +563,50 @@ public class GameWindow extends JFrame {
         scrollNarracao.getViewport().setBackground(PANEL_BG);
 
         painelCentralPrincipal.add(scrollNarracao, BorderLayout.CENTER);
+
+        // Placar ao vivo dos outros jogos da rodada
+        List<Match> outrosJogos = new ArrayList<>(campeonato.getJogosRodada(rodada));
+        outrosJogos.remove(partida);
+        RoundSimulator rodadaSimulada = new RoundSimulator(outrosJogos, null);
+        Map<Match, JLabel> placaresOutros = new HashMap<>();
+
+        JPanel painelOutros = new JPanel();
+        painelOutros.setLayout(new BoxLayout(painelOutros, BoxLayout.Y_AXIS));
+        painelOutros.setBackground(PANEL_BG);
+        painelOutros.setBorder(BorderFactory.createTitledBorder(
+                BorderFactory.createLineBorder(new Color(60, 60, 60)),
+                "📡 Outros jogos", 0, 0, new Font("Segoe UI", Font.BOLD, 12), TEXT_GRAY));
+        painelOutros.setPreferredSize(new Dimension(170, 0));
+        for (Match m : rodadaSimulada.getPartidas()) {
+            JLabel lbl = new JLabel(m.getPlacar());
+            lbl.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+            lbl.setForeground(TEXT_WHITE);
+            lbl.setBorder(BorderFactory.createEmptyBorder(2, 6, 2, 6));
+            placaresOutros.put(m, lbl);
+            painelOutros.add(lbl);
+        }
+        JLabel lblUltimoGol = new JLabel(" ");
+        lblUltimoGol.setFont(new Font("Segoe UI", Font.ITALIC, 11));
+        lblUltimoGol.setForeground(ACCENT_GREEN);
+        lblUltimoGol.setBorder(BorderFactory.createEmptyBorder(8, 6, 2, 6));
+        painelOutros.add(lblUltimoGol);
+        painelCentralPrincipal.add(painelOutros, BorderLayout.EAST);
+
+        rodadaSimulada.setDespachoUi(SwingUtilities::invokeLater);
+        rodadaSimulada.setCallbacks(
+                (m, gol) -> {
+                    JLabel lbl = placaresOutros.get(m);
+                    lbl.setText(m.getPlacar());
+                    lbl.setForeground(ACCENT_GREEN);
+                    String autor = gol.getJogadorPrincipal() != null ? gol.getJogadorPrincipal().getNome() : "";
+                    lblUltimoGol.setText("⚽ " + gol.getMinuto() + "' " + autor + " (" + gol.getTime().getSigla() + ")");
+                },
+                m -> {
+                    JLabel lbl = placaresOutros.get(m);
+                    lbl.setText(m.getPlacar() + " (F)");
+                    lbl.setForeground(TEXT_GRAY);
+                });
+
         janelaJogo.add(painelCentralPrincipal, BorderLayout.CENTER);
 
         // Barra de progresso
@@ -562,106 +618,205 @@ public class GameWindow extends JFrame {
         barraProgresso.setBackground(PANEL_BG);
         barraProgresso.setBorder(BorderFactory.createEmptyBorder(10, 30, 15, 30));
 
-        janelaJogo.add(barraProgresso, BorderLayout.SOUTH);
-
         // Cria a engine de partida ao vivo
         LiveMatchEngine engine = new LiveMatchEngine(partida);
+        engine.getMotor().setGravarReplays(true);
+        engine.setSincronizacao(rodadaSimulada::avancarAte);
+
+        // Controles de ritmo
+        JPanel painelControles = new JPanel(new FlowLayout(FlowLayout.CENTER, 6, 0));
+        painelControles.setOpaque(false);
+        JButton btnPausa = criarBotaoRitmo("⏸️");
+        btnPausa.addActionListener(ev -> {
+            if (engine.isPausada()) {
+                engine.retomar();
+                btnPausa.setText("⏸️");
+            } else {
+                engine.pausar();
+                btnPausa.setText("▶️");
+            }
+        });
+        painelControles.add(btnPausa);
+        for (MatchClock.Velocidade v : MatchClock.Velocidade.values()) {
+            JButton btnVelocidade = criarBotaoRitmo(v.getNome());
+            btnVelocidade.addActionListener(ev -> engine.setVelocidade(v));
+            painelControles.add(btnVelocidade);
+        }
+        JButton btnIntervalo = criarBotaoRitmo("⏩ 45'");
+        btnIntervalo.addActionListener(ev -> engine.pularPara(45));
+        painelControles.add(btnIntervalo);
+        JButton btnFinal = criarBotaoRitmo("⏭️ Final");
+        btnFinal.addActionListener(ev -> {
+            engine.terminar();
+            btnPausa.setText("⏸️");
+        });
+        painelControles.add(btnFinal);
+
+        JPanel painelSul = new JPanel(new BorderLayout());
+        painelSul.setOpaque(false);
+        painelSul.add(barraProgresso, BorderLayout.CENTER);
+        painelSul.add(painelControles, BorderLayout.SOUTH);
+        painelSul.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
+        janelaJogo.add(painelSul, BorderLayout.SOUTH);
+
+        // A partida publica os lances numa fila e a EDT drena uma vez por
+        // quadro: a narração do quadro entra num único append e placar,
+        // minuto, campo e estatísticas recebem só o último estado
+        LiveEventQueue<LiveMatchEngine.Lance> fila = new LiveEventQueue<>(1024);
+        engine.setFila(fila);
+        LongPredicate quadro = new LongPredicate() {
+            private final StringBuilder texto = new StringBuilder();
+            private LiveMatchEngine.Lance estado;
+            private LiveMatchEngine.MatchEvent visual;
+            private boolean intervalo;
+            private boolean fim;
 
-        // Configura callbacks para atualizar a UI
-        engine.setCallbacks(
-                // onNarracao
-                texto -> {
-                    narracao.append(texto + "\n");
+            @Override
+            public boolean test(long agora) {
+                if (fila.drenar(this::acumular) == 0)
+                    return true;
+
+                if (texto.length() > 0) {
+                    narracao.append(texto.toString());
                     narracao.setCaretPosition(narracao.getDocument().getLength());
-                },
-                // onMinutoChange
-                min -> {
-                    lblMinuto.setText(min + "'");
-                    barraProgresso.setValue(min);
-                },
-                // onEvento
-                evento -> {
-                    // Atualiza placar
-                    lblPlacar.setText(engine.getPlacar());
-
-                    // Atualiza campo visual
-                    switch (evento.tipo) {
-                        case GOL_CASA:
-                            campoVisual.simularEvento("gol", true);
-                            if (soundSystem != null && partida.getMandante() == timeAtual)
-                                soundSystem.tocarGol();
-                            break;
-                        case GOL_FORA:
-                            campoVisual.simularEvento("gol", false);
-                            if (soundSystem != null && partida.getVisitante() == timeAtual)
-                                soundSystem.tocarGol();
-                            break;
-                        case CHUTE_CASA:
-                            campoVisual.simularEvento("chute", true);
-                            break;
-                        case CHUTE_FORA:
-                            campoVisual.simularEvento("chute", false);
-                            break;
-                        case ATAQUE_CASA:
-                            campoVisual.simularEvento("ataque", true);
-                            break;
-                        case ATAQUE_FORA:
-                            campoVisual.simularEvento("ataque", false);
-                            break;
-                        case DEFESA:
-                            campoVisual.simularEvento("defesa", evento.casaAtaca);
-                            break;
-                        default:
-                            campoVisual.simularEvento("meio", true);
-                    }
-
-                    // Atualiza estatísticas
-                    statsPanel.setPosse(engine.getPosseCasa(), engine.getPosseFora());
-                    statsPanel.setChutes(engine.getChutesCasa(), engine.getChutesFora());
-                },
-                // onIntervalo
-                () -> barraProgresso.setString("⏸️ Intervalo"),
-                // onFimJogo
-                () -> {
-                    barraProgresso.setString("⏹️ Fim de Jogo!");
-
-                    // Simula outros jogos da rodada
-                    for (Match m : campeonato.getJogosRodada(rodada)) {
-                        if (m != partida && !m.isFinalizada()) {
-                            int gM = (int) (Math.random() * 4);
-                            int gV = (int) (Math.random() * 4);
-                            for (int i = 0; i < gM; i++)
-                                m.registrarGol(m.getMandante(), null, null);
-                            for (int i = 0; i < gV; i++)
-                                m.registrarGol(m.getVisitante(), null, null);
-                            m.finalizar();
+                    texto.setLength(0);
+                }
+                if (estado != null) {
+                    lblMinuto.setText(estado.minuto + "'");
+                    barraProgresso.setValue(estado.minuto);
+                    lblPlacar.setText(estado.golsCasa + " x " + estado.golsFora);
+                    statsPanel.setPosse(estado.posseCasa, 100 - estado.posseCasa);
+                    statsPanel.setChutes(estado.chutesCasa, estado.chutesFora);
+                }
+                if (visual != null) {
+                    mostrarNoCampo(campoVisual, visual);
+                    visual = null;
+                }
+                if (intervalo) {
+                    barraProgresso.setString("⏸️ Intervalo");
+                    intervalo = false;
+                }
+                if (fim) {
+                    encerrarPartidaAoVivo();
+                    return false;
+                }
+                return true;
+            }
+
+            private void acumular(LiveMatchEngine.Lance lance) {
+                estado = lance;
+                switch (lance.tipo) {
+                    case NARRACAO:
+                        texto.append(lance.texto).append('\n');
+                        break;
+                    case EVENTO:
+                        visual = lance.evento;
+                        if (soundSystem != null && ((lance.evento.tipo == LiveMatchEngine.TipoEvento.GOL_CASA
+                                && partida.getMandante() == timeAtual)
+                                || (lance.evento.tipo == LiveMatchEngine.TipoEvento.GOL_FORA
+                                        && partida.getVisitante() == timeAtual))) {
+                            soundSystem.tocarGol();
                         }
-                    }
-
-                    // Botão fechar
-                    JButton btnFechar = new JButton("✓ Continuar");
-                    btnFechar.setFont(new Font("Segoe UI", Font.BOLD, 14));
-                    btnFechar.setBackground(ACCENT_GREEN);
-                    btnFechar.setForeground(Color.WHITE);
-                    btnFechar.addActionListener(ev -> {
-                        janelaJogo.dispose();
-                        atualizarTodosPaineis();
-                    });
-
-                    JPanel painelBtn = new JPanel(new FlowLayout(FlowLayout.CENTER));
-                    painelBtn.setOpaque(false);
-                    painelBtn.add(btnFechar);
-
-                    janelaJogo.remove(barraProgresso);
-                    janelaJogo.add(painelBtn, BorderLayout.SOUTH);
-                    janelaJogo.revalidate();
-                });
+                        break;
+                    case INTERVALO:
+                        intervalo = true;
+                        break;
+                    case FIM:
+                        fim = true;
+                        break;
+                    default:
+                }
+            }
+
+            private void encerrarPartidaAoVivo() {
+                barraProgresso.setString("⏹️ Fim de Jogo!");
+
+                // Os outros jogos terminaram junto com este (ver setSincronizacao)
+                rodadaSimulada.encerrar();
+
+                // Botão fechar
+                JButton btnFechar = new JButton("✓ Continuar");
+                btnFechar.setFont(new Font("Segoe UI", Font.BOLD, 14));
+                btnFechar.setBackground(ACCENT_GREEN);
+                btnFechar.setForeground(Color.WHITE);
+                btnFechar.addActionListener(e -> janelaJogo.dispose());
+
+                JButton btnReplay = new JButton("🎬 Replay");
+                btnReplay.setFont(new Font("Segoe UI", Font.BOLD, 14));
+                btnReplay.setBackground(PANEL_BG);
+                btnReplay.setForeground(TEXT_WHITE);
+                btnReplay.addActionListener(e -> ReplayPanel.abrir(janelaJogo, partida));
+
+                JPanel painelBtn = new JPanel(new FlowLayout(FlowLayout.CENTER));
+                painelBtn.setOpaque(false);
+                painelBtn.add(btnReplay);
+                painelBtn.add(btnFechar);
+
+                janelaJogo.remove(painelSul);
+                janelaJogo.add(painelBtn, BorderLayout.SOUTH);
+                janelaJogo.revalidate();
+            }
+        };
+        AnimationClock.getInstancia().acordar(quadro, INTERVALO_QUADRO_MS, null);
+
+        janelaJogo.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                AnimationClock.getInstancia().cancelar(quadro);
+                // Os jogos são os do calendário: fechar no meio termina a
+                // rodada em vez de deixá-la pela metade
+                engine.concluir();
+                rodadaSimulada.terminar();
+                rodadaSimulada.encerrar();
+                // Todos os jogos já terminaram: só marca a rodada como jogada
+                campeonato.simularRodada(rodada);
+                semana.fecharSemana();
+                atualizarTodosPaineis();
+            }
+        });
 
         // Inicia a partida
         engine.iniciar();
         janelaJogo.setVisible(true);
     }
 
+    private static void mostrarNoCampo(CampoVisualizacao campoVisual, LiveMatchEngine.MatchEvent evento) {
+        switch (evento.tipo) {
+            case GOL_CASA:
+                campoVisual.simularEvento("gol", true);
+                break;
+            case GOL_FORA:
+                campoVisual.simularEvento("gol", false);
+                break;
+            case CHUTE_CASA:
+                campoVisual.simularEvento("chute", true);
+                break;
+            case CHUTE_FORA:
+                campoVisual.simularEvento("chute", false);
+                break;
+            case ATAQUE_CASA:
+                campoVisual.simularEvento("ataque", true);
+                break;
+            case ATAQUE_FORA:
+                campoVisual.simularEvento("ataque", false);
+                break;
+            case DEFESA:
+                campoVisual.simularEvento("defesa", evento.casaAtaca);
+                break;
+            default:
+                campoVisual.simularEvento("meio", true);
+        }
+    }
+
+    private JButton criarBotaoRitmo(String texto) {
+        JButton btn = new JButton(texto);
+        btn.setFont(new Font("Segoe UI", Font.BOLD, 12));
+        btn.setBackground(PANEL_BG);
+        btn.setForeground(TEXT_WHITE);
+        btn.setFocusPainted(false);
+        return btn;
+    }
+
     /**
      * Atualiza todos os painéis após mudanças.
      */
@@ -4,8 +4,11 @@ import com.brasfm.model.*;
 import com.brasfm.model.enums.*;
 import com.brasfm.engine.*;
 import com.brasfm.championship.*;
+import com.brasfm.economy.TransferMarket;
 import com.brasfm.audio.SoundSystem;
 import com.brasfm.persistence.*;
+import com.brasfm.social.MoraleSystem;
+import com.brasfm.ui.panels.ReplayPanel;
 
 import javax.swing.*;
 import javax.swing.table.*;
@@ -28,6 +31,9 @@ public class MainWindow extends JFrame {
     private static final Color COR_VERDE = new Color(40, 167, 69);
     private static final Color COR_AMARELO = new Color(255, 193, 7);
 
+    /** Temporada de um jogo novo; referência da inflação das valorações. */
+    private static final int ANO_INICIAL = 2025;
+
     // Componentes
     private JPanel painelPrincipal;
     private JPanel painelMenu;
@@ -39,6 +45,9 @@ public class MainWindow extends JFrame {
     private League campeonato;
     private MatchEngine matchEngine;
     private MatchEngine advancedEngine;
+    private MoraleSystem moral;
+    private WeekCloser semana;
+    private TransferMarket mercado;
     private TeamGenerator teamGenerator;
     private SoundSystem soundSystem;
     private GameSaveManager saveManager;
@@ -51,8 +60,11 @@ public class MainWindow extends JFrame {
         soundSystem.carregarSons();
 
         // Inicializa componentes do jogo
+        moral = new MoraleSystem();
         matchEngine = new MatchEngine();
+        matchEngine.setMoraleSystem(moral);
         advancedEngine = new MatchEngine();
+        advancedEngine.setMoraleSystem(moral);
         advancedEngine.setSoundSystem(soundSystem);
 
         teamGenerator = new TeamGenerator();
@@ -316,6 +328,7 @@ public class MainWindow extends JFrame {
             campeonato.addTime(t);
         }
         campeonato.gerarCalendario();
+        prepararJogo();
 
         JOptionPane.showMessageDialog(this,
                 "Você agora é o técnico do " + time.getNome() + "!\n" +
@@ -755,6 +768,7 @@ public class MainWindow extends JFrame {
                 @Override
                 protected Void doInBackground() {
                     campeonato.simularRodada(rodada);
+                    semana.fecharSemana();
                     return null;
                 }
 
@@ -770,6 +784,16 @@ public class MainWindow extends JFrame {
         }
     }
 
+    /**
+     * Fechamento semanal e mercado do jogo em andamento, num jogo novo ou
+     * depois de carregar um save.
+     */
+    private void prepararJogo() {
+        semana = new WeekCloser(campeonato.getTimes(), moral);
+        mercado = new TransferMarket(ANO_INICIAL);
+        mercado.setAgendaContratos(semana.getAgendaContratos());
+    }
+
     private void mostrarPartida(Match jogo) {
         painelConteudo.removeAll();
 
@@ -836,6 +860,7 @@ public class MainWindow extends JFrame {
 
                     // Simula demais jogos da rodada em background
                     campeonato.simularRodada(campeonato.getRodadaAtual() + 1);
+                    semana.fecharSemana();
 
                     return resultado;
                 }
@@ -934,6 +959,17 @@ public class MainWindow extends JFrame {
         btnContinuar.addActionListener(e -> mostrarTabela());
         placar.add(btnContinuar);
 
+        if (jogo.getReplay() != null) {
+            placar.add(Box.createVerticalStrut(10));
+            JButton btnReplay = new JButton("🎬 Replay");
+            btnReplay.setBackground(COR_PAINEL);
+            btnReplay.setForeground(COR_TEXTO);
+            btnReplay.setFocusPainted(false);
+            btnReplay.setAlignmentX(Component.CENTER_ALIGNMENT);
+            btnReplay.addActionListener(e -> ReplayPanel.abrir(this, jogo));
+            placar.add(btnReplay);
+        }
+
         tela.add(placar, BorderLayout.CENTER);
 
         painelConteudo.add(tela);
@@ -1027,6 +1063,7 @@ public class MainWindow extends JFrame {
 
         // Cria o SaveGame
         SaveGame saveGame = new SaveGame(timeSelecionado, campeonato);
+        saveGame.setTransferencias(mercado.getHistoricoTransferencias());
 
         // Pergunta nome do save
         String nome = JOptionPane.showInputDialog(this,
@@ -1074,6 +1111,10 @@ public class MainWindow extends JFrame {
                 // Atualiza lista de times a partir do campeonato carregado
                 if (campeonato != null) {
                     this.todosOsTimes = campeonato.getTimes();
+                    prepararJogo();
+                    if (saveGame.getTransferencias() != null) {
+                        mercado.setHistoricoTransferencias(saveGame.getTransferencias());
+                    }
                 }
 
                 JOptionPane.showMessageDialog(this,
@@ -1,12 +1,23 @@
 package com.brasfm.ui.panels;
 
+import com.brasfm.ui.AnimationClock;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.*;
+import java.util.function.LongPredicate;
 
 /**
  * Visualização 2D do campo durante partidas.
- * Mostra a bola se movendo baseado na ação do jogo.
+ * Mostra a bola e os jogadores se movendo baseado na ação do jogo. O campo
+ * fica numa {@link FundoCache}; cada repaint só copia o campo e desenha os
+ * marcadores e a seta.
+ *
+ * Cada evento só muda o alvo dos marcadores. O movimento anda em passos
+ * fixos de 1/{@link AnimationClock#QUADROS_POR_SEGUNDO} s, puxados pelo
+ * {@link AnimationClock}, e o desenho interpola entre os dois últimos
+ * passos. Quando tudo chega ao alvo a animação sai do relógio e não há mais
+ * repaints até o próximo evento.
  */
 public class CampoVisualizacao extends JPanel {
 
@@ -14,34 +25,81 @@ public class CampoVisualizacao extends JPanel {
     private static final Color LINHA_BRANCA = new Color(255, 255, 255, 200);
     private static final Color BOLA_COR = Color.WHITE;
     private static final Color GOL_COR = new Color(255, 255, 255, 150);
+    private static final Color SETA_COR = new Color(255, 255, 255, 100);
+    private static final Color CASA_COR = new Color(52, 152, 219);
+    private static final Color FORA_COR = new Color(231, 76, 60);
+    private static final BasicStroke LINHA = new BasicStroke(2);
+
+    private static final long PASSO_NANOS = 1_000_000_000L / AnimationClock.QUADROS_POR_SEGUNDO;
+    private static final long ATRASO_MAXIMO_NANOS = 250_000_000L;
+    private static final double SUAVIZACAO_BOLA = 0.15;
+    private static final double SUAVIZACAO_JOGADOR = 0.08;
+    private static final double PARADO = 0.002; // menos de um pixel
+
+    // 4-4-2 do mandante atacando para a direita; o visitante é o espelho
+    private static final double[][] FORMACAO = {
+            { 0.04, 0.50 },
+            { 0.18, 0.15 }, { 0.18, 0.38 }, { 0.18, 0.62 }, { 0.18, 0.85 },
+            { 0.32, 0.15 }, { 0.32, 0.38 }, { 0.32, 0.62 }, { 0.32, 0.85 },
+            { 0.44, 0.38 }, { 0.44, 0.62 } };
+    private static final int JOGADORES_POR_TIME = FORMACAO.length;
+    private static final int BOLA = 0;
+    private static final int MARCADORES = 1 + 2 * JOGADORES_POR_TIME;
+
+    // Posições de 0.0 a 1.0 (x: esquerda para direita, y: topo para base).
+    // Índice 0 é a bola, depois os 11 do mandante e os 11 do visitante.
+    private final double[] alvoX = new double[MARCADORES];
+    private final double[] alvoY = new double[MARCADORES];
+    private final double[] posX = new double[MARCADORES];
+    private final double[] posY = new double[MARCADORES];
+    private final double[] antX = new double[MARCADORES];
+    private final double[] antY = new double[MARCADORES];
 
-    private double bolaPosX = 0.5; // 0.0 = esquerda, 1.0 = direita
-    private double bolaPosY = 0.5; // 0.0 = topo, 1.0 = base
     private boolean timeCasaAtaca = true;
     private int intensidade = 0; // 0-100, usado para efeitos visuais
 
+    private final FundoCache campo = new FundoCache(CampoVisualizacao::desenharCampo);
+    private final LongPredicate animacao = this::avancar;
+    private boolean animando;
+    private long ultimoQuadro;
+    private long acumulado;
+
     public CampoVisualizacao() {
         setPreferredSize(new Dimension(350, 200));
         setBackground(CAMPO_VERDE);
         setBorder(BorderFactory.createLineBorder(Color.WHITE, 2));
+
+        posicionarAlvos(0.5, 0.5);
+        chegar();
     }
 
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
         int w = getWidth();
         int h = getHeight();
 
+        // Campo pronto; o fundo opaco do JPanel ficaria todo coberto
+        campo.desenhar(g2d, w, h);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setStroke(LINHA);
+
+        double alfa = animando ? (double) acumulado / PASSO_NANOS : 1;
+        desenharJogadores(g2d, w, h, alfa);
+        desenharBola(g2d, w, h, alfa);
+    }
+
+    private static void desenharCampo(Graphics2D g2d, Dimension tamanho) {
+        int w = tamanho.width;
+        int h = tamanho.height;
+
         // Fundo do campo
         g2d.setColor(CAMPO_VERDE);
         g2d.fillRect(0, 0, w, h);
 
         // Desenha linhas do campo
         g2d.setColor(LINHA_BRANCA);
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setStroke(LINHA);
 
         // Linha central
         g2d.drawLine(w / 2, 0, w / 2, h);
@@ -65,10 +123,22 @@ public class CampoVisualizacao extends JPanel {
         g2d.drawRect(w - areaWidth, areaY, areaWidth, areaHeight);
         g2d.setColor(GOL_COR);
         g2d.fillRect(w - 8, areaY + areaHeight / 4, 8, areaHeight / 2);
+    }
+
+    private void desenharJogadores(Graphics2D g2d, int w, int h, double alfa) {
+        int tamanho = 8;
+        for (int i = 1; i < MARCADORES; i++) {
+            int x = paraTela(interpolar(antX[i], posX[i], alfa), w);
+            int y = paraTela(interpolar(antY[i], posY[i], alfa), h);
+            g2d.setColor(i <= JOGADORES_POR_TIME ? CASA_COR : FORA_COR);
+            g2d.fillOval(x - tamanho / 2, y - tamanho / 2, tamanho, tamanho);
+        }
+    }
 
+    private void desenharBola(Graphics2D g2d, int w, int h, double alfa) {
         // Desenha a bola
-        int bolaX = (int) (bolaPosX * (w - 20)) + 10;
-        int bolaY = (int) (bolaPosY * (h - 20)) + 10;
+        int bolaX = paraTela(interpolar(antX[BOLA], posX[BOLA], alfa), w);
+        int bolaY = paraTela(interpolar(antY[BOLA], posY[BOLA], alfa), h);
         int bolaSize = 12;
 
         // Efeito de "calor" se intensidade alta
@@ -83,7 +153,7 @@ public class CampoVisualizacao extends JPanel {
         g2d.drawOval(bolaX - bolaSize / 2, bolaY - bolaSize / 2, bolaSize, bolaSize);
 
         // Indicador de direção de ataque
-        g2d.setColor(new Color(255, 255, 255, 100));
+        g2d.setColor(SETA_COR);
         int arrowY = h - 15;
         if (timeCasaAtaca) {
             // Seta para direita
@@ -105,9 +175,8 @@ public class CampoVisualizacao extends JPanel {
      * @param y posição Y (0.0 a 1.0)
      */
     public void moverBola(double x, double y) {
-        this.bolaPosX = Math.max(0, Math.min(1, x));
-        this.bolaPosY = Math.max(0, Math.min(1, y));
-        repaint();
+        posicionarAlvos(x, y);
+        acordar();
     }
 
     /**
@@ -131,6 +200,8 @@ public class CampoVisualizacao extends JPanel {
      */
     public void simularEvento(String tipoEvento, boolean casaAtaca) {
         this.timeCasaAtaca = casaAtaca;
+        double bolaPosX;
+        double bolaPosY;
 
         switch (tipoEvento.toLowerCase()) {
             case "gol":
@@ -160,6 +231,88 @@ public class CampoVisualizacao extends JPanel {
                 intensidade = 0;
                 break;
         }
+        moverBola(bolaPosX, bolaPosY);
+    }
+
+    /**
+     * Alvo da bola e dos jogadores: os dois times deslizam em bloco na
+     * direção da bola, o goleiro bem menos que os outros.
+     */
+    private void posicionarAlvos(double bolaX, double bolaY) {
+        bolaX = Math.max(0, Math.min(1, bolaX));
+        bolaY = Math.max(0, Math.min(1, bolaY));
+        alvoX[BOLA] = bolaX;
+        alvoY[BOLA] = bolaY;
+        for (int j = 0; j < JOGADORES_POR_TIME; j++) {
+            double dx = (bolaX - 0.5) * (j == 0 ? 0.15 : 0.55);
+            double dy = (bolaY - 0.5) * (j == 0 ? 0.2 : 0.25);
+            double y = Math.max(0.02, Math.min(0.98, FORMACAO[j][1] + dy));
+            alvoX[1 + j] = Math.max(0.02, Math.min(0.98, FORMACAO[j][0] + dx));
+            alvoY[1 + j] = y;
+            alvoX[1 + JOGADORES_POR_TIME + j] = Math.max(0.02, Math.min(0.98, 1 - FORMACAO[j][0] + dx));
+            alvoY[1 + JOGADORES_POR_TIME + j] = y;
+        }
+    }
+
+    private void acordar() {
+        if (!animando) {
+            animando = true;
+            ultimoQuadro = System.nanoTime();
+            acumulado = 0;
+            AnimationClock.getInstancia().acordar(animacao);
+        }
+    }
+
+    /**
+     * Um quadro do relógio: roda quantos passos fixos couberem no tempo
+     * passado e pede o repaint. Devolve false quando todos chegaram.
+     */
+    private boolean avancar(long agora) {
+        acumulado += Math.min(agora - ultimoQuadro, ATRASO_MAXIMO_NANOS);
+        ultimoQuadro = agora;
+        if (!isShowing()) {
+            acumulado = 0;
+            chegar();
+            return false;
+        }
+        if (acumulado < PASSO_NANOS)
+            return true;
+
+        boolean parado = true;
+        while (acumulado >= PASSO_NANOS) {
+            acumulado -= PASSO_NANOS;
+            parado = true;
+            for (int i = 0; i < MARCADORES; i++) {
+                double suavizacao = i == BOLA ? SUAVIZACAO_BOLA : SUAVIZACAO_JOGADOR;
+                antX[i] = posX[i];
+                antY[i] = posY[i];
+                posX[i] += (alvoX[i] - posX[i]) * suavizacao;
+                posY[i] += (alvoY[i] - posY[i]) * suavizacao;
+                if (Math.abs(alvoX[i] - posX[i]) > PARADO || Math.abs(alvoY[i] - posY[i]) > PARADO) {
+                    parado = false;
+                }
+            }
+        }
+        if (parado) {
+            chegar();
+        }
         repaint();
+        return !parado;
+    }
+
+    private void chegar() {
+        System.arraycopy(alvoX, 0, posX, 0, MARCADORES);
+        System.arraycopy(alvoY, 0, posY, 0, MARCADORES);
+        System.arraycopy(alvoX, 0, antX, 0, MARCADORES);
+        System.arraycopy(alvoY, 0, antY, 0, MARCADORES);
+        animando = false;
+    }
+
+    private static double interpolar(double de, double para, double alfa) {
+        return de + (para - de) * alfa;
+    }
+
+    private static int paraTela(double pos, int tamanho) {
+        return (int) (pos * (tamanho - 20)) + 10;
     }
 }
@@ -2,7 +2,9 @@ package com.brasfm.ui.panels;
 
 import javax.swing.*;
 import java.awt.*;
+import com.brasfm.model.FinanceLedger;
 import com.brasfm.model.Team;
+import com.brasfm.model.enums.TipoLancamento;
 
 /**
  * Painel de Finanças do time.
@@ -74,12 +76,105 @@ public class FinancasPanel extends JPanel {
         cardFinancas.add(lblBalanco);
 
         painelFinancas.add(cardFinancas);
+        painelFinancas.add(Box.createVerticalStrut(20));
+        painelFinancas.add(criarCardTemporada());
 
         add(new JScrollPane(painelFinancas), BorderLayout.CENTER);
         revalidate();
         repaint();
     }
 
+    /**
+     * Evolução do saldo nas últimas semanas e totais da temporada por tipo.
+     */
+    private JPanel criarCardTemporada() {
+        FinanceLedger financas = time.getFinancas();
+
+        JPanel card = new JPanel();
+        card.setLayout(new BoxLayout(card, BoxLayout.Y_AXIS));
+        card.setBackground(PANEL_BG);
+        card.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(ACCENT_GREEN, 1),
+                BorderFactory.createEmptyBorder(20, 30, 20, 30)));
+        card.setMaximumSize(new Dimension(600, 600));
+        card.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        JLabel lblTitulo = new JLabel("📈 Temporada");
+        lblTitulo.setFont(new Font("Segoe UI", Font.BOLD, 16));
+        lblTitulo.setForeground(TEXT_WHITE);
+        lblTitulo.setAlignmentX(Component.LEFT_ALIGNMENT);
+        card.add(lblTitulo);
+        card.add(Box.createVerticalStrut(10));
+
+        GraficoSaldo grafico = new GraficoSaldo(financas.getHistoricoSaldo());
+        grafico.setAlignmentX(Component.LEFT_ALIGNMENT);
+        card.add(grafico);
+        card.add(Box.createVerticalStrut(15));
+
+        for (TipoLancamento tipo : TipoLancamento.values()) {
+            long total = financas.getTotalTemporada(tipo);
+            if (total != 0) {
+                addLinhaFinanca(card, tipo.getNome(), String.format("R$ %,d", total));
+            }
+        }
+
+        return card;
+    }
+
+    /**
+     * Linha do saldo semana a semana, desenhada direto do histórico do livro.
+     */
+    private static class GraficoSaldo extends JPanel {
+        private final long[] saldos;
+
+        GraficoSaldo(long[] saldos) {
+            this.saldos = saldos;
+            setOpaque(false);
+            setPreferredSize(new Dimension(500, 140));
+            setMaximumSize(new Dimension(500, 140));
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            int w = getWidth();
+            int h = getHeight();
+            if (saldos.length < 2) {
+                g2.setColor(TEXT_GRAY);
+                g2.drawString("Sem semanas fechadas ainda", 10, h / 2);
+                g2.dispose();
+                return;
+            }
+
+            long min = 0;
+            long max = 0;
+            for (long s : saldos) {
+                min = Math.min(min, s);
+                max = Math.max(max, s);
+            }
+            double escala = max == min ? 1 : (h - 1) / (double) (max - min);
+
+            // Linha do zero
+            int zero = (int) (h - 1 - (0 - min) * escala);
+            g2.setColor(TEXT_GRAY);
+            g2.drawLine(0, zero, w, zero);
+
+            int[] xs = new int[saldos.length];
+            int[] ys = new int[saldos.length];
+            for (int i = 0; i < saldos.length; i++) {
+                xs[i] = i * (w - 1) / (saldos.length - 1);
+                ys[i] = (int) (h - 1 - (saldos[i] - min) * escala);
+            }
+            g2.setColor(saldos[saldos.length - 1] >= 0 ? ACCENT_GREEN : ENERGY_RED);
+            g2.setStroke(new BasicStroke(2f));
+            g2.drawPolyline(xs, ys, saldos.length);
+            g2.dispose();
+        }
+    }
+
     private void addLinhaFinanca(JPanel painel, String label, String valor) {
         JPanel linha = new JPanel(new BorderLayout());
         linha.setOpaque(false);
@@ -101,10 +196,6 @@ public class FinancasPanel extends JPanel {
     }
 
     private int calcularFolhaSalarial() {
-        int total = 0;
-        for (var p : time.getJogadores()) {
-            total += p.getSalario();
-        }
-        return total;
+        return (int) time.getFolhaSalarial();
     }
 }
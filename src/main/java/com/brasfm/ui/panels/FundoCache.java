@@ -0,0 +1,68 @@
+package com.brasfm.ui.panels;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.function.BiConsumer;
+
+/**
+ * Camada estática de um componente (ex.: o gramado e as linhas do campo),
+ * desenhada uma vez numa imagem e só copiada nos repaints seguintes.
+ *
+ * A imagem é refeita quando muda o tamanho do componente ou a escala da tela
+ * (HiDPI), e é criada no formato da tela para que a cópia seja acelerada.
+ */
+public class FundoCache {
+
+    private final BiConsumer<Graphics2D, Dimension> desenho;
+    private BufferedImage imagem;
+    private int largura;
+    private int altura;
+    private double escala;
+
+    /**
+     * @param desenho desenha a camada em coordenadas do componente
+     */
+    public FundoCache(BiConsumer<Graphics2D, Dimension> desenho) {
+        this.desenho = desenho;
+    }
+
+    public void desenhar(Graphics2D g, int w, int h) {
+        if (w <= 0 || h <= 0)
+            return;
+        double escalaTela = g.getTransform().getScaleX();
+        if (imagem == null || w != largura || h != altura || escalaTela != escala) {
+            recriar(g.getDeviceConfiguration(), w, h, escalaTela);
+        }
+        g.drawImage(imagem, 0, 0, w, h, null);
+    }
+
+    /** Força o redesenho da camada no próximo repaint. */
+    public void invalidar() {
+        imagem = null;
+    }
+
+    private void recriar(GraphicsConfiguration gc, int w, int h, double escalaTela) {
+        int pw = (int) Math.ceil(w * escalaTela);
+        int ph = (int) Math.ceil(h * escalaTela);
+        BufferedImage nova = gc != null ? gc.createCompatibleImage(pw, ph)
+                : new BufferedImage(pw, ph, BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D g2 = nova.createGraphics();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.transform(AffineTransform.getScaleInstance(escalaTela, escalaTela));
+            desenho.accept(g2, new Dimension(w, h));
+        } finally {
+            g2.dispose();
+        }
+
+        if (imagem != null) {
+            imagem.flush();
+        }
+        imagem = nova;
+        largura = w;
+        altura = h;
+        escala = escalaTela;
+    }
+}
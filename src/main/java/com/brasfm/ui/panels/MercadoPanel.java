@@ -1,5 +1,6 @@
 package com.brasfm.ui.panels;
 
+import com.brasfm.engine.PlayerSimilarityIndex;
 import com.brasfm.model.Player;
 import com.brasfm.model.Team;
 
@@ -28,6 +29,7 @@ public class MercadoPanel extends JPanel {
     private JComboBox<String> filtroPos;
     private List<Player> jogadoresDisponiveis;
     private Random random = new Random();
+    private PlayerSimilarityIndex semelhanca; // montado na primeira busca
 
     public MercadoPanel(Team meuTime, List<Team> todosOsTimes) {
         this.meuTime = meuTime;
@@ -132,6 +134,14 @@ public class MercadoPanel extends JPanel {
         btnInfo.addActionListener(e -> verPerfil());
         actionsPanel.add(btnInfo);
 
+        JButton btnSemelhantes = new JButton("🔎 Semelhantes");
+        btnSemelhantes.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        btnSemelhantes.setBackground(PANEL_BG);
+        btnSemelhantes.setForeground(TEXT_WHITE);
+        btnSemelhantes.setFocusPainted(false);
+        btnSemelhantes.addActionListener(e -> verSemelhantes());
+        actionsPanel.add(btnSemelhantes);
+
         add(actionsPanel, BorderLayout.SOUTH);
     }
 
@@ -347,6 +357,41 @@ public class MercadoPanel extends JPanel {
                 "Perfil do Jogador", JOptionPane.INFORMATION_MESSAGE);
     }
 
+    /**
+     * Lista os jogadores de outros clubes mais parecidos com o selecionado.
+     */
+    private void verSemelhantes() {
+        int row = tabelaJogadores.getSelectedRow();
+        if (row < 0) {
+            JOptionPane.showMessageDialog(this, "Selecione um jogador primeiro!",
+                    "Aviso", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        if (semelhanca == null) {
+            List<Player> todos = new ArrayList<>();
+            for (Team t : todosOsTimes) {
+                if (t != meuTime) {
+                    todos.addAll(t.getJogadores());
+                }
+            }
+            semelhanca = new PlayerSimilarityIndex();
+            semelhanca.construir(todos);
+        }
+
+        Player p = jogadoresDisponiveis.get(row);
+        StringBuilder sb = new StringBuilder("Jogadores parecidos com " + p.getNome() + ":\n\n");
+        for (Player s : semelhanca.buscarSemelhantes(p, 10, null)) {
+            Team time = encontrarTime(s);
+            sb.append(String.format("%s (%s, %d anos) - Força %d - %s\n",
+                    s.getNome(), s.getPosicaoOriginal().getSigla(), s.getIdade(), s.getForca(),
+                    time != null ? time.getSigla() : "?"));
+        }
+
+        JOptionPane.showMessageDialog(this, sb.toString(),
+                "Semelhantes", JOptionPane.INFORMATION_MESSAGE);
+    }
+
     private Team encontrarTime(Player p) {
         for (Team t : todosOsTimes) {
             if (t.getJogadores().contains(p)) {
@@ -379,6 +424,7 @@ public class MercadoPanel extends JPanel {
     }
 
     public void atualizar() {
+        semelhanca = null;
         atualizarListaJogadores();
     }
 }
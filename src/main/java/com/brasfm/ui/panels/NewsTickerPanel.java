@@ -1,26 +1,32 @@
 package com.brasfm.ui.panels;
 
+import com.brasfm.ui.AnimationClock;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.function.LongPredicate;
 
 /**
  * News Ticker - Barra de notícias passantes na tela principal.
+ * A troca e o destaque rodam no {@link AnimationClock} e ficam suspensos
+ * enquanto o ticker não está na tela.
  */
 public class NewsTickerPanel extends JPanel {
 
     private static final Color TICKER_BG = new Color(20, 26, 36);
     private static final Color TICKER_TEXT = new Color(236, 240, 241);
     private static final Color HIGHLIGHT = new Color(46, 204, 113);
+    private static final int INTERVALO_TROCA_MS = 5000;
+    private static final int DURACAO_DESTAQUE_MS = 300;
 
     private List<String> noticias;
     private int noticiaAtual = 0;
-    private int offsetX = 0;
-    private Timer timerScroll;
-    private Timer timerTroca;
+    private final LongPredicate troca = this::trocarNoticia;
+    private final LongPredicate fimDestaque = this::apagarDestaque;
     private JLabel lblNoticia;
     private Random random = new Random();
 
@@ -87,21 +93,23 @@ public class NewsTickerPanel extends JPanel {
     }
 
     private void iniciarAnimacao() {
-        // Timer para trocar notícias a cada 5 segundos
-        timerTroca = new Timer(5000, e -> {
-            noticiaAtual = (noticiaAtual + 1) % noticias.size();
-
-            // Efeito de fade (simples com blink)
-            lblNoticia.setForeground(HIGHLIGHT);
-            lblNoticia.setText(noticias.get(noticiaAtual));
-
-            Timer resetColor = new Timer(300, ev -> {
-                lblNoticia.setForeground(TICKER_TEXT);
-            });
-            resetColor.setRepeats(false);
-            resetColor.start();
-        });
-        timerTroca.start();
+        // Troca de notícia a cada 5 segundos
+        AnimationClock.getInstancia().acordar(troca, INTERVALO_TROCA_MS, this);
+    }
+
+    private boolean trocarNoticia(long agora) {
+        noticiaAtual = (noticiaAtual + 1) % noticias.size();
+
+        // Efeito de fade (simples com blink)
+        lblNoticia.setForeground(HIGHLIGHT);
+        lblNoticia.setText(noticias.get(noticiaAtual));
+        AnimationClock.getInstancia().acordar(fimDestaque, DURACAO_DESTAQUE_MS, this);
+        return true;
+    }
+
+    private boolean apagarDestaque(long agora) {
+        lblNoticia.setForeground(TICKER_TEXT);
+        return false;
     }
 
     /**
@@ -146,15 +154,15 @@ public class NewsTickerPanel extends JPanel {
      * Para a animação.
      */
     public void parar() {
-        if (timerTroca != null)
-            timerTroca.stop();
+        AnimationClock.getInstancia().cancelar(troca);
+        AnimationClock.getInstancia().cancelar(fimDestaque);
+        lblNoticia.setForeground(TICKER_TEXT);
     }
 
     /**
      * Reinicia a animação.
      */
     public void reiniciar() {
-        if (timerTroca != null)
-            timerTroca.start();
+        iniciarAnimacao();
     }
 }
@@ -5,7 +5,9 @@ import java.awt.*;
 import java.util.*;
 import java.util.List;
 import com.brasfm.model.*;
+import com.brasfm.engine.DevelopmentProjection;
 import com.brasfm.engine.ScoutingNetwork;
+import com.brasfm.engine.TrainingSystem;
 
 /**
  * Painel de Olheiros e Busca de Jogadores.
@@ -23,6 +25,7 @@ public class OlheirosPanel extends JPanel {
     private Team time;
     private ScoutingNetwork scoutingNetwork;
     private List<Player> jogadoresDescobertos;
+    private Map<Player, DevelopmentProjection.Projecao> projecoes = new IdentityHashMap<>();
     private JPanel painelJogadoresDisponiveis;
     private JTextArea logOlheiros;
 
@@ -32,6 +35,8 @@ public class OlheirosPanel extends JPanel {
             "Paraná", "Bahia", "Nordeste", "Argentina", "Uruguai", "Colômbia"
     };
 
+    private static final int TEMPORADAS_PROJECAO = 3;
+
     public OlheirosPanel(Team time, List<Team> todosOsTimes) {
         this.time = time;
         this.scoutingNetwork = new ScoutingNetwork(5000000); // R$ 5mi de orçamento
@@ -48,14 +53,30 @@ public class OlheirosPanel extends JPanel {
             }
         }
 
+        projetarDescobertos();
+
         setLayout(new BorderLayout(15, 15));
         setBackground(DARK_BG);
         setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
         initComponents();
     }
 
+    /**
+     * Projeta de uma vez a evolução dos descobertos se treinassem no nosso clube.
+     */
+    private void projetarDescobertos() {
+        projecoes.clear();
+        List<DevelopmentProjection.Projecao> lista = new DevelopmentProjection().projetar(
+                jogadoresDescobertos, time.getInstalacoes(), TrainingSystem.IntensidadeTreino.NORMAL,
+                TEMPORADAS_PROJECAO, time.getId());
+        for (DevelopmentProjection.Projecao p : lista) {
+            projecoes.put(p.getJogador(), p);
+        }
+    }
+
     public void setTime(Team time) {
         this.time = time;
+        projetarDescobertos();
         initComponents();
     }
 
@@ -249,6 +270,15 @@ public class OlheirosPanel extends JPanel {
         lblForca.setForeground(ACCENT_GREEN);
         infoPanel.add(lblForca);
 
+        DevelopmentProjection.Projecao projecao = projecoes.get(jogador);
+        if (projecao != null) {
+            lblPos.setText(lblPos.getText() + " | 📈 " + projecao.getMediana(TEMPORADAS_PROJECAO)
+                    + " em " + TEMPORADAS_PROJECAO + " temp.");
+            infoPanel.setToolTipText(String.format("Projeção aos %d anos: %d a %d (mediana %d)",
+                    projecao.getIdade(TEMPORADAS_PROJECAO), projecao.getPessimista(TEMPORADAS_PROJECAO),
+                    projecao.getOtimista(TEMPORADAS_PROJECAO), projecao.getMediana(TEMPORADAS_PROJECAO)));
+        }
+
         card.add(infoPanel, BorderLayout.CENTER);
 
         // Botões de ação
@@ -0,0 +1,112 @@
+package com.brasfm.ui.panels;
+
+import com.brasfm.model.Match;
+import com.brasfm.model.MatchEvent;
+import com.brasfm.model.Replay;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Visualizador de replay: uma barra de minutos e, para o minuto escolhido,
+ * o placar, as estatísticas e os lances até ali.
+ */
+public class ReplayPanel extends JPanel {
+
+    private static final Color DARK_BG = new Color(30, 30, 30);
+    private static final Color PANEL_BG = new Color(40, 44, 52);
+    private static final Color ACCENT_GREEN = new Color(46, 204, 113);
+    private static final Color TEXT_WHITE = new Color(236, 240, 241);
+    private static final Color TEXT_GRAY = new Color(149, 165, 166);
+
+    private final Match partida;
+    private final Replay replay;
+
+    private final JLabel lblPlacar = new JLabel();
+    private final JLabel lblMinuto = new JLabel();
+    private final JLabel lblStats = new JLabel();
+    private final JTextArea lances = new JTextArea();
+
+    public ReplayPanel(Match partida) {
+        this.partida = partida;
+        this.replay = partida.getReplay();
+
+        setLayout(new BorderLayout(10, 10));
+        setBackground(DARK_BG);
+        setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+
+        initComponents();
+    }
+
+    private void initComponents() {
+        JPanel topo = new JPanel(new GridLayout(3, 1));
+        topo.setOpaque(false);
+        lblPlacar.setFont(new Font("Segoe UI", Font.BOLD, 22));
+        lblPlacar.setForeground(TEXT_WHITE);
+        lblPlacar.setHorizontalAlignment(SwingConstants.CENTER);
+        lblMinuto.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        lblMinuto.setForeground(ACCENT_GREEN);
+        lblMinuto.setHorizontalAlignment(SwingConstants.CENTER);
+        lblStats.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        lblStats.setForeground(TEXT_GRAY);
+        lblStats.setHorizontalAlignment(SwingConstants.CENTER);
+        topo.add(lblPlacar);
+        topo.add(lblMinuto);
+        topo.add(lblStats);
+        add(topo, BorderLayout.NORTH);
+
+        lances.setEditable(false);
+        lances.setBackground(PANEL_BG);
+        lances.setForeground(TEXT_WHITE);
+        lances.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        lances.setBorder(BorderFactory.createEmptyBorder(10, 15, 10, 15));
+        JScrollPane scroll = new JScrollPane(lances);
+        scroll.setBorder(BorderFactory.createLineBorder(new Color(60, 60, 60)));
+        add(scroll, BorderLayout.CENTER);
+
+        int ultimo = replay.getUltimoMinuto();
+        JSlider barra = new JSlider(0, ultimo, ultimo);
+        barra.setOpaque(false);
+        barra.setMajorTickSpacing(Replay.INTERVALO_QUADRO_CHAVE);
+        barra.setPaintTicks(true);
+        barra.addChangeListener(e -> mostrarMinuto(barra.getValue()));
+        add(barra, BorderLayout.SOUTH);
+
+        mostrarMinuto(ultimo);
+    }
+
+    /**
+     * Vai direto para o minuto, a partir do quadro-chave mais próximo.
+     */
+    private void mostrarMinuto(int minuto) {
+        Replay.Quadro q = replay.getQuadro(minuto);
+        lblPlacar.setText(partida.getMandante().getSigla() + " " + q.getGolsMandante() + " x "
+                + q.getGolsVisitante() + " " + partida.getVisitante().getSigla());
+        lblMinuto.setText(q.getMinuto() + "'");
+        lblStats.setText(String.format("Posse %d%% x %d%%  |  Chutes %d x %d  |  Faltas %d x %d",
+                q.getPosseMandante(), 100 - q.getPosseMandante(), q.getChutesMandante(),
+                q.getChutesVisitante(), q.getFaltasMandante(), q.getFaltasVisitante()));
+
+        StringBuilder texto = new StringBuilder();
+        for (MatchEvent e : replay.getEventosAte(minuto)) {
+            texto.append(e.getTextoCompleto()).append('\n');
+        }
+        lances.setText(texto.toString());
+        lances.setCaretPosition(lances.getDocument().getLength());
+    }
+
+    /**
+     * Abre o replay da partida numa janela própria. Não faz nada se a
+     * partida não foi gravada.
+     */
+    public static void abrir(Component pai, Match partida) {
+        if (partida.getReplay() == null)
+            return;
+        JDialog janela = new JDialog(SwingUtilities.getWindowAncestor(pai),
+                "🎬 Replay - " + partida.getPlacar(), Dialog.ModalityType.MODELESS);
+        janela.setContentPane(new ReplayPanel(partida));
+        janela.setSize(520, 560);
+        janela.setLocationRelativeTo(pai);
+        janela.setVisible(true);
+    }
+}
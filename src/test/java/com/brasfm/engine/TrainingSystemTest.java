@@ -0,0 +1,102 @@
+package com.brasfm.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compara a amostra binomial de {@link TrainingSystem#sortearGanhos} com o
+ * laço antigo, que sorteava cada ponto de XP separadamente.
+ */
+class TrainingSystemTest {
+
+    private static final int AMOSTRAS = 200_000;
+    private static final double[] XPS = { 1, 5, 12.7, 30, 75 };
+
+    /** O sorteio de antes: cada ponto de XP com 10% de chance de ganho. */
+    private static int porPonto(double xp, Random random) {
+        int ganhos = 0;
+        for (int i = 0; i < (int) xp; i++) {
+            if (random.nextDouble() < 0.10) {
+                ganhos++;
+            }
+        }
+        return ganhos;
+    }
+
+    @Test
+    void mediaEVarianciaIguaisAoLacoPorPonto() {
+        for (double xp : XPS) {
+            double[] antigo = momentos(histograma(xp, false, 1L));
+            double[] novo = momentos(histograma(xp, true, 2L));
+
+            int n = (int) xp;
+            double media = n * 0.10;
+            double variancia = n * 0.10 * 0.90;
+            // 5 desvios-padrão da média amostral
+            double tolMedia = 5 * Math.sqrt(variancia / AMOSTRAS);
+
+            assertEquals(media, antigo[0], tolMedia, "média do laço, xp=" + xp);
+            assertEquals(media, novo[0], tolMedia, "média da amostra, xp=" + xp);
+            assertEquals(antigo[0], novo[0], 2 * tolMedia, "médias, xp=" + xp);
+            assertEquals(variancia, novo[1], variancia * 0.05, "variância da amostra, xp=" + xp);
+            assertEquals(antigo[1], novo[1], variancia * 0.05, "variâncias, xp=" + xp);
+        }
+    }
+
+    @Test
+    void histogramasIguaisAoLacoPorPonto() {
+        for (double xp : XPS) {
+            long[] antigo = histograma(xp, false, 3L);
+            long[] novo = histograma(xp, true, 4L);
+            for (int k = 0; k < antigo.length; k++) {
+                double fa = antigo[k] / (double) AMOSTRAS;
+                double fn = novo[k] / (double) AMOSTRAS;
+                // 5 desvios-padrão da diferença de duas frequências
+                double tol = 5 * Math.sqrt(2 * Math.max(fa, 1.0 / AMOSTRAS) / AMOSTRAS);
+                assertEquals(fa, fn, tol, "frequência de " + k + " ganhos, xp=" + xp);
+            }
+        }
+    }
+
+    @Test
+    void semGanhoAbaixoDeUmPonto() {
+        Random random = new Random(5);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, TrainingSystem.sortearGanhos(0.99, random));
+            assertEquals(0, TrainingSystem.sortearGanhos(-3, random));
+        }
+    }
+
+    @Test
+    void nuncaPassaDoTotalDePontos() {
+        Random random = new Random(6);
+        for (int i = 0; i < AMOSTRAS; i++) {
+            int ganhos = TrainingSystem.sortearGanhos(3.5, random);
+            assertTrue(ganhos >= 0 && ganhos <= 3, "ganhos=" + ganhos);
+        }
+    }
+
+    private static long[] histograma(double xp, boolean amostra, long semente) {
+        Random random = new Random(semente);
+        long[] contagem = new long[(int) xp + 1];
+        for (int i = 0; i < AMOSTRAS; i++) {
+            contagem[amostra ? TrainingSystem.sortearGanhos(xp, random) : porPonto(xp, random)]++;
+        }
+        return contagem;
+    }
+
+    /** Média e variância a partir do histograma. */
+    private static double[] momentos(long[] contagem) {
+        double soma = 0;
+        double somaQuadrados = 0;
+        for (int k = 0; k < contagem.length; k++) {
+            soma += (double) k * contagem[k];
+            somaQuadrados += (double) k * k * contagem[k];
+        }
+        double media = soma / AMOSTRAS;
+        return new double[] { media, somaQuadrados / AMOSTRAS - media * media };
+    }
+}